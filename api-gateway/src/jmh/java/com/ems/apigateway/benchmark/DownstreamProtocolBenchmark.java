@@ -0,0 +1,107 @@
+package com.ems.apigateway.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to complete a burst of {@link #concurrency} concurrent GETs against a local
+ * server that answers after {@link #serviceLatencyMillis}, over HTTP/1.1 and over
+ * h2c. Both clients get the same {@link #maxConnections}: HTTP/1.1 can only have
+ * that many requests in flight, while h2c multiplexes the whole burst over them.
+ * The server is Reactor Netty rather than the services' Tomcat, so the numbers
+ * isolate the protocol from the servlet stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DownstreamProtocolBenchmark {
+  private static final byte[] BODY = employeesJson().getBytes(StandardCharsets.UTF_8);
+
+  @Param({"HTTP11", "H2C"})
+  public HttpProtocol protocol;
+
+  @Param({"200"})
+  public int concurrency;
+
+  @Param({"8"})
+  public int maxConnections;
+
+  @Param({"5"})
+  public int serviceLatencyMillis;
+
+  private DisposableServer server;
+  private ConnectionProvider connectionProvider;
+  private HttpClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+            .route(routes -> routes.get("/api/employees", (request, response) -> Mono.delay(Duration.ofMillis(serviceLatencyMillis))
+                    .then(response.header("Content-Type", "application/json")
+                            .sendByteArray(Mono.just(BODY))
+                            .then())))
+            .bindNow();
+
+    connectionProvider = ConnectionProvider.builder("benchmark")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(-1)
+            .build();
+    client = HttpClient.create(connectionProvider)
+            .protocol(protocol)
+            .baseUrl("http://127.0.0.1:" + server.port());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    connectionProvider.disposeLater().block();
+    server.disposeNow();
+  }
+
+  @Benchmark
+  public long burst() {
+    return Flux.range(0, concurrency)
+            .flatMap(i -> client.get()
+                    .uri("/api/employees")
+                    .responseSingle((response, body) -> body.asByteArray().map(bytes -> (long) bytes.length)),
+                    concurrency)
+            .reduce(0L, Long::sum)
+            .block();
+  }
+
+  private static String employeesJson() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 50; i++) {
+      json.append("{\"id\":").append(i).append(",\"firstName\":\"John\",\"lastName\":\"Doe\",\"role\":\"ROLE_EMPLOYEE\"},");
+    }
+    json.setCharAt(json.length() - 1, ']');
+    return json.toString();
+  }
+}
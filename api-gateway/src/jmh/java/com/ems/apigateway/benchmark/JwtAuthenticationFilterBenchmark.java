@@ -0,0 +1,117 @@
+package com.ems.apigateway.benchmark;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import com.ems.apigateway.config.JwtTokenValidator;
+import com.ems.apigateway.revocation.RevocationProperties;
+import com.ems.apigateway.revocation.TokenRevocationList;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ns/op and, with the default {@code -prof gc}, allocations/op (gc.alloc.rate.norm) of
+ * {@link JwtAuthenticationFilter}. {@link #baseline()} measures building the mock exchange
+ * alone so it can be subtracted from the other cases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+  private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+  private static final GatewayFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+
+  private JwtAuthenticationFilter filter;
+  private String validAuthorization;
+  private String expiredAuthorization;
+  private String tamperedAuthorization;
+
+  @Setup
+  public void setUp() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    TokenRevocationList revocationList = new TokenRevocationList(
+            new RevocationProperties(true, "token-revoked-topic", 100_000, 0.001), meterRegistry);
+    filter = new JwtAuthenticationFilter(new JwtTokenValidator(SECRET, 10_000, revocationList, meterRegistry));
+
+    String validToken = token(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+    validAuthorization = "Bearer " + validToken;
+    expiredAuthorization = "Bearer " + token(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+    tamperedAuthorization = "Bearer " + validToken.substring(0, validToken.length() - 4) + "AAAA";
+  }
+
+  @Benchmark
+  public MockServerWebExchange baseline() {
+    return exchange("/employee-service/api/employees", validAuthorization);
+  }
+
+  @Benchmark
+  public MockServerWebExchange accept() {
+    return run(exchange("/employee-service/api/employees", validAuthorization));
+  }
+
+  @Benchmark
+  public MockServerWebExchange rejectMissingToken() {
+    return run(exchange("/employee-service/api/employees", null));
+  }
+
+  @Benchmark
+  public MockServerWebExchange rejectExpiredToken() {
+    return run(exchange("/employee-service/api/employees", expiredAuthorization));
+  }
+
+  @Benchmark
+  public MockServerWebExchange rejectInvalidSignature() {
+    return run(exchange("/employee-service/api/employees", tamperedAuthorization));
+  }
+
+  @Benchmark
+  public MockServerWebExchange excludedPath() {
+    return run(exchange("/auth-service/api/auth/login", null));
+  }
+
+  private MockServerWebExchange run(MockServerWebExchange exchange) {
+    filter.filter(exchange, NO_OP_CHAIN).block();
+    return exchange;
+  }
+
+  private static MockServerWebExchange exchange(String path, String authorization) {
+    MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+    if (authorization != null) {
+      request.header(HttpHeaders.AUTHORIZATION, authorization);
+    }
+    return MockServerWebExchange.from(request);
+  }
+
+  private static String token(Date expiration) {
+    return Jwts.builder()
+            .setSubject("employee-id")
+            .claim("email", "john.doe@example.com")
+            .claim("role", "ROLE_EMPLOYEE")
+            .setIssuedAt(new Date())
+            .setExpiration(expiration)
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+  }
+}
@@ -0,0 +1,125 @@
+package com.ems.apigateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit log of every request through the gateway. Request threads only copy a
+ * record into the {@link AccessLogRingBuffer}, which never blocks; a record that
+ * finds the buffer full is dropped and counted in {@code gateway.access-log.dropped}.
+ * A background thread drains the buffer in batches to the log file.
+ */
+@Component
+public class AccessLog implements SmartLifecycle {
+  private static final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+
+  private final AccessLogProperties properties;
+  private final AccessLogRingBuffer buffer;
+  private final Counter dropped;
+  private final Counter written;
+  private volatile boolean running;
+  private Thread writerThread;
+
+  public AccessLog(AccessLogProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.buffer = new AccessLogRingBuffer(properties.enabled() ? properties.bufferCapacity() : 2);
+    this.dropped = meterRegistry.counter("gateway.access-log.dropped");
+    this.written = meterRegistry.counter("gateway.access-log.written");
+
+    Gauge.builder("gateway.access-log.backlog", buffer, AccessLogRingBuffer::size)
+            .description("Access log records waiting to be written")
+            .register(meterRegistry);
+  }
+
+  public boolean enabled() {
+    return properties.enabled();
+  }
+
+  public void record(
+          long timestampMillis,
+          long durationMicros,
+          int status,
+          String method,
+          String target,
+          String routeId,
+          String client,
+          String employeeId
+  ) {
+    if (!running || !buffer.tryPublish(timestampMillis, durationMicros, status, method, target, routeId, client, employeeId)) {
+      dropped.increment();
+    }
+  }
+
+  @Override
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    AccessLogFileWriter fileWriter;
+    try {
+      fileWriter = new AccessLogFileWriter(Path.of(properties.path()), properties.maxFileSize().toBytes(),
+              properties.maxHistory(), properties.batchSize());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot open access log " + properties.path(), e);
+    }
+
+    running = true;
+    writerThread = Thread.ofPlatform()
+            .name("access-log-writer")
+            .daemon()
+            .start(() -> drain(fileWriter));
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (writerThread != null) {
+      LockSupport.unpark(writerThread);
+      try {
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void drain(AccessLogFileWriter fileWriter) {
+    long flushIntervalNanos = properties.flushInterval().toNanos();
+    try (fileWriter) {
+      // After stop() the loop keeps going until what was buffered has been written
+      while (running || buffer.size() > 0) {
+        int drained = buffer.drain(fileWriter::append, properties.batchSize());
+        if (drained == 0) {
+          LockSupport.parkNanos(flushIntervalNanos);
+          continue;
+        }
+
+        try {
+          fileWriter.flush();
+          written.increment(drained);
+        } catch (IOException e) {
+          dropped.increment(drained);
+          logger.warn("Failed to write {} access log records: {}", drained, e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to close access log: {}", e.getMessage());
+    }
+  }
+}
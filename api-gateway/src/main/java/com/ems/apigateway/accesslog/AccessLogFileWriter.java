@@ -0,0 +1,154 @@
+package com.ems.apigateway.accesslog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats drained records into a reusable batch buffer and appends each batch to
+ * the log file with a single write, rolling the file over once it reaches
+ * {@code maxFileSize}. Used only by the access log's writer thread.
+ *
+ * <p>Each line reads
+ * {@code 2026-01-31T09:15:02.118Z 10.0.0.7 <employee-id> "GET /employee-service/api/employees" 200 10482us employee-service},
+ * with {@code -} for a missing employee ID or route.
+ */
+class AccessLogFileWriter implements Closeable {
+  private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.")
+          .withZone(ZoneOffset.UTC);
+  private static final int MAX_LINE_LENGTH = 720;
+
+  private final Path path;
+  private final long maxFileSize;
+  private final int maxHistory;
+  private final ByteBuffer batch;
+  private FileChannel channel;
+  private long cachedSecond = Long.MIN_VALUE;
+  private byte[] cachedSecondPrefix;
+
+  AccessLogFileWriter(Path path, long maxFileSize, int maxHistory, int batchSize) throws IOException {
+    this.path = path;
+    this.maxFileSize = maxFileSize;
+    this.maxHistory = maxHistory;
+    this.batch = ByteBuffer.allocate(batchSize * MAX_LINE_LENGTH);
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    this.channel = open();
+  }
+
+  void append(AccessLogRingBuffer.Slot slot) {
+    if (batch.remaining() < MAX_LINE_LENGTH) {
+      return;
+    }
+
+    writeTimestamp(slot.timestampMillis);
+    batch.put((byte) ' ');
+    putOrDash(slot.client, slot.clientLength);
+    batch.put((byte) ' ');
+    putOrDash(slot.employee, slot.employeeLength);
+    batch.put((byte) ' ').put((byte) '"');
+    batch.put(slot.method, 0, slot.methodLength);
+    batch.put((byte) ' ');
+    batch.put(slot.target, 0, slot.targetLength);
+    batch.put((byte) '"').put((byte) ' ');
+    putNumber(slot.status);
+    batch.put((byte) ' ');
+    putNumber(slot.durationMicros);
+    batch.put((byte) 'u').put((byte) 's').put((byte) ' ');
+    putOrDash(slot.route, slot.routeLength);
+    batch.put((byte) '\n');
+  }
+
+  /** Writes the records appended since the last flush. */
+  void flush() throws IOException {
+    batch.flip();
+    try {
+      while (batch.hasRemaining()) {
+        channel.write(batch);
+      }
+    } finally {
+      batch.clear();
+    }
+
+    if (channel.size() >= maxFileSize) {
+      rollOver();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void rollOver() throws IOException {
+    channel.close();
+    if (maxHistory > 0) {
+      Files.deleteIfExists(archive(maxHistory));
+      for (int i = maxHistory - 1; i >= 1; i--) {
+        Path archive = archive(i);
+        if (Files.exists(archive)) {
+          Files.move(archive, archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      Files.move(path, archive(1), StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.deleteIfExists(path);
+    }
+    channel = open();
+  }
+
+  private Path archive(int index) {
+    return path.resolveSibling(path.getFileName() + "." + index);
+  }
+
+  private FileChannel open() throws IOException {
+    return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private void writeTimestamp(long epochMillis) {
+    long second = Math.floorDiv(epochMillis, 1000);
+    if (second != cachedSecond) {
+      cachedSecond = second;
+      cachedSecondPrefix = SECONDS.format(Instant.ofEpochSecond(second)).getBytes(StandardCharsets.US_ASCII);
+    }
+    batch.put(cachedSecondPrefix);
+    int millis = (int) Math.floorMod(epochMillis, 1000);
+    batch.put((byte) ('0' + millis / 100))
+            .put((byte) ('0' + millis / 10 % 10))
+            .put((byte) ('0' + millis % 10))
+            .put((byte) 'Z');
+  }
+
+  private void putOrDash(byte[] value, int length) {
+    if (length == 0) {
+      batch.put((byte) '-');
+    } else {
+      batch.put(value, 0, length);
+    }
+  }
+
+  private void putNumber(long value) {
+    if (value < 0) {
+      batch.put((byte) '-');
+      value = -value;
+    }
+    long divisor = 1;
+    while (value / divisor >= 10) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      batch.put((byte) ('0' + value / divisor % 10));
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.ems.apigateway.accesslog;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands every routed request to the {@link AccessLog} once its response is
+ * written. The employee is taken from the claims {@link JwtAuthenticationFilter}
+ * verified. A request cancelled by the client is logged with status 499.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+  private static final int CLIENT_CLOSED_REQUEST = 499;
+
+  private final AccessLog accessLog;
+
+  public AccessLogFilter(AccessLog accessLog) {
+    this.accessLog = accessLog;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    if (!accessLog.enabled()) {
+      return chain.filter(exchange);
+    }
+
+    long timestamp = System.currentTimeMillis();
+    long start = System.nanoTime();
+    return chain.filter(exchange)
+            .doFinally(signal -> record(exchange, signal, timestamp, System.nanoTime() - start));
+  }
+
+  private void record(ServerWebExchange exchange, SignalType signal, long timestamp, long durationNanos) {
+    ServerHttpRequest request = exchange.getRequest();
+    URI uri = request.getURI();
+    String target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + '?' + uri.getRawQuery();
+
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    Claims claims = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTR);
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+
+    accessLog.record(
+            timestamp,
+            TimeUnit.NANOSECONDS.toMicros(durationNanos),
+            status(exchange, signal),
+            request.getMethod().name(),
+            target,
+            route != null ? route.getId() : null,
+            remoteAddress != null && remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : null,
+            claims != null ? claims.getSubject() : null
+    );
+  }
+
+  private static int status(ServerWebExchange exchange, SignalType signal) {
+    if (signal == SignalType.CANCEL) {
+      return CLIENT_CLOSED_REQUEST;
+    }
+    HttpStatusCode status = exchange.getResponse().getStatusCode();
+    if (status == null) {
+      return signal == SignalType.ON_ERROR ? 500 : 200;
+    }
+    return status.value();
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE + 1;
+  }
+}
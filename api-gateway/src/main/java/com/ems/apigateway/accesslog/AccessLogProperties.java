@@ -0,0 +1,26 @@
+package com.ems.apigateway.accesslog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the access log. {@code bufferCapacity} records can wait to be
+ * written, rounded up to a power of two; any beyond that are dropped. The writer
+ * wakes every {@code flushInterval} and writes up to {@code batchSize} records at a
+ * time. The file rolls over at {@code maxFileSize}, keeping {@code maxHistory}
+ * old files as {@code access.log.1}, {@code access.log.2} and so on.
+ */
+@ConfigurationProperties(prefix = "application.gateway.access-log")
+public record AccessLogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("logs/access.log") String path,
+        @DefaultValue("65536") int bufferCapacity,
+        @DefaultValue("1024") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("100MB") DataSize maxFileSize,
+        @DefaultValue("10") int maxHistory
+) {
+}
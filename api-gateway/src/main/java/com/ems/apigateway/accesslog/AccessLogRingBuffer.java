@@ -0,0 +1,122 @@
+package com.ems.apigateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer queue of access log records. Every slot
+ * and its field arrays are allocated up front and reused, so publishing a record
+ * copies bytes but allocates nothing. Producers claim a sequence with a CAS and
+ * never wait: when the consumer is a full lap behind, the record is refused.
+ */
+final class AccessLogRingBuffer {
+  private final Slot[] slots;
+  private final int mask;
+  private final AtomicLong claimed = new AtomicLong();
+  private volatile long consumed;
+
+  AccessLogRingBuffer(int requestedCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+    this.slots = new Slot[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new Slot();
+    }
+  }
+
+  int capacity() {
+    return slots.length;
+  }
+
+  /** Records waiting to be drained. */
+  long size() {
+    return claimed.get() - consumed;
+  }
+
+  boolean tryPublish(
+          long timestampMillis,
+          long durationMicros,
+          int status,
+          String method,
+          String target,
+          String routeId,
+          String client,
+          String employeeId
+  ) {
+    long sequence;
+    do {
+      sequence = claimed.get();
+      if (sequence - consumed >= slots.length) {
+        return false;
+      }
+    } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+    Slot slot = slots[(int) sequence & mask];
+    slot.timestampMillis = timestampMillis;
+    slot.durationMicros = durationMicros;
+    slot.status = status;
+    slot.methodLength = copy(method, slot.method);
+    slot.targetLength = copy(target, slot.target);
+    slot.routeLength = copy(routeId, slot.route);
+    slot.clientLength = copy(client, slot.client);
+    slot.employeeLength = copy(employeeId, slot.employee);
+    slot.published = sequence;
+    return true;
+  }
+
+  /**
+   * Hands up to {@code max} published records to {@code reader}, oldest first, and
+   * returns how many it handed over. A slot is reused as soon as its record has
+   * been read, so {@code reader} must not keep it. Only one thread may drain.
+   */
+  int drain(Consumer<Slot> reader, int max) {
+    long next = consumed;
+    int drained = 0;
+    while (drained < max) {
+      Slot slot = slots[(int) next & mask];
+      if (slot.published != next) {
+        break;
+      }
+      reader.accept(slot);
+      consumed = ++next;
+      drained++;
+    }
+    return drained;
+  }
+
+  /**
+   * Copies {@code value} as ASCII, truncated to fit. Characters that could break
+   * the line layout (controls, spaces, quotes and anything non-ASCII) become
+   * {@code ?}.
+   */
+  private static int copy(String value, byte[] target) {
+    if (value == null) {
+      return 0;
+    }
+    int length = Math.min(value.length(), target.length);
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      target[i] = c > ' ' && c < 0x7f && c != '"' ? (byte) c : (byte) '?';
+    }
+    return length;
+  }
+
+  /** One preallocated record. Fields are only valid while the slot is being drained. */
+  static final class Slot {
+    private volatile long published = -1;
+
+    long timestampMillis;
+    long durationMicros;
+    int status;
+    final byte[] method = new byte[8];
+    int methodLength;
+    final byte[] target = new byte[512];
+    int targetLength;
+    final byte[] route = new byte[48];
+    int routeLength;
+    final byte[] client = new byte[46];
+    int clientLength;
+    final byte[] employee = new byte[36];
+    int employeeLength;
+  }
+}
@@ -0,0 +1,177 @@
+package com.ems.apigateway.batch;
+
+import com.ems.apigateway.config.JwtRejection;
+import com.ems.apigateway.config.JwtTokenValidator;
+import com.ems.apigateway.http.BufferedResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs several gateway calls in one round trip. The caller's token is validated
+ * once. The sub-requests then run concurrently through the normal routes and their
+ * filters, and come back in request order with their own status, headers and body.
+ */
+@RestController
+public class BatchController {
+  private static final Set<String> RESERVED_HEADERS = Set.of(
+          HttpHeaders.ACCEPT_ENCODING.toLowerCase(),
+          HttpHeaders.AUTHORIZATION.toLowerCase(),
+          HttpHeaders.HOST.toLowerCase(),
+          HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+          HttpHeaders.TRANSFER_ENCODING.toLowerCase()
+  );
+
+  private final JwtTokenValidator tokenValidator;
+  private final BatchDispatcher dispatcher;
+  private final BatchProperties properties;
+  private final ObjectMapper objectMapper;
+  private final List<PathPattern> allowedPaths;
+
+  public BatchController(
+          JwtTokenValidator tokenValidator,
+          BatchDispatcher dispatcher,
+          BatchProperties properties,
+          ObjectMapper objectMapper
+  ) {
+    this.tokenValidator = tokenValidator;
+    this.dispatcher = dispatcher;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.allowedPaths = properties.allowedPaths().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+  }
+
+  @PostMapping("/batch")
+  public Mono<BatchResponse> batch(@RequestBody BatchRequest batch, ServerHttpRequest request) {
+    String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    Claims claims;
+    try {
+      claims = tokenValidator.validateBearer(authorization);
+    } catch (JwtRejection rejection) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or missing token");
+    }
+
+    List<BatchRequest.SubRequest> subRequests = batch.requests() != null ? batch.requests() : List.of();
+    if (subRequests.size() > properties.maxRequests()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+              "A batch may contain at most " + properties.maxRequests() + " requests");
+    }
+
+    List<Mono<BatchResponse.SubResponse>> calls = subRequests.stream()
+            .map(subRequest -> dispatch(request, claims, authorization, subRequest))
+            .toList();
+
+    return Flux.fromIterable(calls)
+            .flatMapSequential(call -> call, properties.maxConcurrency())
+            .collectList()
+            .map(BatchResponse::new);
+  }
+
+  private Mono<BatchResponse.SubResponse> dispatch(
+          ServerHttpRequest parent,
+          Claims claims,
+          String authorization,
+          BatchRequest.SubRequest subRequest
+  ) {
+    HttpMethod method = subRequest.method() != null ? HttpMethod.valueOf(subRequest.method().toUpperCase()) : HttpMethod.GET;
+    URI uri = resolve(parent, subRequest.path());
+
+    HttpHeaders headers = new HttpHeaders();
+    if (subRequest.headers() != null) {
+      subRequest.headers().forEach((name, value) -> {
+        if (!RESERVED_HEADERS.contains(name.toLowerCase())) {
+          headers.set(name, value);
+        }
+      });
+    }
+    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+
+    byte[] body = new byte[0];
+    if (subRequest.body() != null && !subRequest.body().isNull()) {
+      body = writeJson(subRequest);
+      if (headers.getContentType() == null) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+      }
+      headers.setContentLength(body.length);
+    }
+
+    return dispatcher.dispatch(parent, claims, method, uri, headers, body)
+            .map(response -> toSubResponse(subRequest.id(), response));
+  }
+
+  private URI resolve(ServerHttpRequest parent, String path) {
+    if (path == null || !path.startsWith("/")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sub-request paths must start with '/'");
+    }
+
+    URI uri;
+    try {
+      uri = parent.getURI().resolve(path).normalize();
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sub-request path: " + path);
+    }
+
+    RequestPath requestPath = RequestPath.parse(uri.getRawPath(), null);
+    for (PathPattern pattern : allowedPaths) {
+      if (pattern.matches(requestPath.pathWithinApplication())) {
+        return uri;
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sub-request path not allowed: " + path);
+  }
+
+  private byte[] writeJson(BatchRequest.SubRequest subRequest) {
+    try {
+      return objectMapper.writeValueAsBytes(subRequest.body());
+    } catch (JsonProcessingException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid body for sub-request " + subRequest.id());
+    }
+  }
+
+  private BatchResponse.SubResponse toSubResponse(String id, BufferedResponse response) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    response.headers().forEach((name, values) -> headers.put(name, String.join(",", values)));
+
+    return new BatchResponse.SubResponse(id, response.status().value(), headers, body(response));
+  }
+
+  private Object body(BufferedResponse response) {
+    if (response.body().length == 0) {
+      return null;
+    }
+
+    MediaType contentType = response.headers().getContentType();
+    if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+      try {
+        return objectMapper.readTree(response.body());
+      } catch (IOException e) {
+        // Not actually JSON: fall through and return it as text
+      }
+    }
+    return new String(response.body(), StandardCharsets.UTF_8);
+  }
+}
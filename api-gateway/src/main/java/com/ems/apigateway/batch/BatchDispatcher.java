@@ -0,0 +1,70 @@
+package com.ems.apigateway.batch;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import com.ems.apigateway.http.BufferedResponse;
+import com.ems.apigateway.http.InMemoryServerHttpRequest;
+import com.ems.apigateway.http.InMemoryServerHttpResponse;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Runs a request through the gateway's own {@link DispatcherHandler}, so it is
+ * matched to a route and passes through that route's filters as if it had arrived
+ * over HTTP. The caller's already verified claims travel as an exchange attribute,
+ * which {@link JwtAuthenticationFilter} uses instead of validating the token again.
+ */
+@Component
+public class BatchDispatcher {
+  private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+  private final DispatcherHandler dispatcherHandler;
+  private final ServerCodecConfigurer codecConfigurer;
+  private final DefaultWebSessionManager sessionManager = new DefaultWebSessionManager();
+  private final AcceptHeaderLocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+  public BatchDispatcher(DispatcherHandler dispatcherHandler, ServerCodecConfigurer codecConfigurer) {
+    this.dispatcherHandler = dispatcherHandler;
+    this.codecConfigurer = codecConfigurer;
+  }
+
+  public Mono<BufferedResponse> dispatch(
+          ServerHttpRequest parent,
+          Claims claims,
+          HttpMethod method,
+          URI uri,
+          HttpHeaders headers,
+          byte[] body
+  ) {
+    InMemoryServerHttpRequest request = new InMemoryServerHttpRequest(method, uri, headers, body, parent.getRemoteAddress());
+    InMemoryServerHttpResponse response = new InMemoryServerHttpResponse();
+    DefaultServerWebExchange exchange = new DefaultServerWebExchange(
+            request, response, sessionManager, codecConfigurer, localeContextResolver);
+    exchange.getAttributes().put(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTR, claims);
+
+    return dispatcherHandler.handle(exchange)
+            .then(Mono.fromSupplier(response::toBufferedResponse))
+            .onErrorResume(error -> {
+              // Without the HTTP server's exception handlers, errors are turned into statuses here
+              if (error instanceof ResponseStatusException statusException) {
+                return Mono.just(BufferedResponse.of(statusException.getStatusCode(), new HttpHeaders(), new byte[0]));
+              }
+              logger.warn("Batch sub-request {} {} failed: {}", method, uri.getRawPath(), error.getMessage());
+              return Mono.just(BufferedResponse.of(HttpStatus.BAD_GATEWAY, new HttpHeaders(), new byte[0]));
+            });
+  }
+}
@@ -0,0 +1,19 @@
+package com.ems.apigateway.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings of the {@code /batch} endpoint. Sub-request paths must match one of
+ * {@code allowedPaths}. At most {@code maxConcurrency} sub-requests of a batch run
+ * at the same time.
+ */
+@ConfigurationProperties(prefix = "application.gateway.batch")
+public record BatchProperties(
+        @DefaultValue("30") int maxRequests,
+        @DefaultValue("10") int maxConcurrency,
+        @DefaultValue({"/employee-service/**", "/auth-service/**"}) List<String> allowedPaths
+) {
+}
@@ -0,0 +1,22 @@
+package com.ems.apigateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+public record BatchRequest(List<SubRequest> requests) {
+
+  /**
+   * One call of the batch. {@code path} is a gateway path including the route
+   * prefix and query, e.g. {@code /employee-service/api/employees?page=0}.
+   */
+  public record SubRequest(
+          String id,
+          String method,
+          String path,
+          Map<String, String> headers,
+          JsonNode body
+  ) {
+  }
+}
@@ -0,0 +1,22 @@
+package com.ems.apigateway.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+public record BatchResponse(List<SubResponse> responses) {
+
+  /**
+   * Outcome of one sub-request. JSON bodies are embedded as JSON and any other
+   * body as a string.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record SubResponse(
+          String id,
+          int status,
+          Map<String, String> headers,
+          Object body
+  ) {
+  }
+}
@@ -0,0 +1,152 @@
+package com.ems.apigateway.bff;
+
+import com.ems.apigateway.batch.BatchDispatcher;
+import com.ems.apigateway.config.JwtRejection;
+import com.ems.apigateway.config.JwtTokenValidator;
+import com.ems.apigateway.http.BufferedResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Everything the front end shows right after login in one round trip. The caller's
+ * employee profile and department are fetched concurrently through the
+ * employee-service route, with its filters, for the employee named by the token's
+ * {@code sub} claim.
+ *
+ * <p>The profile is required: if it fails, so does the response, with the status
+ * employee-service answered or 502 for server-side failures. A failed department
+ * only leaves its part empty and is listed in {@code errors}.
+ */
+@RestController
+public class MeController {
+  private static final String EMPLOYEE_PATH = "/employee-service/api/employees/";
+  private static final String DEPARTMENT_SUFFIX = "/department";
+
+  private final JwtTokenValidator tokenValidator;
+  private final BatchDispatcher dispatcher;
+  private final MeProperties properties;
+  private final ObjectMapper objectMapper;
+
+  public MeController(
+          JwtTokenValidator tokenValidator,
+          BatchDispatcher dispatcher,
+          MeProperties properties,
+          ObjectMapper objectMapper
+  ) {
+    this.tokenValidator = tokenValidator;
+    this.dispatcher = dispatcher;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+  }
+
+  @GetMapping("/me")
+  public Mono<ResponseEntity<MeResponse>> me(ServerHttpRequest request) {
+    String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    Claims claims;
+    try {
+      claims = tokenValidator.validateBearer(authorization);
+    } catch (JwtRejection rejection) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or missing token");
+    }
+    UUID employeeId = employeeId(claims);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+    Mono<Part> employee = fetch(request, claims, headers, EMPLOYEE_PATH + employeeId);
+    Mono<Part> department = fetch(request, claims, headers, EMPLOYEE_PATH + employeeId + DEPARTMENT_SUFFIX);
+
+    return Mono.zip(employee, department)
+            .map(parts -> {
+              Map<String, MeResponse.PartError> errors = new LinkedHashMap<>();
+              if (parts.getT1().failure() != null) {
+                errors.put("employee", parts.getT1().failure());
+              }
+              if (parts.getT2().failure() != null) {
+                errors.put("department", parts.getT2().failure());
+              }
+
+              MeResponse body = new MeResponse(parts.getT1().body(), parts.getT2().body(), errors);
+              return ResponseEntity.status(status(parts.getT1())).body(body);
+            });
+  }
+
+  private static UUID employeeId(Claims claims) {
+    try {
+      if (claims.getSubject() != null) {
+        return UUID.fromString(claims.getSubject());
+      }
+    } catch (IllegalArgumentException e) {
+      // Falls through to the rejection below
+    }
+    throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token does not name an employee");
+  }
+
+  private Mono<Part> fetch(ServerHttpRequest parent, Claims claims, HttpHeaders headers, String path) {
+    URI uri = parent.getURI().resolve(path);
+    return dispatcher.dispatch(parent, claims, HttpMethod.GET, uri, headers, new byte[0])
+            .timeout(properties.partTimeout())
+            .map(this::toPart)
+            .onErrorResume(TimeoutException.class, timeout ->
+                    Mono.just(Part.failed(HttpStatus.GATEWAY_TIMEOUT.value(), "Timed out")));
+  }
+
+  private Part toPart(BufferedResponse response) {
+    JsonNode body = readJson(response.body());
+    if (response.status().is2xxSuccessful()) {
+      return new Part(body, null);
+    }
+
+    HttpStatus status = HttpStatus.resolve(response.status().value());
+    String message = body != null && body.hasNonNull("message")
+            ? body.get("message").asText()
+            : status != null ? status.getReasonPhrase() : "Request failed";
+    return Part.failed(response.status().value(), message);
+  }
+
+  private JsonNode readJson(byte[] body) {
+    if (body.length == 0) {
+      return null;
+    }
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static HttpStatus status(Part employee) {
+    if (employee.failure() == null) {
+      return HttpStatus.OK;
+    }
+    HttpStatus status = HttpStatus.resolve(employee.failure().status());
+    return status != null && status.is4xxClientError() ? status : HttpStatus.BAD_GATEWAY;
+  }
+
+  private record Part(JsonNode body, MeResponse.PartError failure) {
+
+    static Part failed(int status, String message) {
+      return new Part(null, new MeResponse.PartError(status, message));
+    }
+  }
+}
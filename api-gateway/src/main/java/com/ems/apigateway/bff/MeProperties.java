@@ -0,0 +1,16 @@
+package com.ems.apigateway.bff;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@code /me} endpoint. A part that hasn't answered within
+ * {@code partTimeout} is reported as failed rather than holding up the others.
+ */
+@ConfigurationProperties(prefix = "application.gateway.me")
+public record MeProperties(
+        @DefaultValue("2s") Duration partTimeout
+) {
+}
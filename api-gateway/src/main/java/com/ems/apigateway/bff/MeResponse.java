@@ -0,0 +1,22 @@
+package com.ems.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * The caller's profile and department in one body. A part that could not be
+ * fetched is {@code null} and has an entry in {@code errors}, keyed by part name.
+ */
+public record MeResponse(
+        JsonNode employee,
+        JsonNode department,
+        Map<String, PartError> errors
+) {
+
+  public record PartError(
+          int status,
+          String message
+  ) {
+  }
+}
@@ -0,0 +1,25 @@
+package com.ems.apigateway.blocking;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Blocking-call detection on Reactor and Netty non-blocking threads. Enabling it
+ * instruments the JVM with BlockHound, which needs a jar built with
+ * {@code -P blockhound} and the {@code -XX:+AllowRedefinitionToAddDeleteMethods}
+ * JVM flag. With
+ * {@code failOnDetection} the blocking call also fails with a
+ * {@code BlockingOperationError}; otherwise it is only reported. Each entry of
+ * {@code allowed} is a {@code fully.qualified.Class#method} whose blocking calls
+ * are tolerated.
+ */
+@ConfigurationProperties(prefix = "application.gateway.blocking-detection")
+public record BlockingCallDetectionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("false") boolean failOnDetection,
+        @DefaultValue("40") int maxStackDepth,
+        @DefaultValue List<String> allowed
+) {
+}
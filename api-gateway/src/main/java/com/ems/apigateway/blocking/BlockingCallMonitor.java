@@ -0,0 +1,174 @@
+package com.ems.apigateway.blocking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports blocking calls made on non-blocking threads once
+ * {@code application.gateway.blocking-detection.enabled} is set. Calls are grouped
+ * by call site, the first application frame below the blocking JDK method. The
+ * first call from each site is logged with its stack trace; every call is counted
+ * in {@code gateway.blocking.calls} and listed at {@code /actuator/blockingcalls}.
+ *
+ * <p>BlockHound can only be installed once per JVM and stays installed until exit.
+ * The monitor reaches it through {@link GatewayBlockHoundIntegration}, so it also
+ * sees calls when BlockHound was installed before it, as in the {@code blockhound}
+ * test profile. BlockHound is an optional dependency: the class refers to none of
+ * its types, and enabling detection without it on the classpath fails at startup.
+ */
+@Component
+public class BlockingCallMonitor {
+  private static final Logger logger = LoggerFactory.getLogger(BlockingCallMonitor.class);
+  private static final List<String> INFRASTRUCTURE_PREFIXES = List.of(
+          "java.", "javax.", "jdk.", "sun.", "com.sun.", "reactor.blockhound.",
+          "com.ems.apigateway.blocking.BlockingCallMonitor", "com.ems.apigateway.blocking.GatewayBlockHoundIntegration"
+  );
+
+  private static volatile BlockingCallMonitor active;
+
+  private final BlockingCallDetectionProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Set<String> allowed;
+  private final ConcurrentHashMap<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+  public BlockingCallMonitor(BlockingCallDetectionProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.allowed = Set.copyOf(properties.allowed());
+    for (String entry : allowed) {
+      if (entry.indexOf('#') <= 0) {
+        throw new IllegalArgumentException("Expected Class#method but got " + entry);
+      }
+    }
+
+    if (properties.enabled()) {
+      install();
+    }
+  }
+
+  /**
+   * The enabled monitor blocking calls are reported to, or null if there is none.
+   */
+  static BlockingCallMonitor active() {
+    return active;
+  }
+
+  private void install() {
+    if (!ClassUtils.isPresent("reactor.blockhound.BlockHound", BlockingCallMonitor.class.getClassLoader())) {
+      throw new IllegalStateException(
+              "Cannot install blocking-call detection, BlockHound is not on the classpath. Build with -P blockhound");
+    }
+
+    active = this;
+    try {
+      GatewayBlockHoundIntegration.install();
+    } catch (IllegalStateException e) {
+      throw new IllegalStateException(
+              "Cannot install blocking-call detection, is -XX:+AllowRedefinitionToAddDeleteMethods set?", e);
+    }
+    logger.info("Blocking-call detection installed, failOnDetection={}", properties.failOnDetection());
+  }
+
+  /**
+   * Records a call to {@code blockingMethod} from the current thread, and returns
+   * whether it should fail.
+   */
+  boolean report(String blockingMethod) {
+    StackTraceElement[] stack = new Throwable().getStackTrace();
+    if (isAllowed(stack)) {
+      return false;
+    }
+    String site = callSite(stack);
+
+    CallSite callSite = callSites.computeIfAbsent(blockingMethod + " at " + site, key -> {
+      String[] frames = Arrays.stream(stack)
+              .limit(properties.maxStackDepth())
+              .map(StackTraceElement::toString)
+              .toArray(String[]::new);
+      logger.warn("Blocking call {} on thread {} at {}\n\tat {}", blockingMethod,
+              Thread.currentThread().getName(), site, String.join("\n\tat ", frames));
+      return new CallSite(blockingMethod, site, frames);
+    });
+    callSite.calls.increment();
+    callSite.lastSeen = Instant.now();
+    meterRegistry.counter("gateway.blocking.calls", "method", blockingMethod, "site", site).increment();
+
+    return properties.failOnDetection();
+  }
+
+  private boolean isAllowed(StackTraceElement[] stack) {
+    if (allowed.isEmpty()) {
+      return false;
+    }
+    for (StackTraceElement frame : stack) {
+      if (allowed.contains(frame.getClassName() + '#' + frame.getMethodName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the first frame of {@code stack} outside the JDK and BlockHound, which
+   * is the code that made the blocking call.
+   */
+  static String callSite(StackTraceElement[] stack) {
+    for (StackTraceElement frame : stack) {
+      if (!isInfrastructure(frame.getClassName())) {
+        return frame.getClassName() + '#' + frame.getMethodName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+      }
+    }
+    return "unknown";
+  }
+
+  private static boolean isInfrastructure(String className) {
+    for (String prefix : INFRASTRUCTURE_PREFIXES) {
+      if (className.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public List<CallSiteReport> snapshot() {
+    return callSites.values().stream()
+            .map(site -> new CallSiteReport(site.method, site.site, site.calls.sum(), site.lastSeen, List.of(site.stackTrace)))
+            .sorted(Comparator.comparingLong(CallSiteReport::calls).reversed())
+            .toList();
+  }
+
+  public record CallSiteReport(
+          String method,
+          String site,
+          long calls,
+          Instant lastSeen,
+          List<String> stackTrace
+  ) {
+  }
+
+  private static class CallSite {
+    private final String method;
+    private final String site;
+    private final String[] stackTrace;
+    private final LongAdder calls = new LongAdder();
+    private volatile Instant lastSeen;
+
+    private CallSite(String method, String site, String[] stackTrace) {
+      this.method = method;
+      this.site = site;
+      this.stackTrace = stackTrace;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.ems.apigateway.blocking;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the blocking call sites seen on non-blocking threads, most frequent first,
+ * at {@code /actuator/blockingcalls}.
+ */
+@Component
+@Endpoint(id = "blockingcalls")
+public class BlockingCallsEndpoint {
+  private final BlockingCallMonitor monitor;
+
+  public BlockingCallsEndpoint(BlockingCallMonitor monitor) {
+    this.monitor = monitor;
+  }
+
+  @ReadOperation
+  public List<BlockingCallMonitor.CallSiteReport> callSites() {
+    return monitor.snapshot();
+  }
+}
@@ -0,0 +1,35 @@
+package com.ems.apigateway.blocking;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Hands the blocking calls BlockHound detects to the active {@link BlockingCallMonitor}.
+ * It is registered as a {@link BlockHoundIntegration} service, so BlockHound applies
+ * it however it gets installed: by the monitor, or beforehand by
+ * blockhound-junit-platform. A blocking call made while no monitor is enabled fails,
+ * as it would with BlockHound alone.
+ */
+public class GatewayBlockHoundIntegration implements BlockHoundIntegration {
+
+  /**
+   * Installs BlockHound with every integration on the classpath, this one
+   * included. Does nothing if it is already installed.
+   */
+  static void install() {
+    BlockHound.install();
+  }
+
+  @Override
+  public void applyTo(BlockHound.Builder builder) {
+    // Logging the first call from a site writes to the log, which must not be reported in turn
+    builder.allowBlockingCallsInside(BlockingCallMonitor.class.getName(), "report");
+    builder.blockingMethodCallback(method -> {
+      BlockingCallMonitor monitor = BlockingCallMonitor.active();
+      if (monitor == null || monitor.report(method.toString())) {
+        throw new BlockingOperationError(method);
+      }
+    });
+  }
+}
@@ -0,0 +1,372 @@
+package com.ems.apigateway.cache;
+
+import com.ems.apigateway.config.UserHttpHeaders;
+import com.ems.apigateway.http.BufferedResponse;
+import com.ems.apigateway.http.CapturingResponseDecorator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory cache of successful GET responses for the routes configured under
+ * {@code application.gateway.response-cache.routes}. Entries are keyed by route,
+ * path, query and the caller's employee ID and role, so a cached response is only
+ * ever replayed to the identity it was produced for.
+ *
+ * <p>Services have the last word through {@code Cache-Control}: responses marked
+ * {@code no-store}, {@code no-cache} or {@code private} are not cached, and
+ * {@code s-maxage} or {@code max-age} can shorten the route's {@code ttl}. The
+ * route's stale windows still apply past either.
+ *
+ * <p>Stale-if-error covers a failed route as well as a 500, 502, 503 or 504 from
+ * the service, whose body is then dropped in favour of the stale one.
+ */
+@Component
+public class ResponseCacheFilter implements GatewayFilter {
+  private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+  private static final String CACHE_STATUS_HEADER = "X-Cache";
+  private static final int ENTRY_OVERHEAD_BYTES = 512;
+  private static final Set<Integer> SERVER_ERRORS = Set.of(500, 502, 503, 504);
+  private static final Set<String> UNCACHEABLE_DIRECTIVES = Set.of("no-store", "no-cache", "private");
+  private static final List<String> REVALIDATION_HEADERS = List.of(
+          HttpHeaders.ACCEPT,
+          HttpHeaders.ACCEPT_LANGUAGE,
+          HttpHeaders.AUTHORIZATION,
+          UserHttpHeaders.X_EMAIL,
+          UserHttpHeaders.X_EMPLOYEE_ID,
+          UserHttpHeaders.X_EMPLOYEE_ROLE
+  );
+
+  private final ResponseCacheProperties properties;
+  private final WebClient loadBalancedWebClient;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, CachedResponse> responses;
+
+  public ResponseCacheFilter(
+          ResponseCacheProperties properties,
+          @Qualifier("loadBalancedWebClient") WebClient loadBalancedWebClient,
+          MeterRegistry meterRegistry
+  ) {
+    this.properties = properties;
+    this.loadBalancedWebClient = loadBalancedWebClient;
+    this.meterRegistry = meterRegistry;
+    this.responses = Caffeine.newBuilder()
+            .maximumWeight(properties.maxSize().toBytes())
+            .weigher((String key, CachedResponse entry) ->
+                    ENTRY_OVERHEAD_BYTES + key.length() * 2 + entry.response().body().length)
+            .expireAfter(new RetentionExpiry())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway-responses");
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    ResponseCacheProperties.RouteCache policy = route != null ? properties.route(route.getId()) : null;
+
+    if (!properties.enabled() || policy == null) {
+      return chain.filter(exchange);
+    }
+
+    if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+      // Writes through this gateway drop what we hold for the route so admins read their own changes
+      return chain.filter(exchange)
+              .doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status == null || status.is2xxSuccessful()) {
+                  invalidateRoute(route.getId());
+                }
+              });
+    }
+
+    String key = cacheKey(route.getId(), exchange.getRequest());
+    CachedResponse cached = responses.getIfPresent(key);
+    long now = System.currentTimeMillis();
+
+    if (cached != null && now < cached.freshUntil()) {
+      return serve(exchange, route, cached, "HIT", now);
+    }
+
+    if (cached != null && now < cached.staleWhileRevalidateUntil()) {
+      revalidate(key, route, exchange.getRequest(), policy, cached);
+      return serve(exchange, route, cached, "STALE", now);
+    }
+
+    ServerHttpResponse response = new CapturingResponseDecorator(
+            exchange.getResponse(),
+            properties.maxEntrySize().toBytes(),
+            captured -> store(key, captured, policy),
+            () -> { }
+    );
+    StaleIfErrorResponseDecorator staleIfError = cached != null
+            ? new StaleIfErrorResponseDecorator(response, exchange, route, cached)
+            : null;
+    ServerWebExchange capturing = exchange.mutate()
+            .response(staleIfError != null ? staleIfError : response)
+            .build();
+    capturing.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+    return chain.filter(capturing)
+            .doOnSuccess(done -> {
+              if (staleIfError == null || !staleIfError.servedStale) {
+                count(route, "MISS");
+              }
+            })
+            .onErrorResume(error -> {
+              if (cached == null || System.currentTimeMillis() >= cached.staleIfErrorUntil()
+                      || exchange.getResponse().isCommitted()) {
+                return Mono.error(error);
+              }
+
+              logger.warn("Route {} failed, serving stale response for {}: {}", route.getId(),
+                      exchange.getRequest().getPath(), error.getMessage());
+              exchange.getResponse().getHeaders().clear();
+              return serve(exchange, route, cached, "STALE-IF-ERROR", System.currentTimeMillis());
+            });
+  }
+
+  private Mono<Void> serve(ServerWebExchange exchange, Route route, CachedResponse cached, String cacheStatus, long now) {
+    count(route, cacheStatus);
+    HttpHeaders headers = exchange.getResponse().getHeaders();
+    headers.set(CACHE_STATUS_HEADER, cacheStatus);
+    headers.set(HttpHeaders.AGE, Long.toString(TimeUnit.MILLISECONDS.toSeconds(now - cached.storedAt())));
+    return cached.response().writeTo(exchange.getResponse());
+  }
+
+  private void store(String key, BufferedResponse response, ResponseCacheProperties.RouteCache policy) {
+    if (response.status().value() != HttpStatus.OK.value()) {
+      return;
+    }
+
+    Map<String, String> directives = cacheControl(response.headers());
+    if (UNCACHEABLE_DIRECTIVES.stream().anyMatch(directives::containsKey)) {
+      return;
+    }
+    responses.put(key, CachedResponse.of(response, policy, freshFor(directives, policy.ttl()), System.currentTimeMillis()));
+  }
+
+  private void revalidate(
+          String key,
+          Route route,
+          ServerHttpRequest request,
+          ResponseCacheProperties.RouteCache policy,
+          CachedResponse cached
+  ) {
+    if (!cached.revalidating().compareAndSet(false, true)) {
+      return;
+    }
+
+    URI uri = UriComponentsBuilder.fromUri(route.getUri())
+            .replacePath(request.getURI().getRawPath())
+            .replaceQuery(request.getURI().getRawQuery())
+            .build(true)
+            .toUri();
+
+    loadBalancedWebClient.get()
+            .uri(uri)
+            .headers(headers -> REVALIDATION_HEADERS.forEach(name -> {
+              List<String> values = request.getHeaders().get(name);
+              if (values != null) {
+                headers.put(name, values);
+              }
+            }))
+            .retrieve()
+            .toEntity(byte[].class)
+            .doOnNext(entity -> store(key, BufferedResponse.of(entity.getStatusCode(), entity.getHeaders(),
+                    entity.getBody() != null ? entity.getBody() : new byte[0]), policy))
+            .doOnError(error -> logger.warn("Revalidation of {} failed: {}", uri, error.getMessage()))
+            .doFinally(signal -> cached.revalidating().set(false))
+            .subscribe(entity -> { }, error -> { });
+  }
+
+  private void invalidateRoute(String routeId) {
+    String prefix = routeId + '\n';
+    responses.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  private void count(Route route, String cacheStatus) {
+    meterRegistry.counter("gateway.response.cache.requests", "route", route.getId(), "result", cacheStatus)
+            .increment();
+  }
+
+  /**
+   * The {@code Cache-Control} directives of {@code headers}, by lower-case name,
+   * with their argument or an empty string.
+   */
+  private static Map<String, String> cacheControl(HttpHeaders headers) {
+    Map<String, String> directives = new HashMap<>();
+    for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+      for (String directive : value.split(",")) {
+        int equals = directive.indexOf('=');
+        String name = (equals < 0 ? directive : directive.substring(0, equals)).trim().toLowerCase(Locale.ROOT);
+        String argument = equals < 0 ? "" : directive.substring(equals + 1).trim().replace("\"", "");
+        if (!name.isEmpty()) {
+          directives.putIfAbsent(name, argument);
+        }
+      }
+    }
+    return directives;
+  }
+
+  /**
+   * {@code ttl}, or the response's own lifetime if that is shorter. As a shared
+   * cache, {@code s-maxage} takes precedence over {@code max-age}.
+   */
+  private static Duration freshFor(Map<String, String> directives, Duration ttl) {
+    String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+    if (maxAge == null) {
+      return ttl;
+    }
+
+    try {
+      Duration lifetime = Duration.ofSeconds(Math.max(0, Long.parseLong(maxAge)));
+      return lifetime.compareTo(ttl) < 0 ? lifetime : ttl;
+    } catch (NumberFormatException e) {
+      return ttl;
+    }
+  }
+
+  private static String cacheKey(String routeId, ServerHttpRequest request) {
+    HttpHeaders headers = request.getHeaders();
+    URI uri = request.getURI();
+    return routeId + '\n'
+            + uri.getRawPath() + '?' + (uri.getRawQuery() != null ? uri.getRawQuery() : "") + '\n'
+            + headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ID) + '\n'
+            + headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ROLE);
+  }
+
+  record CachedResponse(
+          BufferedResponse response,
+          long storedAt,
+          long freshUntil,
+          long staleWhileRevalidateUntil,
+          long staleIfErrorUntil,
+          AtomicBoolean revalidating
+  ) {
+    static CachedResponse of(BufferedResponse response, ResponseCacheProperties.RouteCache policy, Duration ttl, long now) {
+      long freshUntil = now + ttl.toMillis();
+      return new CachedResponse(
+              response,
+              now,
+              freshUntil,
+              freshUntil + policy.staleWhileRevalidate().toMillis(),
+              freshUntil + policy.staleIfError().toMillis(),
+              new AtomicBoolean()
+      );
+    }
+
+    long retainUntil() {
+      return Math.max(staleWhileRevalidateUntil, staleIfErrorUntil);
+    }
+  }
+
+  /**
+   * Serves {@code cached} in place of a downstream response with one of
+   * {@link #SERVER_ERRORS}, for as long as its stale-if-error window lasts. The
+   * downstream body is released unread, and never reaches the capturing decorator
+   * underneath, so the error is not cached either.
+   */
+  private class StaleIfErrorResponseDecorator extends ServerHttpResponseDecorator {
+    private final ServerWebExchange exchange;
+    private final Route route;
+    private final CachedResponse cached;
+    private volatile boolean servedStale;
+
+    StaleIfErrorResponseDecorator(ServerHttpResponse delegate, ServerWebExchange exchange, Route route, CachedResponse cached) {
+      super(delegate);
+      this.exchange = exchange;
+      this.route = route;
+      this.cached = cached;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+      if (!failed()) {
+        return super.writeWith(body);
+      }
+      return Flux.from(body)
+              .doOnNext(DataBufferUtils::release)
+              .then(Mono.defer(this::serveStale));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+      return writeWith(Flux.from(body).concatMap(Flux::from));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+      return failed() ? serveStale() : super.setComplete();
+    }
+
+    private boolean failed() {
+      HttpStatusCode status = getStatusCode();
+      return status != null && SERVER_ERRORS.contains(status.value())
+              && System.currentTimeMillis() < cached.staleIfErrorUntil();
+    }
+
+    private Mono<Void> serveStale() {
+      servedStale = true;
+      logger.warn("Route {} answered {}, serving stale response for {}", route.getId(), getStatusCode().value(),
+              exchange.getRequest().getPath());
+      exchange.getResponse().getHeaders().clear();
+      return serve(exchange, route, cached, "STALE-IF-ERROR", System.currentTimeMillis());
+    }
+  }
+
+  private static class RetentionExpiry implements Expiry<String, CachedResponse> {
+
+    @Override
+    public long expireAfterCreate(String key, CachedResponse entry, long currentTime) {
+      long remainingMillis = entry.retainUntil() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, CachedResponse entry, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, CachedResponse entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
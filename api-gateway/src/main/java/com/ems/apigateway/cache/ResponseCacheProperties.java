@@ -0,0 +1,35 @@
+package com.ems.apigateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "application.gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1MB") DataSize maxEntrySize,
+        @DefaultValue Map<String, RouteCache> routes
+) {
+
+  /**
+   * Caching policy of a single route, keyed by route ID in {@link #routes()}.
+   * Responses are fresh for {@code ttl}. For a further {@code staleWhileRevalidate}
+   * they are still served while a background refresh runs. For
+   * {@code staleIfError} past {@code ttl} they are served when the route fails.
+   */
+  public record RouteCache(
+          Duration ttl,
+          @DefaultValue("0s") Duration staleWhileRevalidate,
+          @DefaultValue("0s") Duration staleIfError
+  ) {
+  }
+
+  public RouteCache route(String routeId) {
+    RouteCache route = routes.get(routeId);
+    return route != null && route.ttl() != null && route.ttl().isPositive() ? route : null;
+  }
+}
@@ -0,0 +1,147 @@
+package com.ems.apigateway.coalescing;
+
+import com.ems.apigateway.config.UserHttpHeaders;
+import com.ems.apigateway.http.BufferedResponse;
+import com.ems.apigateway.http.CapturingResponseDecorator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collapses identical GET and HEAD requests that arrive while one of them is already
+ * in flight. The first request goes downstream as usual and its response is copied
+ * to every request that joined it. Requests are identical when they share route,
+ * method, path, query, {@code Accept} header and authorization scope.
+ *
+ * <p>At most {@code maxWaiters} requests join a single call; any further ones are
+ * routed on their own. If the shared call fails or its body is larger than
+ * {@code maxBodySize}, the waiting requests are routed on their own as well.
+ */
+@Component
+public class CoalescingFilter implements GatewayFilter {
+  private static final String METRIC_NAME = "gateway.coalescing.requests";
+
+  private final CoalescingProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final List<PathPattern> roleScopedPaths;
+  private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  public CoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.roleScopedPaths = properties.roleScopedPaths().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    Gauge.builder("gateway.coalescing.in-flight", inFlight, ConcurrentHashMap::size)
+            .description("Distinct downstream calls currently shared by coalesced requests")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    HttpMethod method = exchange.getRequest().getMethod();
+
+    if (!properties.enabled() || route == null || !properties.routes().contains(route.getId())
+            || (method != HttpMethod.GET && method != HttpMethod.HEAD)) {
+      return chain.filter(exchange);
+    }
+
+    String key = coalescingKey(route.getId(), exchange.getRequest());
+    InFlight call = new InFlight();
+    InFlight existing = inFlight.putIfAbsent(key, call);
+
+    if (existing == null) {
+      count(route, "leader");
+      return lead(key, call, exchange, chain);
+    }
+
+    if (existing.waiters.incrementAndGet() > properties.maxWaiters()) {
+      count(route, "overflow");
+      return chain.filter(exchange);
+    }
+
+    return existing.response.asMono()
+            .flatMap(response -> {
+              count(route, "follower");
+              return response.writeTo(exchange.getResponse()).thenReturn(true);
+            })
+            .switchIfEmpty(Mono.defer(() -> {
+              // The shared call produced nothing we can replay, so this request goes on its own
+              count(route, "fallback");
+              return chain.filter(exchange).thenReturn(true);
+            }))
+            .then();
+  }
+
+  private Mono<Void> lead(String key, InFlight call, ServerWebExchange exchange, GatewayFilterChain chain) {
+    ServerWebExchange capturing = exchange.mutate()
+            .response(new CapturingResponseDecorator(
+                    exchange.getResponse(),
+                    properties.maxBodySize().toBytes(),
+                    response -> {
+                      inFlight.remove(key, call);
+                      call.response.tryEmitValue(response);
+                    },
+                    () -> release(key, call)
+            ))
+            .build();
+
+    return chain.filter(capturing)
+            .doFinally(signal -> release(key, call));
+  }
+
+  private void release(String key, InFlight call) {
+    inFlight.remove(key, call);
+    call.response.tryEmitEmpty();
+  }
+
+  private void count(Route route, String result) {
+    meterRegistry.counter(METRIC_NAME, "route", route.getId(), "result", result).increment();
+  }
+
+  private String coalescingKey(String routeId, ServerHttpRequest request) {
+    HttpHeaders headers = request.getHeaders();
+    URI uri = request.getURI();
+    String scope = isRoleScoped(request)
+            ? headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ROLE)
+            : headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ID) + '\n' + headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ROLE);
+
+    return routeId + '\n'
+            + request.getMethod().name() + ' ' + uri.getRawPath() + '?' + (uri.getRawQuery() != null ? uri.getRawQuery() : "") + '\n'
+            + headers.getFirst(HttpHeaders.ACCEPT) + '\n'
+            + scope;
+  }
+
+  private boolean isRoleScoped(ServerHttpRequest request) {
+    for (PathPattern pattern : roleScopedPaths) {
+      if (pattern.matches(request.getPath().pathWithinApplication())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class InFlight {
+    private final Sinks.One<BufferedResponse> response = Sinks.one();
+    private final AtomicInteger waiters = new AtomicInteger();
+  }
+}
@@ -0,0 +1,24 @@
+package com.ems.apigateway.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings of {@link CoalescingFilter}. Requests are only collapsed on the route IDs
+ * listed in {@code routes}. Paths matching {@code roleScopedPaths} return the same
+ * body to every caller with a given role, so they are shared across employees of
+ * that role. Every other path is only shared between requests from the same employee.
+ */
+@ConfigurationProperties(prefix = "application.gateway.coalescing")
+public record CoalescingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256") int maxWaiters,
+        @DefaultValue("1MB") DataSize maxBodySize,
+        @DefaultValue Set<String> routes,
+        @DefaultValue List<String> roleScopedPaths
+) {
+}
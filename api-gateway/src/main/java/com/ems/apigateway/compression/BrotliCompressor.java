@@ -0,0 +1,78 @@
+package com.ems.apigateway.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Streams a body through a native brotli encoder. Encoders hold per-stream state
+ * that can't be reset, so unlike gzip they are created for each response.
+ */
+class BrotliCompressor implements StreamCompressor {
+  private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+  private final BrotliOutputStream encoder;
+  private final byte[] scratch = new byte[8192];
+  private boolean closed;
+
+  BrotliCompressor(int quality) {
+    try {
+      this.encoder = new BrotliOutputStream(encoded, new Encoder.Parameters().setQuality(quality));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void compress(ByteBuffer input, ByteArrayOutputStream output) {
+    ensureOpen();
+    try {
+      while (input.hasRemaining()) {
+        int length = Math.min(input.remaining(), scratch.length);
+        input.get(scratch, 0, length);
+        encoder.write(scratch, 0, length);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    moveEncoded(output);
+  }
+
+  @Override
+  public synchronized void finish(ByteArrayOutputStream output) {
+    ensureOpen();
+    closed = true;
+    try {
+      encoder.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    moveEncoded(output);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      try {
+        encoder.close();
+      } catch (IOException ignored) {
+        // The body was abandoned, there is nobody left to report to
+      }
+    }
+  }
+
+  private void moveEncoded(ByteArrayOutputStream output) {
+    output.write(encoded.toByteArray(), 0, encoded.size());
+    encoded.reset();
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("Compressor has already been closed");
+    }
+  }
+}
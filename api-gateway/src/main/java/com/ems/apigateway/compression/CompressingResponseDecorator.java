@@ -0,0 +1,156 @@
+package com.ems.apigateway.compression;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Compresses the body on its way to the client, one buffer at a time, so a large
+ * response is never held in memory as a whole. Responses that are already
+ * encoded, have no compressible content type, are marked {@code no-transform} or
+ * declare a length below {@code minSize} pass through untouched. Unknown lengths
+ * are compressed, since only bodies too large to buffer are streamed that way.
+ */
+class CompressingResponseDecorator extends ServerHttpResponseDecorator {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final boolean THREAD_CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+  private final ContentCoding coding;
+  private final Function<MediaType, CompressionProperties.ContentTypeRule> rules;
+  private final long minSize;
+  private final CompressorPool pool;
+  private final Consumer<CompressionStats> onCompressed;
+  private long bytesIn;
+  private long bytesOut;
+  private long cpuNanos;
+
+  CompressingResponseDecorator(
+          ServerHttpResponse delegate,
+          ContentCoding coding,
+          Function<MediaType, CompressionProperties.ContentTypeRule> rules,
+          long minSize,
+          CompressorPool pool,
+          Consumer<CompressionStats> onCompressed
+  ) {
+    super(delegate);
+    this.coding = coding;
+    this.rules = rules;
+    this.minSize = minSize;
+    this.pool = pool;
+    this.onCompressed = onCompressed;
+  }
+
+  @Override
+  public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+    HttpHeaders headers = getHeaders();
+    MediaType contentType = headers.getContentType();
+    CompressionProperties.ContentTypeRule rule = contentType != null ? rules.apply(contentType) : null;
+    if (rule == null || !isCompressible(headers)) {
+      return super.writeWith(body);
+    }
+
+    headers.remove(HttpHeaders.CONTENT_LENGTH);
+    headers.set(HttpHeaders.CONTENT_ENCODING, coding.token());
+    varyOnAcceptEncoding(headers);
+    String etag = headers.getETag();
+    if (etag != null && !etag.startsWith("W/")) {
+      headers.setETag("W/" + etag);
+    }
+
+    StreamCompressor compressor = pool.open(coding, rule);
+    Flux<DataBuffer> compressed = Flux.<DataBuffer>from(body)
+            .<DataBuffer>handle((buffer, sink) -> {
+              byte[] output = compress(compressor, buffer);
+              if (output.length > 0) {
+                sink.next(bufferFactory().wrap(output));
+              }
+            })
+            .concatWith(Mono.fromSupplier(() -> bufferFactory().wrap(finish(compressor))))
+            .doOnComplete(() -> onCompressed.accept(new CompressionStats(coding, bytesIn, bytesOut, cpuNanos)))
+            .doFinally(signal -> compressor.close());
+
+    return super.writeWith(compressed);
+  }
+
+  @Override
+  public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+    return writeWith(Flux.from(body).concatMap(Flux::from));
+  }
+
+  private byte[] compress(StreamCompressor compressor, DataBuffer buffer) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(buffer.readableByteCount() / 4 + 64);
+    long start = cpuTime();
+    try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+      bytesIn += buffer.readableByteCount();
+      while (chunks.hasNext()) {
+        compressor.compress(chunks.next(), output);
+      }
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+    cpuNanos += cpuTime() - start;
+    bytesOut += output.size();
+    return output.toByteArray();
+  }
+
+  private byte[] finish(StreamCompressor compressor) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(64);
+    long start = cpuTime();
+    compressor.finish(output);
+    cpuNanos += cpuTime() - start;
+    bytesOut += output.size();
+    return output.toByteArray();
+  }
+
+  private boolean isCompressible(HttpHeaders headers) {
+    HttpStatusCode status = getStatusCode();
+    if (status != null && (status.is1xxInformational() || status.value() == HttpStatus.NO_CONTENT.value()
+            || status.value() == HttpStatus.NOT_MODIFIED.value())) {
+      return false;
+    }
+
+    String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+    if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+      return false;
+    }
+
+    String cacheControl = headers.getCacheControl();
+    if (cacheControl != null && cacheControl.toLowerCase().contains("no-transform")) {
+      return false;
+    }
+
+    long contentLength = headers.getContentLength();
+    return contentLength < 0 || contentLength >= minSize;
+  }
+
+  private static void varyOnAcceptEncoding(HttpHeaders headers) {
+    for (String vary : headers.getVary()) {
+      if (vary.equals("*") || vary.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+        return;
+      }
+    }
+    headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  private static long cpuTime() {
+    return THREAD_CPU_TIME ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+  }
+
+  /** Totals of one compressed response. */
+  record CompressionStats(ContentCoding coding, long bytesIn, long bytesOut, long cpuNanos) {
+  }
+}
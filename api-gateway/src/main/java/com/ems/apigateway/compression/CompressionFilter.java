@@ -0,0 +1,90 @@
+package com.ems.apigateway.compression;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses responses of the configured routes with gzip or brotli, whichever
+ * the client prefers. Downstream services are always asked for an uncompressed
+ * body, so responses cached or shared by the filters behind this one can be
+ * encoded for each client separately.
+ */
+@Component
+public class CompressionFilter implements GatewayFilter {
+  private final CompressionProperties properties;
+  private final CompressorPool pool;
+  private final MeterRegistry meterRegistry;
+  private final List<MediaTypeRule> rules;
+
+  public CompressionFilter(CompressionProperties properties, CompressorPool pool, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.pool = pool;
+    this.meterRegistry = meterRegistry;
+    this.rules = properties.contentTypes().stream()
+            .map(rule -> new MediaTypeRule(MediaType.parseMediaType(rule.mediaType()), rule))
+            .toList();
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    if (!properties.enabled() || route == null || !properties.routes().contains(route.getId())
+            || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+      return chain.filter(exchange);
+    }
+
+    String acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+    ContentCoding coding = ContentCoding.negotiate(acceptEncoding, pool.brotliAvailable());
+
+    ServerWebExchange.Builder mutated = exchange.mutate()
+            .request(request -> request.headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING)));
+    if (coding != null) {
+      mutated.response(new CompressingResponseDecorator(
+              exchange.getResponse(),
+              coding,
+              this::ruleFor,
+              properties.minResponseSize().toBytes(),
+              pool,
+              stats -> record(route.getId(), stats)
+      ));
+    }
+
+    return chain.filter(mutated.build());
+  }
+
+  private CompressionProperties.ContentTypeRule ruleFor(MediaType contentType) {
+    for (MediaTypeRule rule : rules) {
+      if (rule.mediaType().includes(contentType)) {
+        return rule.settings();
+      }
+    }
+    return null;
+  }
+
+  private void record(String routeId, CompressingResponseDecorator.CompressionStats stats) {
+    String encoding = stats.coding().token();
+    meterRegistry.counter("gateway.compression.bytes.in", "route", routeId, "encoding", encoding)
+            .increment(stats.bytesIn());
+    meterRegistry.counter("gateway.compression.bytes.out", "route", routeId, "encoding", encoding)
+            .increment(stats.bytesOut());
+    meterRegistry.counter("gateway.compression.bytes.saved", "route", routeId, "encoding", encoding)
+            .increment(Math.max(0, stats.bytesIn() - stats.bytesOut()));
+    meterRegistry.timer("gateway.compression.cpu.time", "route", routeId, "encoding", encoding)
+            .record(stats.cpuNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private record MediaTypeRule(MediaType mediaType, CompressionProperties.ContentTypeRule settings) {
+  }
+}
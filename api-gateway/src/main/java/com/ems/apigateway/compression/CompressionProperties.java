@@ -0,0 +1,36 @@
+package com.ems.apigateway.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Response compression of the routes in {@code routes}. Only responses whose
+ * content type matches one of {@code contentTypes} are compressed, with the
+ * settings of the first rule that matches. Responses that declare a length below
+ * {@code minResponseSize} are sent as they are.
+ */
+@ConfigurationProperties(prefix = "application.gateway.compression")
+public record CompressionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1KB") DataSize minResponseSize,
+        @DefaultValue("64") int maxIdleCompressors,
+        @DefaultValue Set<String> routes,
+        @DefaultValue List<ContentTypeRule> contentTypes
+) {
+
+  /**
+   * Settings for responses of {@code mediaType}, which may be a wildcard such as
+   * {@code text/*}. {@code gzipLevel} ranges from 1 to 9, {@code brotliQuality}
+   * from 0 to 11.
+   */
+  public record ContentTypeRule(
+          String mediaType,
+          @DefaultValue("6") int gzipLevel,
+          @DefaultValue("4") int brotliQuality
+  ) {
+  }
+}
@@ -0,0 +1,81 @@
+package com.ems.apigateway.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Hands out compressors for response bodies. {@link Deflater}s own native zlib
+ * memory that is costly to set up, so finished ones are reset and kept per level,
+ * up to {@code maxIdleCompressors} each, instead of being thrown away.
+ */
+@Component
+public class CompressorPool {
+  private static final Logger logger = LoggerFactory.getLogger(CompressorPool.class);
+
+  private final int maxIdle;
+  private final boolean brotliAvailable;
+  private final Map<Integer, Queue<Deflater>> idleDeflaters = new ConcurrentHashMap<>();
+
+  public CompressorPool(CompressionProperties properties, MeterRegistry meterRegistry) {
+    this.maxIdle = properties.maxIdleCompressors();
+    this.brotliAvailable = loadBrotli();
+
+    Gauge.builder("gateway.compression.pool.idle", idleDeflaters,
+                    pools -> pools.values().stream().mapToInt(Queue::size).sum())
+            .description("Idle gzip compressors kept for reuse")
+            .register(meterRegistry);
+  }
+
+  public boolean brotliAvailable() {
+    return brotliAvailable;
+  }
+
+  StreamCompressor open(ContentCoding coding, CompressionProperties.ContentTypeRule rule) {
+    return switch (coding) {
+      case GZIP -> {
+        int level = rule.gzipLevel();
+        yield new GzipCompressor(borrowDeflater(level), deflater -> returnDeflater(level, deflater));
+      }
+      case BROTLI -> new BrotliCompressor(rule.brotliQuality());
+    };
+  }
+
+  private Deflater borrowDeflater(int level) {
+    Deflater deflater = pool(level).poll();
+    return deflater != null ? deflater : new Deflater(level, true);
+  }
+
+  private void returnDeflater(int level, Deflater deflater) {
+    deflater.reset();
+    if (!pool(level).offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  private Queue<Deflater> pool(int level) {
+    return idleDeflaters.computeIfAbsent(level, l -> new ArrayBlockingQueue<>(maxIdle));
+  }
+
+  private static boolean loadBrotli() {
+    try {
+      if (Brotli4jLoader.isAvailable()) {
+        return true;
+      }
+      logger.warn("Brotli is unavailable on this platform, responses will only be gzip-compressed",
+              Brotli4jLoader.getUnavailabilityCause());
+    } catch (LinkageError e) {
+      logger.warn("Brotli is unavailable on this platform, responses will only be gzip-compressed", e);
+    }
+    return false;
+  }
+}
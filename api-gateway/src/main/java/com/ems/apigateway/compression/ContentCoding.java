@@ -0,0 +1,69 @@
+package com.ems.apigateway.compression;
+
+/**
+ * Content codings the gateway can produce, in order of preference when a client
+ * accepts several of them with the same weight.
+ */
+public enum ContentCoding {
+  BROTLI("br"),
+  GZIP("gzip");
+
+  private final String token;
+
+  ContentCoding(String token) {
+    this.token = token;
+  }
+
+  public String token() {
+    return token;
+  }
+
+  /**
+   * Picks the coding to answer an {@code Accept-Encoding} header with, or
+   * {@code null} when the client accepts none that the gateway offers.
+   */
+  public static ContentCoding negotiate(String acceptEncoding, boolean brotliAvailable) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return null;
+    }
+
+    double brotli = -1;
+    double gzip = -1;
+    double wildcard = -1;
+    for (String element : acceptEncoding.split(",")) {
+      int semicolon = element.indexOf(';');
+      String coding = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+      double weight = semicolon < 0 ? 1 : weight(element.substring(semicolon + 1));
+
+      if (coding.equalsIgnoreCase(BROTLI.token)) {
+        brotli = weight;
+      } else if (coding.equalsIgnoreCase(GZIP.token) || coding.equalsIgnoreCase("x-gzip")) {
+        gzip = weight;
+      } else if (coding.equals("*")) {
+        wildcard = weight;
+      }
+    }
+
+    brotli = brotliAvailable ? (brotli >= 0 ? brotli : wildcard) : 0;
+    gzip = gzip >= 0 ? gzip : wildcard;
+
+    if (brotli > 0 && brotli >= gzip) {
+      return BROTLI;
+    }
+    return gzip > 0 ? GZIP : null;
+  }
+
+  private static double weight(String parameters) {
+    for (String parameter : parameters.split(";")) {
+      String trimmed = parameter.trim();
+      if (trimmed.length() > 2 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q') && trimmed.charAt(1) == '=') {
+        try {
+          return Double.parseDouble(trimmed.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
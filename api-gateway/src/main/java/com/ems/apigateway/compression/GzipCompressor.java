@@ -0,0 +1,82 @@
+package com.ems.apigateway.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a gzip member around the raw deflate stream of a pooled {@link Deflater}.
+ */
+class GzipCompressor implements StreamCompressor {
+  private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+  private final Deflater deflater;
+  private final Consumer<Deflater> onClose;
+  private final CRC32 crc = new CRC32();
+  private final byte[] scratch = new byte[8192];
+  private boolean headerWritten;
+  private boolean closed;
+
+  GzipCompressor(Deflater deflater, Consumer<Deflater> onClose) {
+    this.deflater = deflater;
+    this.onClose = onClose;
+  }
+
+  @Override
+  public synchronized void compress(ByteBuffer input, ByteArrayOutputStream output) {
+    ensureOpen();
+    writeHeader(output);
+    crc.update(input.duplicate());
+    deflater.setInput(input);
+    while (!deflater.needsInput()) {
+      drain(output);
+    }
+  }
+
+  @Override
+  public synchronized void finish(ByteArrayOutputStream output) {
+    ensureOpen();
+    writeHeader(output);
+    deflater.finish();
+    while (!deflater.finished()) {
+      drain(output);
+    }
+    writeInt(output, (int) crc.getValue());
+    writeInt(output, (int) deflater.getBytesRead());
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      onClose.accept(deflater);
+    }
+  }
+
+  private void drain(ByteArrayOutputStream output) {
+    int length = deflater.deflate(scratch, 0, scratch.length, Deflater.NO_FLUSH);
+    output.write(scratch, 0, length);
+  }
+
+  private void writeHeader(ByteArrayOutputStream output) {
+    if (!headerWritten) {
+      headerWritten = true;
+      output.writeBytes(HEADER);
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("Compressor has already been closed");
+    }
+  }
+
+  private static void writeInt(ByteArrayOutputStream output, int value) {
+    output.write(value);
+    output.write(value >>> 8);
+    output.write(value >>> 16);
+    output.write(value >>> 24);
+  }
+}
@@ -0,0 +1,20 @@
+package com.ems.apigateway.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses one response body chunk by chunk. Output may lag behind input, so a
+ * chunk can produce no bytes at all; everything still buffered is written by
+ * {@link #finish}. {@link #close} must always be called, also when the body is
+ * abandoned, so pooled resources go back to their pool.
+ */
+interface StreamCompressor extends AutoCloseable {
+
+  void compress(ByteBuffer input, ByteArrayOutputStream output);
+
+  void finish(ByteArrayOutputStream output);
+
+  @Override
+  void close();
+}
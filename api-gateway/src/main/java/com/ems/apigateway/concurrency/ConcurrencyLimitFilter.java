@@ -0,0 +1,144 @@
+package com.ems.apigateway.concurrency;
+
+import com.ems.apigateway.metrics.RequestTimings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the requests in flight on each configured route with an adaptive
+ * {@link VegasLimit}. Requests over the cap are answered with 503 straight away
+ * instead of queueing behind a slow service. Low-priority traffic is shed first.
+ *
+ * <p>The limit learns from the time requests spent waiting on the service, as
+ * recorded in {@link RequestTimings}, rather than from the time spent in the rest
+ * of the chain. Cache hits, coalesced followers and the delays of fault injection
+ * would otherwise pass for a fast or slow service. Requests that never reached the
+ * service just give their slot back. The filter starts the timing itself, so the
+ * limit keeps learning whether or not latency metrics are collected.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GatewayFilter {
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+  private static final byte[] SERVICE_UNAVAILABLE_BODY =
+          "{\"error\":\"Service Unavailable\",\"message\":\"Too many concurrent requests, retry shortly\"}"
+                  .getBytes(StandardCharsets.UTF_8);
+
+  private final ConcurrencyLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final List<RequestPriority.Rule> criticalRules;
+  private final List<RequestPriority.Rule> lowPriorityRules;
+  private final ConcurrentHashMap<String, VegasLimit> limits = new ConcurrentHashMap<>();
+
+  public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.criticalRules = RequestPriority.Rule.parseAll(properties.criticalPaths());
+    this.lowPriorityRules = RequestPriority.Rule.parseAll(properties.lowPriorityPaths());
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    ConcurrencyLimitProperties.RouteLimit routeLimit = route != null ? properties.routes().get(route.getId()) : null;
+
+    if (!properties.enabled() || routeLimit == null) {
+      return chain.filter(exchange);
+    }
+
+    VegasLimit limit = limits.computeIfAbsent(route.getId(), routeId -> newLimit(routeId, routeLimit));
+    RequestPriority priority = priority(exchange.getRequest());
+
+    if (!limit.tryAcquire(share(priority))) {
+      logger.debug("Shedding {} request to route {} at limit {}", priority, route.getId(), limit.limit());
+      meterRegistry.counter("gateway.concurrency.rejected",
+              "route", route.getId(), "priority", priority.name().toLowerCase()).increment();
+      return handleServiceUnavailable(exchange);
+    }
+
+    RequestTimings.track(exchange);
+    return chain.filter(exchange)
+            .doFinally(signal -> {
+              long downstreamNanos = RequestTimings.downstreamNanosOf(exchange);
+              if (signal == SignalType.CANCEL || downstreamNanos < 0) {
+                limit.release();
+                return;
+              }
+              HttpStatusCode status = exchange.getResponse().getStatusCode();
+              boolean dropped = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+              limit.onSample(downstreamNanos, dropped, System.nanoTime());
+            });
+  }
+
+  private VegasLimit newLimit(String routeId, ConcurrencyLimitProperties.RouteLimit routeLimit) {
+    VegasLimit limit = new VegasLimit(
+            routeLimit.initialLimit(),
+            routeLimit.minLimit(),
+            routeLimit.maxLimit(),
+            properties.probeInterval().toNanos(),
+            System.nanoTime()
+    );
+
+    Gauge.builder("gateway.concurrency.limit", limit, VegasLimit::limit)
+            .tag("route", routeId)
+            .register(meterRegistry);
+    Gauge.builder("gateway.concurrency.in-flight", limit, VegasLimit::inFlight)
+            .tag("route", routeId)
+            .register(meterRegistry);
+    return limit;
+  }
+
+  private RequestPriority priority(ServerHttpRequest request) {
+    for (RequestPriority.Rule rule : criticalRules) {
+      if (rule.matches(request)) {
+        return RequestPriority.CRITICAL;
+      }
+    }
+    for (RequestPriority.Rule rule : lowPriorityRules) {
+      if (rule.matches(request)) {
+        return RequestPriority.LOW;
+      }
+    }
+    return RequestPriority.NORMAL;
+  }
+
+  private double share(RequestPriority priority) {
+    return switch (priority) {
+      case CRITICAL -> properties.criticalShare();
+      case NORMAL -> 1.0;
+      case LOW -> properties.lowPriorityShare();
+    };
+  }
+
+  private Mono<Void> handleServiceUnavailable(ServerWebExchange exchange) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(SERVICE_UNAVAILABLE_BODY.length);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+
+    DataBuffer buffer = response.bufferFactory().wrap(SERVICE_UNAVAILABLE_BODY);
+
+    return response.writeWith(Mono.just(buffer));
+  }
+}
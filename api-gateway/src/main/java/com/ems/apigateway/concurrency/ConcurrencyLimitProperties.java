@@ -0,0 +1,39 @@
+package com.ems.apigateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of {@link ConcurrencyLimitFilter}. Paths are matched against the full
+ * gateway path, including the route prefix. A path can be prefixed with an HTTP
+ * method, for example {@code GET /employee-service/api/employees}.
+ *
+ * <p>Low-priority requests are admitted while in-flight requests stay below
+ * {@code lowPriorityShare} of the limit. Critical requests are admitted up to
+ * {@code criticalShare} of it. Everything else is admitted up to the limit itself.
+ */
+@ConfigurationProperties(prefix = "application.gateway.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Map<String, RouteLimit> routes,
+        @DefaultValue List<String> criticalPaths,
+        @DefaultValue List<String> lowPriorityPaths,
+        @DefaultValue("0.7") double lowPriorityShare,
+        @DefaultValue("1.5") double criticalShare,
+        @DefaultValue("30s") Duration probeInterval
+) {
+
+  /**
+   * Bounds of the adaptive limit of a single route, keyed by route ID in {@link #routes()}.
+   */
+  public record RouteLimit(
+          @DefaultValue("20") int initialLimit,
+          @DefaultValue("5") int minLimit,
+          @DefaultValue("200") int maxLimit
+  ) {
+  }
+}
@@ -0,0 +1,41 @@
+package com.ems.apigateway.concurrency;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+enum RequestPriority {
+  CRITICAL,
+  NORMAL,
+  LOW;
+
+  /**
+   * A configured path, optionally restricted to one method: {@code [METHOD ]/path/pattern}.
+   */
+  record Rule(HttpMethod method, PathPattern pattern) {
+
+    static List<Rule> parseAll(List<String> rules) {
+      return rules.stream().map(Rule::parse).toList();
+    }
+
+    static Rule parse(String rule) {
+      String trimmed = rule.trim();
+      int space = trimmed.indexOf(' ');
+      if (space < 0) {
+        return new Rule(null, PathPatternParser.defaultInstance.parse(trimmed));
+      }
+      return new Rule(
+              HttpMethod.valueOf(trimmed.substring(0, space)),
+              PathPatternParser.defaultInstance.parse(trimmed.substring(space + 1).trim())
+      );
+    }
+
+    boolean matches(ServerHttpRequest request) {
+      return (method == null || method == request.getMethod())
+              && pattern.matches(request.getPath().pathWithinApplication());
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.ems.apigateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one route, adjusted the way TCP Vegas adjusts its window.
+ * The lowest RTT seen stands in for the no-load latency. From it the limiter
+ * estimates how many requests are queued downstream:
+ * {@code limit * (1 - noLoadRtt / rtt)}. A short queue grows the limit and a long
+ * one shrinks it. Failed requests shrink it as well.
+ *
+ * <p>The no-load RTT is re-learned every {@code probeIntervalNanos}. Without that,
+ * a permanent latency increase, such as a slower deployment, would keep the limit
+ * at its minimum forever.
+ */
+class VegasLimit {
+  private final int minLimit;
+  private final int maxLimit;
+  private final long probeIntervalNanos;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile double limit;
+  private long noLoadRttNanos;
+  private long lastProbeNanos;
+
+  VegasLimit(int initialLimit, int minLimit, int maxLimit, long probeIntervalNanos, long now) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.probeIntervalNanos = probeIntervalNanos;
+    this.limit = initialLimit;
+    this.lastProbeNanos = now;
+  }
+
+  /**
+   * Admits a request if fewer than {@code share} times the limit are in flight.
+   * Every admitted request must be followed by exactly one {@link #onSample} or
+   * {@link #release}.
+   */
+  boolean tryAcquire(double share) {
+    double allowed = limit * share;
+    while (true) {
+      int current = inFlight.get();
+      if (current >= allowed) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  void onSample(long rttNanos, boolean dropped, long now) {
+    int inFlightAtSample = inFlight.getAndDecrement();
+    if (rttNanos > 0) {
+      update(rttNanos, dropped, inFlightAtSample, now);
+    }
+  }
+
+  int limit() {
+    return (int) limit;
+  }
+
+  int inFlight() {
+    return inFlight.get();
+  }
+
+  private synchronized void update(long rttNanos, boolean dropped, int inFlightAtSample, long now) {
+    if (now - lastProbeNanos >= probeIntervalNanos) {
+      lastProbeNanos = now;
+      noLoadRttNanos = rttNanos;
+      return;
+    }
+    if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+      noLoadRttNanos = rttNanos;
+      return;
+    }
+
+    double current = limit;
+    double step = Math.max(1, Math.log10(current));
+    double next;
+
+    if (dropped) {
+      next = current - step;
+    } else if (inFlightAtSample * 2 < current) {
+      // The route isn't using the limit it has, so RTT says nothing about a bigger one
+      return;
+    } else {
+      double queued = current * (1 - (double) noLoadRttNanos / rttNanos);
+      if (queued <= step) {
+        next = current + 6 * step;
+      } else if (queued < 3 * step) {
+        next = current + step;
+      } else if (queued > 6 * step) {
+        next = current - step;
+      } else {
+        return;
+      }
+    }
+
+    limit = Math.min(maxLimit, Math.max(minLimit, next));
+  }
+}
@@ -1,5 +1,13 @@
 package com.ems.apigateway.config;
 
+import com.ems.apigateway.cache.ResponseCacheFilter;
+import com.ems.apigateway.coalescing.CoalescingFilter;
+import com.ems.apigateway.compression.CompressionFilter;
+import com.ems.apigateway.concurrency.ConcurrencyLimitFilter;
+import com.ems.apigateway.faultinjection.FaultInjectionFilter;
+import com.ems.apigateway.hedging.HedgingFilter;
+import com.ems.apigateway.ratelimit.RateLimitFilter;
+import com.ems.apigateway.routing.RouteHttpClientRoutingFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -13,16 +21,43 @@ import java.util.List;
 @Configuration
 public class GatewayConfig {
   @Bean
-  public RouteLocator customRoutesLocator(RouteLocatorBuilder builder) {
+  public RouteLocator customRoutesLocator(
+          RouteLocatorBuilder builder,
+          RateLimitFilter rateLimitFilter,
+          ConcurrencyLimitFilter concurrencyLimitFilter,
+          FaultInjectionFilter faultInjectionFilter,
+          CompressionFilter compressionFilter,
+          ResponseCacheFilter responseCacheFilter,
+          CoalescingFilter coalescingFilter,
+          HedgingFilter hedgingFilter
+  ) {
     return builder.routes()
             .route("employee-service", r -> r
                     .path("/employee-service/**")
-                    .filters(f -> f.stripPrefix(1))
+                    .filters(f -> f
+                            .filter(rateLimitFilter)
+                            .filter(concurrencyLimitFilter)
+                            .stripPrefix(1)
+                            .filter(faultInjectionFilter)
+                            .filter(compressionFilter)
+                            .filter(responseCacheFilter)
+                            .filter(coalescingFilter)
+                            .filter(hedgingFilter))
+                    .metadata(RouteHttpClientRoutingFilter.HTTP_PROTOCOL_METADATA, RouteHttpClientRoutingFilter.H2C)
                     .uri("lb://employee-service")
             )
             .route("auth-service", r -> r
                     .path("/auth-service/**")
-                    .filters(f -> f.stripPrefix(1))
+                    .filters(f -> f
+                            .filter(rateLimitFilter)
+                            .filter(concurrencyLimitFilter)
+                            .stripPrefix(1)
+                            .filter(faultInjectionFilter)
+                            .filter(compressionFilter)
+                            .filter(responseCacheFilter)
+                            .filter(coalescingFilter)
+                            .filter(hedgingFilter))
+                    .metadata(RouteHttpClientRoutingFilter.HTTP_PROTOCOL_METADATA, RouteHttpClientRoutingFilter.H2C)
                     .uri("lb://auth-service")
             )
             .build();
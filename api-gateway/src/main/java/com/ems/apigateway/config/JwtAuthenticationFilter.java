@@ -1,115 +1,151 @@
 package com.ems.apigateway.config;
 
+import com.ems.apigateway.metrics.RequestTimings;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.List;
-import java.util.Set;
+import java.util.Collection;
 
 
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
-  @Value("${application.security.jwt.secret-key}")
-  private String jwtSecret;
-
   private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
-  private final List<String> excludedPaths = Arrays.asList(
-          "/auth-service/api/auth/login",
-//          "/employee-service/api/v1/employee/email",
-          "/actuator"
-  );
+
+  /**
+   * Exchange attribute holding the verified claims of the caller. This filter sets
+   * it for later filters. When it is already present, as for the sub-requests of a
+   * {@code /batch} call, the token is not validated again.
+   */
+  public static final String VERIFIED_CLAIMS_ATTR = JwtAuthenticationFilter.class.getName() + ".verifiedClaims";
+
+  private static final byte[] UNAUTHORIZED_BODY =
+          "{\"error\":\"Unauthorized\",\"message\":\"Invalid or missing token\"}".getBytes(StandardCharsets.UTF_8);
+
+  private static final PathPattern[] EXCLUDED_PATHS = {
+          PathPatternParser.defaultInstance.parse("/auth-service/api/auth/login/**"),
+//          PathPatternParser.defaultInstance.parse("/employee-service/api/v1/employee/email/**"),
+          PathPatternParser.defaultInstance.parse("/actuator/**")
+  };
+
+  private final JwtTokenValidator tokenValidator;
+
+  public JwtAuthenticationFilter(JwtTokenValidator tokenValidator) {
+    this.tokenValidator = tokenValidator;
+  }
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-    String path = exchange.getRequest().getURI().getPath();
+    ServerHttpRequest request = exchange.getRequest();
+
+    if (isExcluded(request.getPath().pathWithinApplication())) {
+      // Nobody is authenticated here, so drop user headers the client sent itself
+      if (!hasUserHeaders(request.getHeaders())) {
+        return chain.filter(exchange);
+      }
+      ServerHttpRequest strippedRequest = request.mutate()
+              .headers(headers -> {
+                headers.remove(UserHttpHeaders.X_EMPLOYEE_ID);
+                headers.remove(UserHttpHeaders.X_EMAIL);
+                headers.remove(UserHttpHeaders.X_EMPLOYEE_ROLE);
+              })
+              .build();
+      return chain.filter(exchange.mutate().request(strippedRequest).build());
+    }
 
-    if (excludedPaths.stream().anyMatch(path::startsWith)) {
-      return chain.filter(exchange);
+    Claims claims;
+    long start = System.nanoTime();
+    try {
+      claims = authenticate(exchange);
+    } catch (JwtRejection rejection) {
+      logger.debug("JWT validation failed: {}", rejection.getMessage());
+      return handleUnauthorized(exchange);
+    } finally {
+      RequestTimings.addJwtValidation(exchange, System.nanoTime() - start);
     }
 
-    return extractToken(exchange)
-            .flatMap(this::validateToken)
-            .flatMap(claims -> {
-              if (claims.getExpiration().before(new Date())) {
-                return Mono.error(new RuntimeException("Expired JWT token"));
-              }
-
-              Object rolesObj = claims.get("role");
-              String roles = "";
-              if (rolesObj instanceof Set<?>) {
-                @SuppressWarnings("unchecked")
-                Set<String> roleList = (Set<String>) rolesObj;
-                roles = String.join(",", roleList);
-              } else if (rolesObj instanceof String) {
-                roles = (String) rolesObj;
-              }
-
-              // Add user info to request headers
-              ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                      .header(UserHttpHeaders.X_EMPLOYEE_ID, claims.getSubject())
-                      .header(UserHttpHeaders.X_EMAIL, String.valueOf(claims.get("email")))
-                      .header(UserHttpHeaders.X_EMPLOYEE_ROLE, roles) //String.valueOf(claims.get("roles")))
-                      .build();
-
-              return chain.filter(exchange.mutate().request(mutatedRequest).build());
+    exchange.getAttributes().put(VERIFIED_CLAIMS_ATTR, claims);
+    String roles = roles(claims.get("role"));
+
+    // Add user info to request headers, replacing anything the client sent under the same names
+    ServerHttpRequest mutatedRequest = request.mutate()
+            .headers(headers -> {
+              headers.set(UserHttpHeaders.X_EMPLOYEE_ID, claims.getSubject());
+              headers.set(UserHttpHeaders.X_EMAIL, String.valueOf(claims.get("email")));
+              headers.set(UserHttpHeaders.X_EMPLOYEE_ROLE, roles);
             })
-            .onErrorResume(throwable -> {
-              logger.error("JWT validation failed: {}", throwable.getMessage());
-              return handleUnauthorized(exchange);
-            });
-  }
+            .build();
 
-  private Mono<String> extractToken(ServerWebExchange exchange) {
-    String authHeader = exchange.getRequest().getHeaders().getFirst("Authorization");
+    return chain.filter(exchange.mutate().request(mutatedRequest).build());
+  }
 
-    if (authHeader != null && authHeader.startsWith("Bearer ")) {
-      return Mono.just(authHeader.substring(7));
+  private Claims authenticate(ServerWebExchange exchange) {
+    Claims verified = exchange.getAttribute(VERIFIED_CLAIMS_ATTR);
+    if (verified != null) {
+      return verified;
     }
-
-    return Mono.error(new RuntimeException("No valid token found"));
+    return tokenValidator.validateBearer(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
   }
 
-  private Mono<Claims> validateToken(String token) {
-    try {
-      Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+  private static boolean isExcluded(PathContainer path) {
+    for (PathPattern pattern : EXCLUDED_PATHS) {
+      if (pattern.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-      Claims claims = Jwts.parserBuilder()
-              .setSigningKey(key)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
+  private static boolean hasUserHeaders(HttpHeaders headers) {
+    return headers.containsKey(UserHttpHeaders.X_EMPLOYEE_ID)
+            || headers.containsKey(UserHttpHeaders.X_EMAIL)
+            || headers.containsKey(UserHttpHeaders.X_EMPLOYEE_ROLE);
+  }
 
-      return Mono.just(claims);
-    } catch (Exception e) {
-      return Mono.error(new RuntimeException("Invalid token: " + e.getMessage()));
+  /**
+   * The {@code role} claim as a comma-separated list, as forwarded in
+   * {@value UserHttpHeaders#X_EMPLOYEE_ROLE}.
+   */
+  public static String roles(Object rolesObj) {
+    if (rolesObj instanceof String role) {
+      return role;
+    }
+    if (rolesObj instanceof Collection<?> roleList) {
+      StringBuilder roles = new StringBuilder();
+      for (Object role : roleList) {
+        if (!roles.isEmpty()) {
+          roles.append(',');
+        }
+        roles.append(role);
+      }
+      return roles.toString();
     }
+    return "";
   }
 
   private Mono<Void> handleUnauthorized(ServerWebExchange exchange) {
     ServerHttpResponse response = exchange.getResponse();
     response.setStatusCode(HttpStatus.UNAUTHORIZED);
-    response.getHeaders().add("Content-Type", "application/json");
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(UNAUTHORIZED_BODY.length);
 
-    String body = "{\"error\":\"Unauthorized\",\"message\":\"Invalid or missing token\"}";
-    DataBuffer buffer = response.bufferFactory().wrap(body.getBytes());
+    DataBuffer buffer = response.bufferFactory().wrap(UNAUTHORIZED_BODY);
 
     return response.writeWith(Mono.just(buffer));
   }
@@ -0,0 +1,16 @@
+package com.ems.apigateway.config;
+
+/**
+ * Reason a request was refused by {@link JwtAuthenticationFilter}. Instances are
+ * shared and carry no stack trace, so rejecting a request costs no allocation.
+ */
+public class JwtRejection extends RuntimeException {
+  public static final JwtRejection MISSING_TOKEN = new JwtRejection("No valid token found");
+  public static final JwtRejection EXPIRED_TOKEN = new JwtRejection("Expired JWT token");
+  public static final JwtRejection INVALID_TOKEN = new JwtRejection("Invalid token");
+  public static final JwtRejection REVOKED_TOKEN = new JwtRejection("Token has been revoked");
+
+  private JwtRejection(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,199 @@
+package com.ems.apigateway.config;
+
+import com.ems.apigateway.revocation.TokenRevocationList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies bearer tokens with a single signing key and parser, and remembers
+ * the claims of verified tokens until their {@code exp} so repeated calls with
+ * the same token skip the HMAC check. Cached or not, a token is refused once it
+ * appears on the {@link TokenRevocationList}.
+ */
+@Component
+public class JwtTokenValidator {
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final byte[] EXP_CLAIM = "\"exp\"".getBytes(StandardCharsets.US_ASCII);
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  });
+
+  private final JwtParser parser;
+  private final Cache<String, Claims> verifiedClaims;
+  private final TokenRevocationList revocationList;
+
+  public JwtTokenValidator(
+          @Value("${application.security.jwt.secret-key}") String jwtSecret,
+          @Value("${application.security.jwt.cache.max-size:10000}") long maxSize,
+          TokenRevocationList revocationList,
+          MeterRegistry meterRegistry
+  ) {
+    this.revocationList = revocationList;
+    this.parser = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+            .build();
+    this.verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new ClaimsExpiry())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt-claims");
+  }
+
+  /**
+   * Validates the token of an {@code Authorization} header value, throwing
+   * {@link JwtRejection#MISSING_TOKEN} when it doesn't carry a bearer token.
+   */
+  public Claims validateBearer(String authorizationHeader) {
+    if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)
+            || authorizationHeader.length() == BEARER_PREFIX.length()) {
+      throw JwtRejection.MISSING_TOKEN;
+    }
+    return validate(authorizationHeader.substring(BEARER_PREFIX.length()));
+  }
+
+  /**
+   * Returns the claims of a token with a valid signature, throwing a
+   * {@link JwtRejection} when it is malformed, tampered, expired, revoked or has
+   * no {@code exp} claim.
+   */
+  public Claims validate(String token) {
+    String key = digest(token);
+    Claims claims = verifiedClaims.getIfPresent(key);
+    if (claims != null) {
+      return checkRevocation(claims);
+    }
+
+    // Expired tokens are the most common rejection, so look at exp before paying for the HMAC
+    long expiration = readExpiration(token);
+    if (expiration >= 0 && TimeUnit.SECONDS.toMillis(expiration) <= System.currentTimeMillis()) {
+      throw JwtRejection.EXPIRED_TOKEN;
+    }
+
+    try {
+      claims = parser.parseClaimsJws(token).getBody();
+    } catch (ExpiredJwtException e) {
+      throw JwtRejection.EXPIRED_TOKEN;
+    } catch (JwtException | IllegalArgumentException e) {
+      throw JwtRejection.INVALID_TOKEN;
+    }
+    // Every token auth-service issues expires, so one without exp was not minted by it
+    if (claims.getExpiration() == null) {
+      throw JwtRejection.INVALID_TOKEN;
+    }
+
+    verifiedClaims.put(key, claims);
+    return checkRevocation(claims);
+  }
+
+  private Claims checkRevocation(Claims claims) {
+    if (revocationList.isRevoked(claims)) {
+      throw JwtRejection.REVOKED_TOKEN;
+    }
+    return claims;
+  }
+
+  /**
+   * Reads the unverified {@code exp} claim (epoch seconds) straight from the payload
+   * segment, returning -1 when the token has none.
+   */
+  static long readExpiration(String token) {
+    int payloadStart = token.indexOf('.') + 1;
+    int payloadEnd = token.indexOf('.', payloadStart);
+    if (payloadStart == 0 || payloadEnd < 0) {
+      throw JwtRejection.INVALID_TOKEN;
+    }
+
+    byte[] payload;
+    try {
+      payload = Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd));
+    } catch (IllegalArgumentException e) {
+      throw JwtRejection.INVALID_TOKEN;
+    }
+
+    int i = indexOf(payload, EXP_CLAIM);
+    if (i < 0) {
+      return -1;
+    }
+
+    i += EXP_CLAIM.length;
+    while (i < payload.length && (payload[i] == ' ' || payload[i] == ':')) {
+      i++;
+    }
+
+    long expiration = 0;
+    int digits = 0;
+    while (i < payload.length && payload[i] >= '0' && payload[i] <= '9' && digits < 18) {
+      expiration = expiration * 10 + (payload[i] - '0');
+      i++;
+      digits++;
+    }
+
+    return digits == 0 ? -1 : expiration;
+  }
+
+  private static int indexOf(byte[] source, byte[] target) {
+    outer:
+    for (int i = 0; i <= source.length - target.length; i++) {
+      for (int j = 0; j < target.length; j++) {
+        if (source[i + j] != target[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  private static String digest(String token) {
+    byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+  }
+
+  private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        return 0;
+      }
+
+      long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.ems.apigateway.config;
+
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class WebClientConfig {
+
+  // Calls lb:// services directly, outside the gateway's route filters
+  @Bean
+  public WebClient loadBalancedWebClient(
+          WebClient.Builder builder,
+          ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction
+  ) {
+    return builder.filter(loadBalancerFunction).build();
+  }
+}
@@ -0,0 +1,154 @@
+package com.ems.apigateway.faultinjection;
+
+import com.ems.apigateway.config.UserHttpHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Degrades the routes configured under {@code application.gateway.fault-injection}
+ * on purpose, to see how timeouts, limits and circuit breakers behave and what it
+ * does to tail latency. A request can be delayed, aborted with an error status,
+ * or have its client connection reset. Every injected fault is counted in
+ * {@code gateway.fault-injection.injected} and named in the
+ * {@code X-Fault-Injected} response header.
+ */
+@Component
+public class FaultInjectionFilter implements GatewayFilter {
+  private static final Logger logger = LoggerFactory.getLogger(FaultInjectionFilter.class);
+  private static final String FAULT_HEADER = "X-Fault-Injected";
+  private static final byte[] ABORT_BODY =
+          "{\"error\":\"Injected fault\",\"message\":\"Request aborted by gateway fault injection\"}"
+                  .getBytes(StandardCharsets.UTF_8);
+
+  private final FaultInjectionProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public FaultInjectionFilter(FaultInjectionProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    FaultInjectionProperties.RouteFaults faults = route != null ? properties.routes().get(route.getId()) : null;
+
+    if (!properties.enabled() || faults == null || !targets(faults, exchange.getRequest())) {
+      return chain.filter(exchange);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Duration delay = random.nextDouble() < faults.delay().probability()
+            ? drawDelay(faults.delay(), random)
+            : Duration.ZERO;
+    Mono<Void> afterDelay = Mono.defer(() -> proceed(route, faults, exchange, chain));
+
+    if (delay.isZero()) {
+      return afterDelay;
+    }
+    count(route, "delay");
+    exchange.getResponse().getHeaders().add(FAULT_HEADER, "delay");
+    return Mono.delay(delay).then(afterDelay);
+  }
+
+  private Mono<Void> proceed(
+          Route route,
+          FaultInjectionProperties.RouteFaults faults,
+          ServerWebExchange exchange,
+          GatewayFilterChain chain
+  ) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (random.nextDouble() < faults.resetProbability() && reset(exchange)) {
+      count(route, "reset");
+      return Mono.empty();
+    }
+    if (random.nextDouble() < faults.abort().probability()) {
+      count(route, "abort");
+      return abort(exchange, faults.abort().status());
+    }
+    return chain.filter(exchange);
+  }
+
+  static Duration drawDelay(FaultInjectionProperties.Delay delay, ThreadLocalRandom random) {
+    long min = delay.min().toNanos();
+    long max = Math.max(min, delay.max().toNanos());
+    long nanos = switch (delay.distribution()) {
+      case FIXED -> delay.mean().toNanos();
+      case UNIFORM -> min == max ? min : random.nextLong(min, max);
+      case EXPONENTIAL -> min + (long) (-Math.log(1 - random.nextDouble()) * delay.mean().toNanos());
+    };
+    return Duration.ofNanos(Math.min(Math.max(nanos, 0), max));
+  }
+
+  private static boolean targets(FaultInjectionProperties.RouteFaults faults, ServerHttpRequest request) {
+    HttpHeaders headers = request.getHeaders();
+    if (!faults.employeeIds().isEmpty() && !faults.employeeIds().contains(headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ID))) {
+      return false;
+    }
+    if (faults.roles().isEmpty()) {
+      return true;
+    }
+    String roles = headers.getFirst(UserHttpHeaders.X_EMPLOYEE_ROLE);
+    if (roles != null) {
+      for (String role : roles.split(",")) {
+        if (faults.roles().contains(role.trim())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Drops the client connection with a TCP reset. Only possible for requests that
+   * arrived over a real connection, so in-process ones such as batch sub-requests
+   * are left alone.
+   */
+  private static boolean reset(ServerWebExchange exchange) {
+    Object nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+    if (!(nativeRequest instanceof Connection connection)) {
+      return false;
+    }
+    logger.debug("Resetting connection for {}", exchange.getRequest().getPath());
+    // A zero linger turns the close into a RST instead of an orderly FIN
+    connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+    connection.channel().close();
+    return true;
+  }
+
+  private static Mono<Void> abort(ServerWebExchange exchange, int status) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatusCode.valueOf(status));
+    response.getHeaders().add(FAULT_HEADER, "abort");
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(ABORT_BODY.length);
+
+    DataBuffer buffer = response.bufferFactory().wrap(ABORT_BODY);
+    return response.writeWith(Mono.just(buffer));
+  }
+
+  private void count(Route route, String fault) {
+    meterRegistry.counter("gateway.fault-injection.injected", "route", route.getId(), "fault", fault).increment();
+  }
+}
@@ -0,0 +1,65 @@
+package com.ems.apigateway.faultinjection;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Faults injected into the routes listed in {@code routes}. This is meant for
+ * load tests on local or staging stacks and stays off unless {@code enabled} is set.
+ */
+@ConfigurationProperties(prefix = "application.gateway.fault-injection")
+public record FaultInjectionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Map<String, RouteFaults> routes
+) {
+
+  /**
+   * Faults of one route, keyed by route ID in {@link #routes()}. When
+   * {@code employeeIds} or {@code roles} are set, only requests from those
+   * identities are affected. Each request first draws its {@code delay}, then
+   * may have its connection reset, or be aborted with {@code abort.status}.
+   */
+  public record RouteFaults(
+          @DefaultValue Set<String> employeeIds,
+          @DefaultValue Set<String> roles,
+          @DefaultValue Delay delay,
+          @DefaultValue Abort abort,
+          @DefaultValue("0") double resetProbability
+  ) {
+  }
+
+  /**
+   * Latency added to a share {@code probability} of requests, drawn from
+   * {@code distribution}:
+   * <ul>
+   *   <li>{@code FIXED} always {@code mean}</li>
+   *   <li>{@code UNIFORM} between {@code min} and {@code max}</li>
+   *   <li>{@code EXPONENTIAL} {@code min} plus an exponential draw with mean
+   *       {@code mean}, capped at {@code max}: mostly small, with a long tail</li>
+   * </ul>
+   */
+  public record Delay(
+          @DefaultValue("0") double probability,
+          @DefaultValue("FIXED") Distribution distribution,
+          @DefaultValue("0ms") Duration min,
+          @DefaultValue("100ms") Duration mean,
+          @DefaultValue("5s") Duration max
+  ) {
+  }
+
+  public record Abort(
+          @DefaultValue("0") double probability,
+          @DefaultValue("503") int status
+  ) {
+  }
+
+  public enum Distribution {
+    FIXED,
+    UNIFORM,
+    EXPONENTIAL
+  }
+}
@@ -0,0 +1,37 @@
+package com.ems.apigateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedges to a share of requests. Every request deposits {@code ratio} of a
+ * token and every hedge withdraws a whole one. At most {@code maxTokens} are banked,
+ * so a quiet period does not buy an unbounded burst of hedges later.
+ */
+class HedgingBudget {
+  private static final long TOKEN = 1000;
+
+  private final long deposit;
+  private final long maxBalance;
+  private final AtomicLong balance = new AtomicLong();
+
+  HedgingBudget(double ratio, int maxTokens) {
+    this.deposit = Math.round(ratio * TOKEN);
+    this.maxBalance = maxTokens * TOKEN;
+  }
+
+  void onRequest() {
+    balance.getAndUpdate(current -> Math.min(maxBalance, current + deposit));
+  }
+
+  boolean tryWithdraw() {
+    while (true) {
+      long current = balance.get();
+      if (current < TOKEN) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - TOKEN)) {
+        return true;
+      }
+    }
+  }
+}
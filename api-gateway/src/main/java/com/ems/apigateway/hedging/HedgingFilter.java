@@ -0,0 +1,311 @@
+package com.ems.apigateway.hedging;
+
+import com.ems.apigateway.http.BufferedResponse;
+import com.ems.apigateway.metrics.RequestTimings;
+import com.ems.apigateway.loadbalancer.InstanceLatencyStats;
+import com.ems.apigateway.routing.RouteHttpClientRoutingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Hedges slow GETs on the routes configured under {@code application.gateway.hedging}.
+ * The first attempt goes to the instance the route's load balancer picks. If it has
+ * not answered within the route's hedge delay, a second attempt goes to the best
+ * other instance the load balancer's instance supplier offers. Whichever answers
+ * first is returned, and the other is cancelled.
+ *
+ * <p>Responses are buffered to pick a winner. A response larger than
+ * {@code maxBodySize} is not hedged: its attempt is abandoned and the request is
+ * routed on its own, which is safe for a GET.
+ *
+ * <p>Hedged requests are sent by this filter rather than by the gateway's routing
+ * filter, so the response is written here and the rest of the chain is skipped.
+ * They go out on the route's own HTTP client, taken from
+ * {@link RouteHttpClientRoutingFilter}, with the same pool, protocol, timeouts and
+ * header filters as the requests it routes.
+ */
+@Component
+public class HedgingFilter implements GatewayFilter {
+  private static final Set<String> NON_FORWARDED_HEADERS = Set.of(
+          HttpHeaders.HOST.toLowerCase(),
+          HttpHeaders.CONTENT_LENGTH.toLowerCase()
+  );
+
+  private final HedgingProperties properties;
+  private final LoadBalancerClientFactory loadBalancerClientFactory;
+  private final InstanceLatencyStats latencyStats;
+  private final RouteHttpClientRoutingFilter routingFilter;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, RouteState> routes;
+
+  public HedgingFilter(
+          HedgingProperties properties,
+          LoadBalancerClientFactory loadBalancerClientFactory,
+          InstanceLatencyStats latencyStats,
+          RouteHttpClientRoutingFilter routingFilter,
+          MeterRegistry meterRegistry
+  ) {
+    this.properties = properties;
+    this.loadBalancerClientFactory = loadBalancerClientFactory;
+    this.latencyStats = latencyStats;
+    this.routingFilter = routingFilter;
+    this.meterRegistry = meterRegistry;
+    this.routes = properties.routes().entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new RouteState(entry.getKey(), entry.getValue())));
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    RouteState state = route != null ? routes.get(route.getId()) : null;
+    ServerHttpRequest request = exchange.getRequest();
+
+    if (!properties.enabled() || state == null || request.getMethod() != HttpMethod.GET
+            || !"lb".equals(route.getUri().getScheme()) || !state.matches(request)) {
+      return chain.filter(exchange);
+    }
+
+    String serviceId = route.getUri().getHost();
+    state.budget.onRequest();
+
+    return Mono.from(loadBalancerClientFactory.getInstance(serviceId).choose())
+            .filter(Response::hasServer)
+            .map(Response::getServer)
+            .flatMap(primary -> {
+              long start = System.nanoTime();
+              Runnable recordDownstream = () -> RequestTimings.addDownstream(exchange, System.nanoTime() - start);
+              return hedge(state, route, primary, exchange)
+                      .doOnTerminate(recordDownstream)
+                      .doOnCancel(recordDownstream);
+            })
+            .flatMap(response -> {
+              ServerWebExchangeUtils.setAlreadyRouted(exchange);
+              return response.writeTo(exchange.getResponse()).thenReturn(true);
+            })
+            .onErrorResume(ResponseTooLargeException.class, error -> {
+              count(state, "too-large");
+              return chain.filter(exchange).thenReturn(true);
+            })
+            // No instance to pick: leave it to the routing filter to report
+            .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+            .then();
+  }
+
+  private Mono<BufferedResponse> hedge(RouteState state, Route route, ServiceInstance primary, ServerWebExchange exchange) {
+    String serviceId = route.getUri().getHost();
+    HttpHeaders headers = forwardedHeaders(exchange);
+    AtomicReference<Throwable> primaryError = new AtomicReference<>();
+    // Either attempt being too large ends the race, as the other one would most likely be too
+    Sinks.One<BufferedResponse> tooLarge = Sinks.one();
+    Mono<BufferedResponse> first = attempt(state, route, primary, headers, exchange)
+            .doOnError(primaryError::set)
+            .doOnError(ResponseTooLargeException.class, tooLarge::tryEmitError);
+
+    Mono<BufferedResponse> second = Mono.delay(state.delay())
+            .flatMap(tick -> instanceSupplier(serviceId).get().next())
+            .flatMap(instances -> {
+              ServiceInstance alternative = alternative(instances, primary);
+              if (alternative == null || !state.budget.tryWithdraw()) {
+                count(state, "skipped");
+                return Mono.empty();
+              }
+              count(state, "sent");
+              return attempt(state, route, alternative, headers, exchange)
+                      .doOnError(ResponseTooLargeException.class, tooLarge::tryEmitError)
+                      .doOnNext(response -> count(state, "won"));
+            });
+
+    return Mono.firstWithSignal(Mono.firstWithValue(first, second), tooLarge.asMono())
+            .onErrorMap(error -> primaryError.get() != null ? primaryError.get() : error);
+  }
+
+  private Mono<BufferedResponse> attempt(
+          RouteState state, Route route, ServiceInstance instance, HttpHeaders headers, ServerWebExchange exchange) {
+    ServerHttpRequest request = exchange.getRequest();
+    URI uri = UriComponentsBuilder.fromUri(instance.getUri())
+            .replacePath(request.getURI().getRawPath())
+            .replaceQuery(request.getURI().getRawQuery())
+            .build(true)
+            .toUri();
+
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      latencyStats.onStart(instance);
+
+      return routingFilter.httpClient(route, exchange)
+              .headers(outbound -> headers.forEach(outbound::set))
+              .get()
+              .uri(uri)
+              .response((response, body) -> {
+                long maxBytes = properties.maxBodySize().toBytes();
+                String contentLength = response.responseHeaders().get(HttpHeaders.CONTENT_LENGTH);
+                if (contentLength != null && Long.parseLong(contentLength) > maxBytes) {
+                  return Mono.error(ResponseTooLargeException.INSTANCE);
+                }
+
+                ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+                return body.asByteArray()
+                        .handle((bytes, sink) -> {
+                          if (buffered.size() + bytes.length > maxBytes) {
+                            sink.error(ResponseTooLargeException.INSTANCE);
+                            return;
+                          }
+                          buffered.write(bytes, 0, bytes.length);
+                        })
+                        .then(Mono.fromSupplier(() -> BufferedResponse.of(
+                                HttpStatusCode.valueOf(response.status().code()), responseHeaders(response, exchange),
+                                buffered.toByteArray())));
+              })
+              .single()
+              .doOnSuccess(response -> {
+                long elapsed = System.nanoTime() - start;
+                state.latency.record(elapsed, TimeUnit.NANOSECONDS);
+                latencyStats.onComplete(instance, elapsed, response != null && response.status().is5xxServerError());
+              })
+              .doOnError(error -> latencyStats.onComplete(instance, System.nanoTime() - start, true))
+              .doOnCancel(() -> latencyStats.onCancel(instance));
+    });
+  }
+
+  /**
+   * The instances the service's load balancer chooses from, so that hedges skip the
+   * instances it would skip too.
+   */
+  private ServiceInstanceListSupplier instanceSupplier(String serviceId) {
+    return loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class)
+            .getIfAvailable(NoopServiceInstanceListSupplier::new);
+  }
+
+  private HttpHeaders forwardedHeaders(ServerWebExchange exchange) {
+    HttpHeaders filtered = HttpHeadersFilter.filterRequest(routingFilter.getHeadersFilters(), exchange);
+    HttpHeaders forwarded = new HttpHeaders();
+    filtered.forEach((name, values) -> {
+      if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+        forwarded.put(name, values);
+      }
+    });
+    return forwarded;
+  }
+
+  private HttpHeaders responseHeaders(HttpClientResponse response, ServerWebExchange exchange) {
+    HttpHeaders headers = new HttpHeaders();
+    response.responseHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+    return HttpHeadersFilter.filter(routingFilter.getHeadersFilters(), headers, exchange, HttpHeadersFilter.Type.RESPONSE);
+  }
+
+  private ServiceInstance alternative(List<ServiceInstance> instances, ServiceInstance primary) {
+    ServiceInstance best = null;
+    double bestScore = Double.MAX_VALUE;
+    for (ServiceInstance instance : instances) {
+      if (instance.getHost().equals(primary.getHost()) && instance.getPort() == primary.getPort()) {
+        continue;
+      }
+      double score = latencyStats.score(instance);
+      if (score < bestScore) {
+        best = instance;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  private void count(RouteState state, String result) {
+    meterRegistry.counter("gateway.hedging.hedges", "route", state.routeId, "result", result).increment();
+  }
+
+  /**
+   * An attempt's response is larger than {@code maxBodySize}. Thrown without a stack
+   * trace, as it only steers the request back to the routing filter.
+   */
+  private static final class ResponseTooLargeException extends RuntimeException {
+    static final ResponseTooLargeException INSTANCE = new ResponseTooLargeException();
+
+    private ResponseTooLargeException() {
+      super("Response too large to hedge", null, false, false);
+    }
+  }
+
+  private class RouteState {
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String routeId;
+    private final HedgingProperties.RouteHedging config;
+    private final List<PathPattern> paths;
+    private final HedgingBudget budget;
+    private final Timer latency;
+    private volatile Duration cachedDelay;
+    private volatile long delayRefreshedAt;
+
+    RouteState(String routeId, HedgingProperties.RouteHedging config) {
+      this.routeId = routeId;
+      this.config = config;
+      this.paths = config.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+      this.budget = new HedgingBudget(config.budget(), 10);
+      this.latency = Timer.builder("gateway.hedging.attempt.duration")
+              .tag("route", routeId)
+              .publishPercentiles(config.percentile())
+              .distributionStatisticExpiry(Duration.ofMinutes(1))
+              .register(meterRegistry);
+    }
+
+    boolean matches(ServerHttpRequest request) {
+      for (PathPattern pattern : paths) {
+        if (pattern.matches(request.getPath().pathWithinApplication())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * The route's percentile latency, recomputed at most once a second since a
+     * histogram snapshot is too costly to take per request.
+     */
+    Duration delay() {
+      long now = System.nanoTime();
+      Duration delay = cachedDelay;
+      if (delay != null && now - delayRefreshedAt < DELAY_REFRESH_NANOS) {
+        return delay;
+      }
+
+      double percentileNanos = latency.takeSnapshot().percentileValues()[0].value(TimeUnit.NANOSECONDS);
+      long clamped = Math.min(config.maxDelay().toNanos(), Math.max(config.minDelay().toNanos(), (long) percentileNanos));
+      delay = Duration.ofNanos(clamped);
+      cachedDelay = delay;
+      delayRefreshedAt = now;
+      return delay;
+    }
+  }
+}
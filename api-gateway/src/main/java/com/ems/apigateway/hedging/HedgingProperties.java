@@ -0,0 +1,40 @@
+package com.ems.apigateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of {@link HedgingFilter}. Responses larger than {@code maxBodySize} are
+ * routed without hedging, since hedged responses are buffered in full.
+ */
+@ConfigurationProperties(prefix = "application.gateway.hedging")
+public record HedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1MB") DataSize maxBodySize,
+        @DefaultValue Map<String, RouteHedging> routes
+) {
+
+  /**
+   * Hedging of a single route, keyed by route ID in {@link #routes()}. Only GETs
+   * whose path, after the route prefix is stripped, matches one of {@code paths}
+   * are hedged.
+   *
+   * <p>A hedge is sent once the first attempt has taken longer than the route's
+   * {@code percentile} latency, clamped to {@code minDelay}..{@code maxDelay}. Each
+   * request earns {@code budget} of a hedge, so at most that share of extra calls is
+   * made over time.
+   */
+  public record RouteHedging(
+          @DefaultValue List<String> paths,
+          @DefaultValue("0.95") double percentile,
+          @DefaultValue("10ms") Duration minDelay,
+          @DefaultValue("1s") Duration maxDelay,
+          @DefaultValue("0.05") double budget
+  ) {
+  }
+}
@@ -0,0 +1,42 @@
+package com.ems.apigateway.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * A fully read downstream response that can be replayed to any number of clients.
+ */
+public record BufferedResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        byte[] body
+) {
+  private static final List<String> NON_REPLAYABLE_HEADERS = List.of(
+          HttpHeaders.CONNECTION,
+          HttpHeaders.TRANSFER_ENCODING,
+          HttpHeaders.SET_COOKIE,
+          HttpHeaders.CONTENT_LENGTH
+  );
+
+  public static BufferedResponse of(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    HttpHeaders replayable = new HttpHeaders();
+    replayable.addAll(headers);
+    NON_REPLAYABLE_HEADERS.forEach(replayable::remove);
+    return new BufferedResponse(status, HttpHeaders.readOnlyHttpHeaders(replayable), body);
+  }
+
+  /**
+   * Writes this response to {@code response}. Headers already set on
+   * {@code response} take precedence over the replayed ones.
+   */
+  public Mono<Void> writeTo(ServerHttpResponse response) {
+    response.setStatusCode(status);
+    headers.forEach(response.getHeaders()::putIfAbsent);
+    response.getHeaders().setContentLength(body.length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+  }
+}
@@ -0,0 +1,107 @@
+package com.ems.apigateway.http;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streams the downstream response to the client unchanged while keeping a copy of
+ * the body. Once the body has been written in full, the copy is handed to
+ * {@code onCaptured}. If the body grows past {@code maxBytes}, or the write fails or is
+ * cancelled, {@code onAbandoned} runs instead.
+ *
+ * <p>The client is sent the downstream buffers themselves. Once the body has grown
+ * past {@code maxBytes}, the copy is dropped and the rest of the body passes
+ * through without being copied.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+  private final long maxBytes;
+  private final Consumer<BufferedResponse> onCaptured;
+  private final Runnable onAbandoned;
+  private ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private boolean overflowed;
+  private boolean finished;
+
+  public CapturingResponseDecorator(
+          ServerHttpResponse delegate,
+          long maxBytes,
+          Consumer<BufferedResponse> onCaptured,
+          Runnable onAbandoned
+  ) {
+    super(delegate);
+    this.maxBytes = maxBytes;
+    this.onCaptured = onCaptured;
+    this.onAbandoned = onAbandoned;
+  }
+
+  @Override
+  public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+    Flux<DataBuffer> captured = Flux.from(body)
+            .map(this::capture)
+            .doOnComplete(this::complete)
+            .doOnError(error -> abandon())
+            .doOnCancel(this::abandon);
+
+    return super.writeWith(captured);
+  }
+
+  @Override
+  public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+    return writeWith(Flux.from(body).concatMap(Flux::from));
+  }
+
+  @Override
+  public Mono<Void> setComplete() {
+    return super.setComplete().doOnSuccess(done -> complete());
+  }
+
+  private DataBuffer capture(DataBuffer buffer) {
+    if (overflowed) {
+      return buffer;
+    }
+
+    int length = buffer.readableByteCount();
+    if (this.body.size() + length > maxBytes) {
+      overflowed = true;
+      this.body = null;
+      return buffer;
+    }
+
+    // Copy without consuming, so the same buffer goes on to the client
+    int readPosition = buffer.readPosition();
+    byte[] bytes = new byte[length];
+    buffer.read(bytes);
+    buffer.readPosition(readPosition);
+    this.body.write(bytes, 0, length);
+    return buffer;
+  }
+
+  private void complete() {
+    if (overflowed) {
+      abandon();
+      return;
+    }
+    if (finished) {
+      return;
+    }
+    finished = true;
+
+    HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+    onCaptured.accept(BufferedResponse.of(status, getHeaders(), body.toByteArray()));
+  }
+
+  private void abandon() {
+    if (!finished) {
+      finished = true;
+      onAbandoned.run();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.ems.apigateway.http;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+/**
+ * A request that never touched the network, for dispatching through the gateway's
+ * own handlers in-process. The body is handed out as heap buffers, which the
+ * gateway's routing filter forwards as is.
+ */
+public class InMemoryServerHttpRequest extends AbstractServerHttpRequest {
+  private final byte[] body;
+  private final InetSocketAddress remoteAddress;
+
+  public InMemoryServerHttpRequest(
+          HttpMethod method,
+          URI uri,
+          HttpHeaders headers,
+          byte[] body,
+          InetSocketAddress remoteAddress
+  ) {
+    super(method, uri, null, headers);
+    this.body = body;
+    this.remoteAddress = remoteAddress;
+  }
+
+  @Override
+  public Flux<DataBuffer> getBody() {
+    if (body.length == 0) {
+      return Flux.empty();
+    }
+    return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+  }
+
+  @Override
+  public InetSocketAddress getRemoteAddress() {
+    return remoteAddress;
+  }
+
+  @Override
+  protected MultiValueMap<String, HttpCookie> initCookies() {
+    return new LinkedMultiValueMap<>();
+  }
+
+  @Override
+  protected SslInfo initSslInfo() {
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getNativeRequest() {
+    return (T) this;
+  }
+}
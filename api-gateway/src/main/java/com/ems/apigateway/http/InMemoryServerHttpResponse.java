@@ -0,0 +1,74 @@
+package com.ems.apigateway.http;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The response side of {@link InMemoryServerHttpRequest}. Whatever is written is
+ * collected in memory and can be read back with {@link #toBufferedResponse()}.
+ */
+public class InMemoryServerHttpResponse extends AbstractServerHttpResponse {
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+  public InMemoryServerHttpResponse() {
+    super(DefaultDataBufferFactory.sharedInstance);
+  }
+
+  public BufferedResponse toBufferedResponse() {
+    HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+    synchronized (body) {
+      return BufferedResponse.of(status, getHeaders(), body.toByteArray());
+    }
+  }
+
+  @Override
+  protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+    return Flux.from(body)
+            .doOnNext(this::append)
+            .then();
+  }
+
+  @Override
+  protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+    return Flux.from(body)
+            .concatMap(Flux::from)
+            .doOnNext(this::append)
+            .then();
+  }
+
+  private void append(DataBuffer buffer) {
+    byte[] bytes = new byte[buffer.readableByteCount()];
+    buffer.read(bytes);
+    DataBufferUtils.release(buffer);
+    synchronized (body) {
+      body.writeBytes(bytes);
+    }
+  }
+
+  @Override
+  protected void applyStatusCode() {
+  }
+
+  @Override
+  protected void applyHeaders() {
+  }
+
+  @Override
+  protected void applyCookies() {
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getNativeResponse() {
+    return (T) this;
+  }
+}
@@ -0,0 +1,115 @@
+package com.ems.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends requests for the same key to the same instance, so that per-instance caches
+ * in the service actually get hits. The key is the {@code keyVariable} of the first
+ * of {@code keyPaths} the request path matches, or else the {@code keyHeader}
+ * header. Keys are placed on a {@link HashRing} with bounded loads, which is
+ * rebuilt whenever discovery reports a different set of instances.
+ *
+ * <p>Requests without a key go to the less busy of two random instances.
+ */
+public class ConsistentHashLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+  private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+  private final InstanceLatencyStats stats;
+  private final LoadBalancerProperties.ConsistentHash config;
+  private final List<PathPattern> keyPaths;
+  private final MeterRegistry meterRegistry;
+  private final String serviceId;
+  private volatile HashRing ring;
+
+  public ConsistentHashLoadBalancer(
+          ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+          InstanceLatencyStats stats,
+          LoadBalancerProperties.ConsistentHash config,
+          MeterRegistry meterRegistry,
+          String serviceId
+  ) {
+    this.supplierProvider = supplierProvider;
+    this.stats = stats;
+    this.config = config;
+    this.keyPaths = config.keyPaths().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+    this.meterRegistry = meterRegistry;
+    this.serviceId = serviceId;
+  }
+
+  @Override
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(instances -> choose(instances, hashKey(request)));
+  }
+
+  private Response<ServiceInstance> choose(List<ServiceInstance> instances, String key) {
+    if (instances.isEmpty()) {
+      return new EmptyResponse();
+    }
+    if (key == null) {
+      count("unkeyed");
+      return new DefaultResponse(lessBusyOfTwo(instances));
+    }
+
+    HashRing current = ring;
+    if (current == null || !current.hasInstances(instances)) {
+      current = new HashRing(instances, config.virtualNodes());
+      ring = current;
+    }
+
+    HashRing.Choice choice = current.choose(HashRing.hash(key), stats::inFlight, config.loadFactor());
+    count(choice.spilledOver() ? "spillover" : "owner");
+    return new DefaultResponse(choice.instance());
+  }
+
+  private String hashKey(Request request) {
+    if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+      return null;
+    }
+    RequestData data = context.getClientRequest();
+
+    if (!keyPaths.isEmpty() && data.getUrl() != null) {
+      PathContainer path = PathContainer.parsePath(data.getUrl().getRawPath());
+      for (PathPattern pattern : keyPaths) {
+        PathPattern.PathMatchInfo match = pattern.matchAndExtract(path);
+        if (match != null && match.getUriVariables().containsKey(config.keyVariable())) {
+          return match.getUriVariables().get(config.keyVariable());
+        }
+      }
+    }
+    return data.getHeaders() != null ? data.getHeaders().getFirst(config.keyHeader()) : null;
+  }
+
+  private ServiceInstance lessBusyOfTwo(List<ServiceInstance> instances) {
+    if (instances.size() == 1) {
+      return instances.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    ServiceInstance a = instances.get(random.nextInt(instances.size()));
+    ServiceInstance b = instances.get(random.nextInt(instances.size()));
+    return stats.inFlight(a) <= stats.inFlight(b) ? a : b;
+  }
+
+  private void count(String result) {
+    meterRegistry.counter("gateway.loadbalancer.consistent-hash", "service", serviceId, "result", result).increment();
+  }
+}
@@ -0,0 +1,9 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = ServiceLoadBalancerConfig.class)
+public class GatewayLoadBalancerConfig {
+}
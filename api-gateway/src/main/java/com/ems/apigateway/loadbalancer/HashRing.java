@@ -0,0 +1,120 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Consistent-hash ring with {@code virtualNodes} points per instance and bounded
+ * loads. A key goes to the instance owning the first point at or after the key's
+ * hash. If that instance already carries more than {@code loadFactor} times the
+ * average load, the key spills over to the next instance along the ring that does
+ * not, so a hot key cannot overload one instance.
+ *
+ * <p>Adding or removing an instance only moves the keys on that instance's points,
+ * about {@code 1/n} of them; every other key stays where it was.
+ */
+class HashRing {
+  private final List<ServiceInstance> instances;
+  private final Set<String> instanceKeys;
+  private final long[] points;
+  private final int[] owners;
+
+  HashRing(List<ServiceInstance> instances, int virtualNodes) {
+    this.instances = List.copyOf(instances);
+    this.instanceKeys = new HashSet<>();
+
+    long[][] entries = new long[instances.size() * virtualNodes][];
+    for (int i = 0; i < instances.size(); i++) {
+      String key = instanceKey(instances.get(i));
+      instanceKeys.add(key);
+      for (int node = 0; node < virtualNodes; node++) {
+        entries[i * virtualNodes + node] = new long[]{hash(key + '#' + node), i};
+      }
+    }
+    Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+    this.points = new long[entries.length];
+    this.owners = new int[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      points[i] = entries[i][0];
+      owners[i] = (int) entries[i][1];
+    }
+  }
+
+  /**
+   * Whether this ring was built from exactly {@code instances}, in any order.
+   */
+  boolean hasInstances(List<ServiceInstance> instances) {
+    if (instances.size() != instanceKeys.size()) {
+      return false;
+    }
+    for (ServiceInstance instance : instances) {
+      if (!instanceKeys.contains(instanceKey(instance))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  Choice choose(long keyHash, ToIntFunction<ServiceInstance> load, double loadFactor) {
+    int[] loads = new int[instances.size()];
+    long totalLoad = 0;
+    for (int i = 0; i < loads.length; i++) {
+      loads[i] = Math.max(0, load.applyAsInt(instances.get(i)));
+      totalLoad += loads[i];
+    }
+    // The request being placed counts towards the load it is measured against
+    double capacity = Math.ceil(loadFactor * (totalLoad + 1) / loads.length);
+
+    int start = Arrays.binarySearch(points, keyHash);
+    if (start < 0) {
+      start = -start - 1;
+    }
+
+    boolean[] visited = new boolean[loads.length];
+    int primary = owners[start % points.length];
+    int remaining = loads.length;
+    for (int i = 0; i < points.length && remaining > 0; i++) {
+      int owner = owners[(start + i) % points.length];
+      if (visited[owner]) {
+        continue;
+      }
+      visited[owner] = true;
+      remaining--;
+      if (loads[owner] + 1 <= capacity) {
+        return new Choice(instances.get(owner), owner != primary);
+      }
+    }
+    return new Choice(instances.get(primary), false);
+  }
+
+  static String instanceKey(ServiceInstance instance) {
+    return instance.getHost() + ':' + instance.getPort();
+  }
+
+  /**
+   * 64-bit FNV-1a, finished with the MurmurHash3 mixer so that similar keys such as
+   * consecutive virtual node names land far apart on the ring.
+   */
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  record Choice(ServiceInstance instance, boolean spilledOver) {
+  }
+}
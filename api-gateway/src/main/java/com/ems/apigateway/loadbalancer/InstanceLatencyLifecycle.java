@@ -0,0 +1,62 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds {@link InstanceLatencyStats} from every load-balanced call. That covers
+ * gateway routes and the load-balanced {@code WebClient}. Gateway requests that
+ * are cancelled are released by {@link LoadBalancerCancelFilter} instead.
+ */
+@Component
+public class InstanceLatencyLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+  private final InstanceLatencyStats stats;
+
+  public InstanceLatencyLifecycle(InstanceLatencyStats stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+    return TimedRequestContext.class.isAssignableFrom(requestContextClass)
+            && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+  }
+
+  @Override
+  public void onStart(Request<Object> request) {
+  }
+
+  @Override
+  public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+    if (lbResponse.hasServer() && request.getContext() instanceof TimedRequestContext context) {
+      context.setRequestStartTime(System.nanoTime());
+      stats.onStart(lbResponse.getServer());
+    }
+  }
+
+  @Override
+  public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+    Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+    if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()
+            || !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context)) {
+      return;
+    }
+    if (context instanceof RequestDataContext data && data.getClientRequest() != null
+            && data.getClientRequest().getAttributes().get(LoadBalancerCancelFilter.RELEASED_ATTR) instanceof AtomicBoolean released
+            && !released.compareAndSet(false, true)) {
+      return;
+    }
+
+    long latencyNanos = System.nanoTime() - context.getRequestStartTime();
+    stats.onComplete(lbResponse.getServer(), latencyNanos,
+            completionContext.status() == CompletionContext.Status.FAILED);
+  }
+}
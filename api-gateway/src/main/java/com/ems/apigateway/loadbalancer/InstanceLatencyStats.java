@@ -0,0 +1,150 @@
+package com.ems.apigateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Response latency and in-flight request count of every instance the gateway has
+ * called. Latency is a time-decayed EWMA, so an instance that was slow a minute ago
+ * is judged by how it behaves now. Instances idle for longer than ten minutes are
+ * forgotten.
+ */
+@Component
+public class InstanceLatencyStats {
+  private final double halfLifeNanos;
+  private final long failurePenaltyNanos;
+  private final Cache<String, InstanceStats> instances = Caffeine.newBuilder()
+          .expireAfterAccess(Duration.ofMinutes(10))
+          .build();
+
+  public InstanceLatencyStats(LoadBalancerProperties properties) {
+    this.halfLifeNanos = properties.latency().halfLife().toNanos();
+    this.failurePenaltyNanos = properties.latency().failurePenalty().toNanos();
+  }
+
+  public void onStart(ServiceInstance instance) {
+    stats(instance).inFlight.incrementAndGet();
+  }
+
+  public void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+    InstanceStats stats = stats(instance);
+    stats.inFlight.decrementAndGet();
+    stats.record(failed ? Math.max(latencyNanos, failurePenaltyNanos) : latencyNanos, System.nanoTime(), halfLifeNanos);
+  }
+
+  /**
+   * Ends a call that was cancelled before it completed, such as the losing attempt
+   * of a hedged request. Its elapsed time says nothing about the instance, so no
+   * latency is recorded.
+   */
+  public void onCancel(ServiceInstance instance) {
+    stats(instance).inFlight.decrementAndGet();
+  }
+
+  /**
+   * Lower is better. The expected wait for a new request: the latency EWMA times
+   * the number of requests already in flight on the instance plus one.
+   *
+   * <p>An instance without a latency sample yet is assumed to be as fast as the
+   * average of the sampled instances of its service, so that it gets its share of
+   * requests without drawing all of them. When no instance of the service has been
+   * sampled, the in-flight count alone decides.
+   */
+  public double score(ServiceInstance instance) {
+    InstanceStats stats = instances.getIfPresent(key(instance));
+    int inFlight = stats != null ? Math.max(0, stats.inFlight.get()) : 0;
+    return expectedLatencyNanos(stats, instance.getServiceId()) * (inFlight + 1);
+  }
+
+  /**
+   * Requests currently in flight on {@code instance}.
+   */
+  public int inFlight(ServiceInstance instance) {
+    InstanceStats stats = instances.getIfPresent(key(instance));
+    return stats != null ? Math.max(0, stats.inFlight.get()) : 0;
+  }
+
+  /**
+   * Current stats grouped by service ID, for the {@code loadbalancer} actuator endpoint.
+   */
+  public Map<String, List<InstanceScore>> snapshot() {
+    Map<String, List<InstanceScore>> snapshot = new TreeMap<>();
+    instances.asMap().forEach((key, stats) -> snapshot
+            .computeIfAbsent(stats.serviceId, serviceId -> new ArrayList<>())
+            .add(new InstanceScore(
+                    stats.address,
+                    stats.ewmaNanos / TimeUnit.MILLISECONDS.toNanos(1),
+                    stats.inFlight.get(),
+                    expectedLatencyNanos(stats, stats.serviceId) * (Math.max(0, stats.inFlight.get()) + 1)
+                            / TimeUnit.MILLISECONDS.toNanos(1)
+            )));
+    return snapshot;
+  }
+
+  private double expectedLatencyNanos(InstanceStats stats, String serviceId) {
+    if (stats != null && stats.sampled()) {
+      return stats.ewmaNanos;
+    }
+
+    // Only unsampled instances pay for the scan, and they stop being unsampled after one call
+    double total = 0;
+    int sampled = 0;
+    for (InstanceStats other : instances.asMap().values()) {
+      if (other.serviceId.equals(serviceId) && other.sampled()) {
+        total += other.ewmaNanos;
+        sampled++;
+      }
+    }
+    return sampled > 0 ? total / sampled : 1;
+  }
+
+  private InstanceStats stats(ServiceInstance instance) {
+    return instances.get(key(instance), key -> new InstanceStats(instance));
+  }
+
+  private static String key(ServiceInstance instance) {
+    return instance.getServiceId() + '/' + instance.getHost() + ':' + instance.getPort();
+  }
+
+  public record InstanceScore(String instance, double latencyMillis, int inFlight, double score) {
+  }
+
+  private static class InstanceStats {
+    private final String serviceId;
+    private final String address;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double ewmaNanos;
+    private volatile boolean sampled;
+    private long lastSampleNanos;
+
+    InstanceStats(ServiceInstance instance) {
+      this.serviceId = instance.getServiceId();
+      this.address = instance.getHost() + ':' + instance.getPort();
+    }
+
+    boolean sampled() {
+      return sampled;
+    }
+
+    synchronized void record(long latencyNanos, long now, double halfLifeNanos) {
+      if (!sampled) {
+        ewmaNanos = latencyNanos;
+        sampled = true;
+      } else {
+        double weight = Math.pow(0.5, (now - lastSampleNanos) / halfLifeNanos);
+        ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+      }
+      lastSampleNanos = now;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over {@link InstanceLatencyStats}: two random instances are
+ * compared and the one with the lower score wins. Comparing a random pair instead of
+ * always taking the best keeps a fleet of gateways from piling onto the same instance.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+  private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+  private final InstanceLatencyStats stats;
+
+  public LatencyAwareLoadBalancer(
+          ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+          InstanceLatencyStats stats
+  ) {
+    this.supplierProvider = supplierProvider;
+    this.stats = stats;
+  }
+
+  @Override
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(this::choose);
+  }
+
+  private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+    if (instances.isEmpty()) {
+      return new EmptyResponse();
+    }
+    if (instances.size() == 1) {
+      return new DefaultResponse(instances.get(0));
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(instances.size());
+    int second = random.nextInt(instances.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    ServiceInstance a = instances.get(first);
+    ServiceInstance b = instances.get(second);
+    return new DefaultResponse(stats.score(a) <= stats.score(b) ? a : b);
+  }
+}
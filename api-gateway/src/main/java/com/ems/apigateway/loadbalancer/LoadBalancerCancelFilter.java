@@ -0,0 +1,54 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Releases the in-flight slot of a load-balanced request that is cancelled, as
+ * when the client disconnects. {@link ReactiveLoadBalancerClientFilter} reports
+ * success and failure to {@link InstanceLatencyLifecycle} but not cancellation,
+ * so without this every aborted request would stay in flight on its instance.
+ *
+ * <p>The request carries a {@link #RELEASED_ATTR} flag, so that a cancellation
+ * racing the completion releases the slot only once.
+ */
+@Component
+public class LoadBalancerCancelFilter implements GlobalFilter, Ordered {
+  static final String RELEASED_ATTR = LoadBalancerCancelFilter.class.getName() + ".released";
+
+  private final InstanceLatencyStats stats;
+
+  public LoadBalancerCancelFilter(InstanceLatencyStats stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    AtomicBoolean released = new AtomicBoolean();
+    exchange.getAttributes().put(RELEASED_ATTR, released);
+
+    return chain.filter(exchange)
+            .doOnCancel(() -> {
+              Response<ServiceInstance> lbResponse =
+                      exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+              if (lbResponse != null && lbResponse.hasServer() && released.compareAndSet(false, true)) {
+                stats.onCancel(lbResponse.getServer());
+              }
+            });
+  }
+
+  @Override
+  public int getOrder() {
+    return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+  }
+}
@@ -0,0 +1,26 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes per-instance latency, in-flight count and score at {@code /actuator/loadbalancer}.
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+public class LoadBalancerEndpoint {
+  private final InstanceLatencyStats stats;
+
+  public LoadBalancerEndpoint(InstanceLatencyStats stats) {
+    this.stats = stats;
+  }
+
+  @ReadOperation
+  public Map<String, List<InstanceLatencyStats.InstanceScore>> instances() {
+    return stats.snapshot();
+  }
+}
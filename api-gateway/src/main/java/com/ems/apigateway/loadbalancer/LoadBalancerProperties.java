@@ -0,0 +1,57 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-balancing settings for {@code lb://} routes. {@code mode} applies to every
+ * service unless {@code services} overrides it for that service ID.
+ */
+@ConfigurationProperties(prefix = "application.gateway.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("round-robin") Mode mode,
+        @DefaultValue Map<String, Mode> services,
+        @DefaultValue Latency latency,
+        @DefaultValue ConsistentHash consistentHash
+) {
+
+  public enum Mode {
+    ROUND_ROBIN,
+    LATENCY,
+    CONSISTENT_HASH
+  }
+
+  /**
+   * Tuning of {@link Mode#LATENCY}. Latency samples lose half their weight every
+   * {@code halfLife}. A failed call counts as at least {@code failurePenalty}.
+   */
+  public record Latency(
+          @DefaultValue("5s") Duration halfLife,
+          @DefaultValue("1s") Duration failurePenalty
+  ) {
+  }
+
+  /**
+   * Tuning of {@link Mode#CONSISTENT_HASH}. Requests are keyed by the
+   * {@code keyVariable} of the first of {@code keyPaths} their path matches, or else
+   * by the {@code keyHeader} header. Each instance gets {@code virtualNodes} points on
+   * the ring; more points spread keys more evenly. No instance takes more than
+   * {@code loadFactor} times the average in-flight load before keys spill over.
+   */
+  public record ConsistentHash(
+          @DefaultValue("X-UserEmployee-Id") String keyHeader,
+          @DefaultValue List<String> keyPaths,
+          @DefaultValue("id") String keyVariable,
+          @DefaultValue("160") int virtualNodes,
+          @DefaultValue("1.25") double loadFactor
+  ) {
+  }
+
+  public Mode modeFor(String serviceId) {
+    return services.getOrDefault(serviceId, mode);
+  }
+}
@@ -0,0 +1,38 @@
+package com.ems.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registered in each service's load-balancer context through
+ * {@link GatewayLoadBalancerConfig}. It is deliberately not a {@code @Configuration}
+ * class, so component scanning does not pull it into the application context.
+ */
+public class ServiceLoadBalancerConfig {
+
+  @Bean
+  public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+          Environment environment,
+          LoadBalancerClientFactory loadBalancerClientFactory,
+          LoadBalancerProperties properties,
+          InstanceLatencyStats stats,
+          MeterRegistry meterRegistry
+  ) {
+    String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    ObjectProvider<ServiceInstanceListSupplier> suppliers =
+            loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+    return switch (properties.modeFor(serviceId)) {
+      case LATENCY -> new LatencyAwareLoadBalancer(suppliers, stats);
+      case CONSISTENT_HASH -> new ConsistentHashLoadBalancer(suppliers, stats, properties.consistentHash(), meterRegistry, serviceId);
+      case ROUND_ROBIN -> new RoundRobinLoadBalancer(suppliers, serviceId);
+    };
+  }
+}
@@ -0,0 +1,117 @@
+package com.ems.apigateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the latency of every routed request into time spent validating the JWT,
+ * waiting on the downstream service, and everything else the gateway does, and
+ * records each, together with the total, as a histogram per route and status class:
+ *
+ * <ul>
+ *   <li>{@code gateway.latency.total} from the first filter until the response is written</li>
+ *   <li>{@code gateway.latency.jwt} validating the bearer token</li>
+ *   <li>{@code gateway.latency.downstream} from sending the request until the
+ *       service's response arrived, for requests that reached a service</li>
+ *   <li>{@code gateway.latency.internal} the remainder: filters, queuing and
+ *       writing the body back</li>
+ * </ul>
+ */
+@Component
+public class LatencyMetricsFilter implements GlobalFilter, Ordered {
+  private final MeterRegistry meterRegistry;
+  private final Duration[] slo;
+  private final Map<String, Map<String, RouteTimers>> timers = new ConcurrentHashMap<>();
+
+  public LatencyMetricsFilter(LatencyMetricsProperties properties, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.slo = properties.slo().toArray(Duration[]::new);
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    RequestTimings timings = RequestTimings.track(exchange);
+    long start = System.nanoTime();
+
+    return chain.filter(exchange)
+            .doFinally(signal -> record(exchange, timings, signal, System.nanoTime() - start));
+  }
+
+  private void record(ServerWebExchange exchange, RequestTimings timings, SignalType signal, long totalNanos) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    if (route == null) {
+      return;
+    }
+
+    RouteTimers routeTimers = timers
+            .computeIfAbsent(route.getId(), id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(statusClass(exchange, signal), status -> new RouteTimers(route.getId(), status));
+
+    long jwtNanos = timings.jwtNanos();
+    long downstreamNanos = timings.downstreamNanos();
+    routeTimers.total.record(totalNanos, TimeUnit.NANOSECONDS);
+    routeTimers.jwt.record(jwtNanos, TimeUnit.NANOSECONDS);
+    if (downstreamNanos >= 0) {
+      routeTimers.downstream.record(downstreamNanos, TimeUnit.NANOSECONDS);
+    }
+    long internalNanos = totalNanos - jwtNanos - Math.max(downstreamNanos, 0);
+    routeTimers.internal.record(Math.max(internalNanos, 0), TimeUnit.NANOSECONDS);
+  }
+
+  private static String statusClass(ServerWebExchange exchange, SignalType signal) {
+    if (signal == SignalType.CANCEL) {
+      return "CANCELLED";
+    }
+    HttpStatusCode status = exchange.getResponse().getStatusCode();
+    if (status == null) {
+      return signal == SignalType.ON_ERROR ? "5xx" : "2xx";
+    }
+    return (status.value() / 100) + "xx";
+  }
+
+  private Timer timer(String name, String description, String routeId, String status) {
+    return Timer.builder(name)
+            .description(description)
+            .tag("route", routeId)
+            .tag("status", status)
+            .serviceLevelObjectives(slo)
+            .register(meterRegistry);
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  private class RouteTimers {
+    private final Timer total;
+    private final Timer jwt;
+    private final Timer downstream;
+    private final Timer internal;
+
+    RouteTimers(String routeId, String status) {
+      this.total = timer("gateway.latency.total", "Time from the first gateway filter until the response is written",
+              routeId, status);
+      this.jwt = timer("gateway.latency.jwt", "Time spent validating the bearer token", routeId, status);
+      this.downstream = timer("gateway.latency.downstream", "Time waiting on the downstream service",
+              routeId, status);
+      this.internal = timer("gateway.latency.internal", "Gateway time outside JWT validation and the downstream call",
+              routeId, status);
+    }
+  }
+}
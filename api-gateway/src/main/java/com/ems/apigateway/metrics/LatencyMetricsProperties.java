@@ -0,0 +1,18 @@
+package com.ems.apigateway.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bucket boundaries of the gateway latency histograms, chosen to line up with
+ * the latency objectives they are checked against.
+ */
+@ConfigurationProperties(prefix = "application.gateway.metrics")
+public record LatencyMetricsProperties(
+        @DefaultValue({"5ms", "10ms", "25ms", "50ms", "100ms", "250ms", "500ms", "1s", "2500ms", "5s"})
+        List<Duration> slo
+) {
+}
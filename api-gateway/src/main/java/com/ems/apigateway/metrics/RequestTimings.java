@@ -0,0 +1,64 @@
+package com.ems.apigateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Time a request has spent in JWT validation and waiting on the downstream
+ * service, collected by the filters doing that work for {@link LatencyMetricsFilter}.
+ * Filters add to it through the static methods, which do nothing when the exchange
+ * isn't being timed, so they stay free of allocation either way. The downstream
+ * time also feeds the concurrency limiter, which starts timing the exchange itself
+ * through {@link #track} so that it does not depend on {@link LatencyMetricsFilter}.
+ */
+public final class RequestTimings {
+  static final String ATTR = RequestTimings.class.getName();
+
+  private volatile long jwtNanos;
+  private volatile long downstreamNanos = -1;
+
+  RequestTimings() {
+  }
+
+  /**
+   * Starts timing {@code exchange} unless it already is, and returns its timings.
+   */
+  public static RequestTimings track(ServerWebExchange exchange) {
+    return (RequestTimings) exchange.getAttributes().computeIfAbsent(ATTR, name -> new RequestTimings());
+  }
+
+  public static void addJwtValidation(ServerWebExchange exchange, long nanos) {
+    RequestTimings timings = exchange.getAttribute(ATTR);
+    if (timings != null) {
+      timings.jwtNanos += nanos;
+    }
+  }
+
+  /**
+   * Records the time from sending the request downstream until its response
+   * arrived. Responses served without a downstream call record nothing.
+   */
+  public static void addDownstream(ServerWebExchange exchange, long nanos) {
+    RequestTimings timings = exchange.getAttribute(ATTR);
+    if (timings != null) {
+      timings.downstreamNanos = Math.max(timings.downstreamNanos, 0) + nanos;
+    }
+  }
+
+  /**
+   * Downstream time of the exchange so far, or -1 when it was never sent
+   * downstream or isn't being timed.
+   */
+  public static long downstreamNanosOf(ServerWebExchange exchange) {
+    RequestTimings timings = exchange.getAttribute(ATTR);
+    return timings != null ? timings.downstreamNanos : -1;
+  }
+
+  long jwtNanos() {
+    return jwtNanos;
+  }
+
+  /** Downstream time, or -1 when the request was never sent downstream. */
+  long downstreamNanos() {
+    return downstreamNanos;
+  }
+}
@@ -0,0 +1,122 @@
+package com.ems.apigateway.ratelimit;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-caller rate limiting. Authenticated requests are keyed by route and the
+ * {@code sub} claim that {@link JwtAuthenticationFilter} verified, and get the limit
+ * of the caller's role. Requests without a token, such as logins, are keyed by the
+ * client address and get the route's {@code limit}. Headers sent by the client are
+ * never trusted for either.
+ */
+@Component
+public class RateLimitFilter implements GatewayFilter {
+  private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+  private static final byte[] TOO_MANY_REQUESTS_BODY =
+          "{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final RateLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, TokenBucket> buckets;
+
+  public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    // Caffeine's map is striped, so callers only contend on their own bucket
+    this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxKeys())
+            .expireAfterAccess(properties.idleTimeout())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway-rate-limit-buckets");
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    RateLimitProperties.RouteLimits routeLimits = route != null ? properties.routes().get(route.getId()) : null;
+    if (!properties.enabled() || routeLimits == null) {
+      return chain.filter(exchange);
+    }
+
+    String caller;
+    RateLimitProperties.Limit limit;
+    Claims claims = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTR);
+    if (claims != null) {
+      caller = "employee:" + claims.getSubject();
+      limit = limitFor(routeLimits, JwtAuthenticationFilter.roles(claims.get("role")));
+    } else {
+      InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+      if (remoteAddress == null) {
+        return chain.filter(exchange);
+      }
+      caller = "address:" + remoteAddress.getHostString();
+      limit = routeLimits.limit();
+    }
+    if (limit == null) {
+      return chain.filter(exchange);
+    }
+
+    long now = System.nanoTime();
+    TokenBucket bucket = buckets.get(route.getId() + '\n' + caller, key -> new TokenBucket(now));
+    long waitNanos = bucket.tryAcquire(now, limit.intervalNanos(), limit.burstSize());
+
+    if (waitNanos == 0) {
+      return chain.filter(exchange);
+    }
+
+    logger.debug("Rate limit exceeded for {} on route {}", caller, route.getId());
+    meterRegistry.counter("gateway.rate-limit.rejected", "route", route.getId()).increment();
+    return handleTooManyRequests(exchange, waitNanos);
+  }
+
+  private static RateLimitProperties.Limit limitFor(RateLimitProperties.RouteLimits routeLimits, String roles) {
+    if (roles != null && !routeLimits.roles().isEmpty()) {
+      for (String role : roles.split(",")) {
+        RateLimitProperties.Limit roleLimit = routeLimits.roles().get(role.trim());
+        if (roleLimit != null) {
+          return roleLimit;
+        }
+      }
+    }
+    return routeLimits.limit();
+  }
+
+  private Mono<Void> handleTooManyRequests(ServerWebExchange exchange, long waitNanos) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(TOO_MANY_REQUESTS_BODY.length);
+    // Retry-After is in whole seconds, so round up rather than invite an immediate retry
+    long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+    DataBuffer buffer = response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY);
+
+    return response.writeWith(Mono.just(buffer));
+  }
+}
@@ -0,0 +1,60 @@
+package com.ems.apigateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "application.gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue Map<String, RouteLimits> routes
+) {
+
+  /**
+   * Limits of a single route, keyed by route ID in {@link #routes()}. A caller gets
+   * the limit of the first of their roles listed in {@code roles}, and the route's
+   * {@code limit} otherwise.
+   */
+  public record RouteLimits(
+          Limit limit,
+          @DefaultValue Map<String, Limit> roles
+  ) {
+  }
+
+  /**
+   * Allows {@code requests} per {@code period} on average, and up to {@code burst}
+   * requests back to back. {@code burst} defaults to {@code requests}. All must be
+   * positive, so that a typo fails the binding instead of blocking or unlimiting
+   * the route.
+   */
+  public record Limit(
+          long requests,
+          @DefaultValue("1s") Duration period,
+          Long burst
+  ) {
+
+    public Limit {
+      if (requests <= 0) {
+        throw new IllegalArgumentException("requests must be positive but was " + requests);
+      }
+      if (period == null || period.isNegative() || period.isZero()) {
+        throw new IllegalArgumentException("period must be positive but was " + period);
+      }
+      if (burst != null && burst <= 0) {
+        throw new IllegalArgumentException("burst must be positive but was " + burst);
+      }
+    }
+
+    long intervalNanos() {
+      return Math.max(1, period.toNanos() / requests);
+    }
+
+    long burstSize() {
+      return burst != null ? burst : requests;
+    }
+  }
+}
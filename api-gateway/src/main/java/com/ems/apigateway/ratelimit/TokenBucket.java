@@ -0,0 +1,40 @@
+package com.ems.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single timestamp, the way GCRA tracks it. The
+ * bucket stores the time at which it will be full again. Each request pushes that
+ * time forward by one emission interval, and the request is refused if the bucket
+ * would then be more than {@code burst} intervals behind the clock.
+ */
+class TokenBucket {
+  private final AtomicLong fullAt;
+
+  TokenBucket(long now) {
+    this.fullAt = new AtomicLong(now);
+  }
+
+  /**
+   * Takes one token.
+   *
+   * @return 0 if the request is allowed, otherwise the number of nanoseconds until a
+   * token becomes available
+   */
+  long tryAcquire(long now, long intervalNanos, long burst) {
+    long tolerance = intervalNanos * burst;
+
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current, now) + intervalNanos;
+      long ahead = next - now;
+
+      if (ahead > tolerance) {
+        return ahead - tolerance;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+}
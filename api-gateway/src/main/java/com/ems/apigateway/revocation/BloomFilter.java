@@ -0,0 +1,77 @@
+package com.ems.apigateway.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over string keys. Lookups are lock-free and allocate
+ * nothing; a key is hashed once and its probe positions are derived from the two
+ * halves of that hash. Keys live in namespaces, so the same value can be added as
+ * both a subject and a token ID without a prefixed copy of the string.
+ */
+class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount << 6;
+    this.hashCount = (int) Math.max(1, Math.round((double) bitCount / n * Math.log(2)));
+  }
+
+  void put(char namespace, String key) {
+    long hash = hash(namespace, key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+    }
+  }
+
+  boolean mightContain(char namespace, String key) {
+    long hash = hash(namespace, key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int hashCount() {
+    return hashCount;
+  }
+
+  long bitCount() {
+    return bitCount;
+  }
+
+  private long index(int combinedHash) {
+    return (combinedHash & 0x7fffffffL) % bitCount;
+  }
+
+  /** FNV-1a over the namespace and key, finished with the MurmurHash3 mixer. */
+  private static long hash(char namespace, String key) {
+    long h = 0xcbf29ce484222325L;
+    h = (h ^ namespace) * 0x100000001b3L;
+    for (int i = 0; i < key.length(); i++) {
+      h = (h ^ key.charAt(i)) * 0x100000001b3L;
+    }
+
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,57 @@
+package com.ems.apigateway.revocation;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumer of the revocation topic. Every gateway instance must see every
+ * revocation, so each one reads the topic from the start in a consumer group of
+ * its own rather than sharing partitions with the other instances.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.gateway.revocation", name = "enabled", havingValue = "true")
+public class RevocationKafkaConfig {
+
+  @Value("${spring.kafka.bootstrap-servers}")
+  private String bootstrapServers;
+
+  @Value("${spring.kafka.consumer.group-id}")
+  private String groupId;
+
+  @Bean
+  public ConsumerFactory<String, TokenRevokedEvent> revocationConsumerFactory() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+    props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+    props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TokenRevokedEvent.class.getName());
+    return new DefaultKafkaConsumerFactory<>(props);
+  }
+
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, TokenRevokedEvent> revocationListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, TokenRevokedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(revocationConsumerFactory());
+    return factory;
+  }
+
+  @Bean
+  public TokenRevocationListener tokenRevocationListener(TokenRevocationList revocationList) {
+    return new TokenRevocationListener(revocationList);
+  }
+}
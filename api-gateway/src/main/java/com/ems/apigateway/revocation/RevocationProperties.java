@@ -0,0 +1,18 @@
+package com.ems.apigateway.revocation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the token revocation list. {@code expectedInsertions} sizes the Bloom
+ * filter so that lookups of tokens that were never revoked give a false positive
+ * at most {@code falsePositiveRate} of the time.
+ */
+@ConfigurationProperties(prefix = "application.gateway.revocation")
+public record RevocationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("token-revoked-topic") String topic,
+        @DefaultValue("100000") int expectedInsertions,
+        @DefaultValue("0.001") double falsePositiveRate
+) {
+}
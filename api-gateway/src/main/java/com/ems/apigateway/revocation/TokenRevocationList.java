@@ -0,0 +1,131 @@
+package com.ems.apigateway.revocation;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revoked before they expire, either one at a time by {@code jti} or all
+ * tokens of a subject issued before a point in time. Every lookup first asks a Bloom
+ * filter, so the common case of a token that was never revoked is answered without
+ * touching the exact entries. Only a filter hit is confirmed against them.
+ *
+ * <p>Entries are forgotten once the tokens they cover have expired. Expired entries
+ * are purged, and the filter rebuilt, whenever the number of insertions since the
+ * last rebuild reaches {@code expectedInsertions}.
+ */
+@Component
+public class TokenRevocationList {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+  private static final char SUBJECT = 's';
+  private static final char TOKEN_ID = 't';
+
+  private final RevocationProperties properties;
+  private final Map<String, SubjectRevocation> subjects = new ConcurrentHashMap<>();
+  private final Map<String, Long> tokenIds = new ConcurrentHashMap<>();
+  private volatile BloomFilter filter;
+  private int insertionsSinceRebuild;
+
+  public TokenRevocationList(RevocationProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.filter = new BloomFilter(properties.expectedInsertions(), properties.falsePositiveRate());
+
+    Gauge.builder("gateway.revocation.entries", subjects, Map::size)
+            .description("Subjects whose earlier tokens are revoked")
+            .tag("type", "subject")
+            .register(meterRegistry);
+    Gauge.builder("gateway.revocation.entries", tokenIds, Map::size)
+            .description("Individually revoked tokens")
+            .tag("type", "token")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Returns whether the token carrying {@code claims} has been revoked. A token
+   * without {@code iat} is treated as revoked when its subject has a revocation.
+   */
+  public boolean isRevoked(Claims claims) {
+    BloomFilter current = filter;
+
+    String tokenId = claims.getId();
+    if (tokenId != null && current.mightContain(TOKEN_ID, tokenId) && tokenIds.containsKey(tokenId)) {
+      return true;
+    }
+
+    String subject = claims.getSubject();
+    if (subject != null && current.mightContain(SUBJECT, subject)) {
+      SubjectRevocation revocation = subjects.get(subject);
+      Date issuedAt = claims.getIssuedAt();
+      return revocation != null
+              && (issuedAt == null || issuedAt.getTime() / 1000 < revocation.notBefore());
+    }
+
+    return false;
+  }
+
+  /**
+   * Records a revocation. Writers are serialised so that none can slip into a filter
+   * that is being replaced; readers never wait on them.
+   */
+  public synchronized void revoke(TokenRevokedEvent event) {
+    long expiresAt = event.expiresAt() != null ? event.expiresAt() : Long.MAX_VALUE;
+    if (expiresAt <= nowSeconds()) {
+      return;
+    }
+
+    if (event.tokenId() != null) {
+      tokenIds.merge(event.tokenId(), expiresAt, Math::max);
+      filter.put(TOKEN_ID, event.tokenId());
+    } else if (event.subject() != null && event.notBefore() != null) {
+      subjects.merge(event.subject(), new SubjectRevocation(event.notBefore(), expiresAt), SubjectRevocation::latest);
+      filter.put(SUBJECT, event.subject());
+    } else {
+      logger.warn("Ignoring revocation without token ID or subject and notBefore: {}", event);
+      return;
+    }
+
+    if (++insertionsSinceRebuild >= properties.expectedInsertions()) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Drops revocations whose tokens have all expired and replaces the filter with
+   * one holding only the remaining entries, sized for at least as many again.
+   */
+  synchronized void rebuild() {
+    long now = nowSeconds();
+    subjects.values().removeIf(revocation -> revocation.expiresAt() <= now);
+    tokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+
+    long entries = (long) subjects.size() + tokenIds.size();
+    BloomFilter rebuilt = new BloomFilter(
+            Math.max(properties.expectedInsertions(), entries * 2),
+            properties.falsePositiveRate()
+    );
+    subjects.keySet().forEach(subject -> rebuilt.put(SUBJECT, subject));
+    tokenIds.keySet().forEach(tokenId -> rebuilt.put(TOKEN_ID, tokenId));
+
+    filter = rebuilt;
+    insertionsSinceRebuild = 0;
+    logger.info("Rebuilt token revocation filter with {} entries", entries);
+  }
+
+  private static long nowSeconds() {
+    return System.currentTimeMillis() / 1000;
+  }
+
+  private record SubjectRevocation(long notBefore, long expiresAt) {
+
+    SubjectRevocation latest(SubjectRevocation other) {
+      return new SubjectRevocation(Math.max(notBefore, other.notBefore), Math.max(expiresAt, other.expiresAt));
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.ems.apigateway.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+
+/**
+ * Feeds revocations published by auth-service and employee-service into the
+ * {@link TokenRevocationList}.
+ */
+public class TokenRevocationListener {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+  private final TokenRevocationList revocationList;
+
+  public TokenRevocationListener(TokenRevocationList revocationList) {
+    this.revocationList = revocationList;
+  }
+
+  @KafkaListener(
+          topics = "${application.gateway.revocation.topic}",
+          containerFactory = "revocationListenerContainerFactory"
+  )
+  public void onTokenRevoked(TokenRevokedEvent event) {
+    logger.debug("Revoking tokens of {} ({})", event.subject(), event.reason());
+    revocationList.revoke(event);
+  }
+}
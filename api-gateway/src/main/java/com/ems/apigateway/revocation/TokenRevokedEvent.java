@@ -0,0 +1,16 @@
+package com.ems.apigateway.revocation;
+
+/**
+ * Revocation published by auth-service and employee-service. It either names a
+ * single token by {@code tokenId}, or every token of {@code subject} issued before
+ * {@code notBefore}. Times are epoch seconds; {@code expiresAt} is when the last
+ * affected token expires and the revocation can be forgotten.
+ */
+public record TokenRevokedEvent(
+        String subject,
+        String tokenId,
+        Long notBefore,
+        Long expiresAt,
+        String reason
+) {
+}
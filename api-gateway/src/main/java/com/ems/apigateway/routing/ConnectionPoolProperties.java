@@ -0,0 +1,42 @@
+package com.ems.apigateway.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "application.gateway.connection-pools")
+public record ConnectionPoolProperties(
+        @DefaultValue Map<String, RoutePool> routes
+) {
+
+  /**
+   * Connection pool of a single route, keyed by route ID in {@link #routes()}. A
+   * route listed here gets its own pool instead of sharing the gateway's, so a slow
+   * service can only exhaust its own connections. Limits apply per remote address.
+   *
+   * <p>For an h2c route, {@code maxConnections} counts HTTP/2 connections, each
+   * carrying up to {@code maxConcurrentStreams} requests at once, so a handful of
+   * connections go a long way. The default of {@code -1} takes the limit the
+   * service announces. Plain HTTP routes ignore {@code maxConcurrentStreams}.
+   *
+   * <p>{@code prewarmConnections} connections are opened to every instance of the
+   * route's service when the gateway starts and when the instance first shows up in
+   * discovery, by sending that many concurrent GETs to {@code prewarmPath}. Those
+   * GETs would share one connection on an h2c route, which is therefore warmed with
+   * a single connection whenever {@code prewarmConnections} is positive.
+   */
+  public record RoutePool(
+          @DefaultValue("50") int maxConnections,
+          @DefaultValue("500") int pendingAcquireMaxCount,
+          @DefaultValue("2s") Duration pendingAcquireTimeout,
+          @DefaultValue("30s") Duration maxIdleTime,
+          @DefaultValue("5m") Duration maxLifeTime,
+          @DefaultValue("-1") long maxConcurrentStreams,
+          @DefaultValue("0") int prewarmConnections,
+          @DefaultValue("/actuator/info") String prewarmPath,
+          @DefaultValue("5s") Duration prewarmTimeout
+  ) {
+  }
+}
@@ -0,0 +1,130 @@
+package com.ems.apigateway.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Opens connections to service instances before user traffic needs them, so the
+ * first requests after a deploy or scale-out don't pay for TCP setup and pool
+ * growth. Runs when the gateway is ready and on every discovery refresh, and warms
+ * each instance of a route with {@code prewarmConnections} the first time it is
+ * seen. Any response counts as a warm connection, whatever its status.
+ *
+ * <p>An h2c route gets a single connection per instance, since concurrent GETs
+ * would all be multiplexed onto it anyway.
+ */
+@Component
+public class ConnectionPrewarmer {
+  private static final Logger logger = LoggerFactory.getLogger(ConnectionPrewarmer.class);
+
+  private final ConnectionPoolProperties properties;
+  private final RouteLocator routeLocator;
+  private final ReactiveDiscoveryClient discoveryClient;
+  private final RouteHttpClients routeHttpClients;
+  private final HttpClient sharedHttpClient;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentHashMap<String, Set<String>> warmedInstances = new ConcurrentHashMap<>();
+
+  public ConnectionPrewarmer(
+          ConnectionPoolProperties properties,
+          RouteLocator routeLocator,
+          ReactiveDiscoveryClient discoveryClient,
+          RouteHttpClients routeHttpClients,
+          HttpClient sharedHttpClient,
+          MeterRegistry meterRegistry
+  ) {
+    this.properties = properties;
+    this.routeLocator = routeLocator;
+    this.discoveryClient = discoveryClient;
+    this.routeHttpClients = routeHttpClients;
+    this.sharedHttpClient = sharedHttpClient;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @EventListener({ApplicationReadyEvent.class, HeartbeatEvent.class})
+  public void prewarm() {
+    routeLocator.getRoutes()
+            .filter(route -> "lb".equals(route.getUri().getScheme()))
+            .flatMap(route -> {
+              ConnectionPoolProperties.RoutePool pool = properties.routes().get(route.getId());
+              if (pool == null || pool.prewarmConnections() <= 0) {
+                return Mono.empty();
+              }
+              return discoveryClient.getInstances(route.getUri().getHost())
+                      .collectList()
+                      .flatMapMany(instances -> prewarmNewInstances(route, pool, instances));
+            })
+            .subscribe(
+                    done -> { },
+                    error -> logger.warn("Connection pre-warming failed: {}", error.getMessage())
+            );
+  }
+
+  private Flux<Void> prewarmNewInstances(Route route, ConnectionPoolProperties.RoutePool pool, List<ServiceInstance> instances) {
+    Set<String> warmed = warmedInstances.computeIfAbsent(route.getId(), routeId -> ConcurrentHashMap.newKeySet());
+    // Forget instances that left, so they are warmed again if they come back
+    warmed.retainAll(instances.stream().map(ConnectionPrewarmer::instanceKey).collect(Collectors.toSet()));
+
+    HttpClient httpClient = routeHttpClients.forRoute(route, sharedHttpClient);
+    return Flux.fromIterable(instances)
+            .filter(instance -> warmed.add(instanceKey(instance)))
+            .flatMap(instance -> prewarm(route, pool, httpClient, instance)
+                    .doOnError(error -> warmed.remove(instanceKey(instance)))
+                    .onErrorResume(error -> Mono.empty()));
+  }
+
+  private Mono<Void> prewarm(
+          Route route,
+          ConnectionPoolProperties.RoutePool pool,
+          HttpClient httpClient,
+          ServiceInstance instance
+  ) {
+    String uri = instance.getUri() + pool.prewarmPath();
+    int connections = RouteHttpClients.isH2c(route) ? 1 : pool.prewarmConnections();
+    long start = System.nanoTime();
+
+    // Concurrent HTTP/1.1 requests each need a connection of their own, so the pool grows to that size
+    return httpClient.warmup()
+            .thenMany(Flux.range(0, connections)
+                    .flatMap(i -> httpClient.get()
+                            .uri(uri)
+                            .responseSingle((response, body) -> body.asByteArray().then()), connections))
+            .then()
+            .timeout(pool.prewarmTimeout())
+            .doOnSuccess(done -> {
+              count(route, "success");
+              logger.info("Pre-warmed {} connections to {} for route {} in {}ms", connections,
+                      instance.getUri(), route.getId(), (System.nanoTime() - start) / 1_000_000);
+            })
+            .doOnError(error -> {
+              count(route, "failure");
+              logger.warn("Pre-warming connections to {} for route {} failed: {}", instance.getUri(),
+                      route.getId(), error.getMessage());
+            });
+  }
+
+  private void count(Route route, String result) {
+    meterRegistry.counter("gateway.connection-pool.prewarm", "route", route.getId(), "result", result).increment();
+  }
+
+  private static String instanceKey(ServiceInstance instance) {
+    return instance.getHost() + ':' + instance.getPort();
+  }
+}
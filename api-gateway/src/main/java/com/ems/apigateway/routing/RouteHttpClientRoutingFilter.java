@@ -0,0 +1,105 @@
+package com.ems.apigateway.routing;
+
+import com.ems.apigateway.metrics.RequestTimings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The gateway's Netty routing filter, with the HTTP client chosen per route. A
+ * route whose {@link #HTTP_PROTOCOL_METADATA} is {@code h2c} talks cleartext HTTP/2
+ * with prior knowledge to its service, multiplexing concurrent requests over a few
+ * connections instead of holding one connection per in-flight request. Any other
+ * route keeps HTTP/1.1.
+ *
+ * <p>Routes may also get a connection pool of their own, see {@link RouteHttpClients}.
+ * The client of each route is built once and reused for as long as the route itself
+ * exists.
+ *
+ * <p>Filters that call a route's service themselves, such as hedging, take the
+ * route's client from {@link #httpClient(Route, ServerWebExchange)} so that their
+ * calls share its pool, protocol and timeouts.
+ */
+public class RouteHttpClientRoutingFilter extends NettyRoutingFilter {
+  public static final String HTTP_PROTOCOL_METADATA = "http-protocol";
+  public static final String H2C = "h2c";
+
+  private final HttpClientProperties properties;
+  private final RouteHttpClients routeHttpClients;
+  private final Cache<Route, HttpClient> routeClients = Caffeine.newBuilder()
+          .weakKeys()
+          .build();
+  private final Cache<Route, HttpClient> timedRouteClients = Caffeine.newBuilder()
+          .weakKeys()
+          .build();
+
+  public RouteHttpClientRoutingFilter(
+          HttpClient httpClient,
+          ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+          HttpClientProperties properties,
+          RouteHttpClients routeHttpClients
+  ) {
+    super(httpClient, headersFiltersProvider, properties);
+    this.properties = properties;
+    this.routeHttpClients = routeHttpClients;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+    if (ServerWebExchangeUtils.isAlreadyRouted(exchange) || requestUrl == null
+            || (!"http".equals(requestUrl.getScheme()) && !"https".equals(requestUrl.getScheme()))) {
+      return super.filter(exchange, chain);
+    }
+
+    // The routing filter completes once the response headers are in; the body is streamed after.
+    // Recorded before the signal travels on, so that the filters up the chain see it.
+    long start = System.nanoTime();
+    Runnable recordDownstream = () -> RequestTimings.addDownstream(exchange, System.nanoTime() - start);
+    return super.filter(exchange, chain)
+            .doOnTerminate(recordDownstream)
+            .doOnCancel(recordDownstream);
+  }
+
+  @Override
+  protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+    return routeClients.get(route, r -> routeHttpClients.forRoute(r, super.getHttpClient(r, exchange)));
+  }
+
+  /**
+   * The client {@code route}'s requests are sent with, with the route's response
+   * timeout applied.
+   */
+  public HttpClient httpClient(Route route, ServerWebExchange exchange) {
+    return timedRouteClients.get(route, r -> {
+      HttpClient httpClient = getHttpClient(r, exchange);
+      Duration responseTimeout = responseTimeout(r);
+      return responseTimeout != null ? httpClient.responseTimeout(responseTimeout) : httpClient;
+    });
+  }
+
+  private Duration responseTimeout(Route route) {
+    Object responseTimeout = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+    if (responseTimeout == null) {
+      return properties.getResponseTimeout();
+    }
+
+    // A negative route timeout turns off the global one
+    long millis = Long.parseLong(responseTimeout.toString());
+    return millis < 0 ? null : Duration.ofMillis(millis);
+  }
+}
@@ -0,0 +1,124 @@
+package com.ems.apigateway.routing;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the HTTP client a route talks to its service with. Routes listed under
+ * {@code application.gateway.connection-pools.routes} get a client on a connection
+ * pool of their own, named {@code gateway-<route>} in the
+ * {@code reactor.netty.connection.provider.*} metrics. Other routes keep the
+ * gateway's shared client. On top of that, a route whose
+ * {@link RouteHttpClientRoutingFilter#HTTP_PROTOCOL_METADATA} is {@code h2c} talks
+ * cleartext HTTP/2.
+ *
+ * <p>A dedicated client is built from {@link HttpClientProperties} the same way as
+ * the shared one for connect timeout, header size, compression and wiretap, and
+ * gets the same {@link HttpClientCustomizer}s.
+ *
+ * <p>An h2c route with a pool of its own gets an HTTP/2 pool: {@code maxConnections}
+ * caps the connections per instance, each carrying up to
+ * {@code maxConcurrentStreams} requests at once, and requests past that wait for a
+ * free stream under {@code pendingAcquireMaxCount} and {@code pendingAcquireTimeout}.
+ */
+@Component
+public class RouteHttpClients implements DisposableBean {
+  private final ConnectionPoolProperties properties;
+  private final HttpClientProperties httpClientProperties;
+  private final List<HttpClientCustomizer> customizers;
+  private final ConcurrentHashMap<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+  public RouteHttpClients(
+          ConnectionPoolProperties properties,
+          HttpClientProperties httpClientProperties,
+          ObjectProvider<HttpClientCustomizer> customizers
+  ) {
+    this.properties = properties;
+    this.httpClientProperties = httpClientProperties;
+    this.customizers = customizers.orderedStream().toList();
+  }
+
+  /**
+   * Returns the client for {@code route}, derived from {@code shared} unless the
+   * route has a pool of its own.
+   */
+  public HttpClient forRoute(Route route, HttpClient shared) {
+    ConnectionPoolProperties.RoutePool pool = properties.routes().get(route.getId());
+    boolean h2c = isH2c(route);
+    HttpClient httpClient = pool != null ? dedicated(route, pool, h2c) : shared;
+
+    if (h2c) {
+      httpClient = httpClient.protocol(HttpProtocol.H2C);
+    }
+    return httpClient;
+  }
+
+  /**
+   * Whether {@code route} talks cleartext HTTP/2, and so multiplexes its requests
+   * over a few connections.
+   */
+  static boolean isH2c(Route route) {
+    return RouteHttpClientRoutingFilter.H2C.equals(route.getMetadata().get(RouteHttpClientRoutingFilter.HTTP_PROTOCOL_METADATA));
+  }
+
+  private HttpClient dedicated(Route route, ConnectionPoolProperties.RoutePool pool, boolean h2c) {
+    ConnectionProvider provider = providers.computeIfAbsent(route.getId(), routeId -> {
+      ConnectionProvider.Builder builder = ConnectionProvider.builder("gateway-" + routeId)
+              .maxConnections(pool.maxConnections())
+              .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+              .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+              .maxIdleTime(pool.maxIdleTime())
+              .maxLifeTime(pool.maxLifeTime())
+              .evictInBackground(pool.maxIdleTime())
+              .metrics(true);
+      if (h2c) {
+        // Without this, the HTTP/2 pool opens connections only as the server's stream limit is reached
+        builder.allocationStrategy(Http2AllocationStrategy.builder()
+                .maxConnections(pool.maxConnections())
+                .maxConcurrentStreams(pool.maxConcurrentStreams())
+                .build());
+      }
+      return builder.build();
+    });
+
+    HttpClient httpClient = HttpClient.create(provider)
+            .compress(httpClientProperties.isCompression())
+            .wiretap(httpClientProperties.isWiretap());
+    if (httpClientProperties.getMaxHeaderSize() != null) {
+      int maxHeaderSize = (int) httpClientProperties.getMaxHeaderSize().toBytes();
+      httpClient = httpClient.httpResponseDecoder(spec -> spec.maxHeaderSize(maxHeaderSize));
+    }
+
+    Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+    Integer connectTimeoutMillis = connectTimeout != null
+            ? Integer.valueOf(connectTimeout.toString())
+            : httpClientProperties.getConnectTimeout();
+    if (connectTimeoutMillis != null) {
+      httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis);
+    }
+
+    for (HttpClientCustomizer customizer : customizers) {
+      httpClient = customizer.customize(httpClient);
+    }
+    return httpClient;
+  }
+
+  @Override
+  public void destroy() {
+    providers.values().forEach(provider -> provider.disposeLater().block(Duration.ofSeconds(5)));
+  }
+}
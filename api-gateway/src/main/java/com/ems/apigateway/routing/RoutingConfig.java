@@ -0,0 +1,40 @@
+package com.ems.apigateway.routing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Replaces the built-in Netty routing filter, which is switched off with
+ * {@code spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled=false},
+ * by {@link RouteHttpClientRoutingFilter}.
+ *
+ * <p>The same switch also drops the {@link NettyWriteResponseFilter} that streams the
+ * downstream response body back to the client, so it is declared here as well.
+ * Without it, proxied responses would come back with their headers but no body.
+ */
+@Configuration
+public class RoutingConfig {
+
+  @Bean
+  public RouteHttpClientRoutingFilter routeHttpClientRoutingFilter(
+          HttpClient httpClient,
+          ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+          HttpClientProperties properties,
+          RouteHttpClients routeHttpClients
+  ) {
+    return new RouteHttpClientRoutingFilter(httpClient, headersFilters, properties, routeHttpClients);
+  }
+
+  @Bean
+  public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties properties) {
+    return new NettyWriteResponseFilter(properties.getStreamingMediaTypes());
+  }
+}
@@ -0,0 +1,85 @@
+package com.ems.apigateway.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Access Log Ring Buffer Unit Tests")
+class AccessLogRingBufferTest {
+
+  @Test
+  @DisplayName("Should refuse records once the buffer is full and accept them again after draining")
+  void shouldRefuseRecordsWhenFull() {
+    // Given
+    AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+
+    // When
+    for (int i = 0; i < 4; i++) {
+      assertThat(publish(buffer, "/api/employees/" + i)).isTrue();
+    }
+
+    // Then
+    assertThat(publish(buffer, "/api/employees/4")).isFalse();
+    assertThat(buffer.drain(slot -> { }, 1)).isEqualTo(1);
+    assertThat(publish(buffer, "/api/employees/4")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should drain records in publication order with unsafe characters replaced")
+  void shouldDrainInOrder() {
+    // Given
+    AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+    publish(buffer, "/api/employees");
+    publish(buffer, "/api/departments?name=\"a b\"");
+
+    // When
+    List<String> targets = new ArrayList<>();
+    buffer.drain(slot -> targets.add(new String(slot.target, 0, slot.targetLength, StandardCharsets.US_ASCII)), 10);
+
+    // Then
+    assertThat(targets).containsExactly("/api/employees", "/api/departments?name=?a?b?");
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should hand every accepted record to the consumer under concurrent publishing")
+  void shouldNotLoseRecordsUnderContention() throws InterruptedException {
+    // Given
+    AccessLogRingBuffer buffer = new AccessLogRingBuffer(1024);
+    AtomicLong accepted = new AtomicLong();
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      producers.add(Thread.ofPlatform().start(() -> {
+        for (int i = 0; i < 50_000; i++) {
+          if (publish(buffer, "/api/employees")) {
+            accepted.incrementAndGet();
+          }
+        }
+      }));
+    }
+
+    // When
+    long drained = 0;
+    while (producers.stream().anyMatch(Thread::isAlive) || buffer.size() > 0) {
+      drained += buffer.drain(slot -> { }, 256);
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    drained += buffer.drain(slot -> { }, Integer.MAX_VALUE);
+
+    // Then
+    assertThat(drained).isEqualTo(accepted.get());
+  }
+
+  private static boolean publish(AccessLogRingBuffer buffer, String target) {
+    return buffer.tryPublish(System.currentTimeMillis(), 1_000, 200, "GET", target,
+            "employee-service", "10.0.0.7", null);
+  }
+}
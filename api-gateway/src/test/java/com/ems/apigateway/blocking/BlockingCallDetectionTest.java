@@ -0,0 +1,205 @@
+package com.ems.apigateway.blocking;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import com.ems.apigateway.config.JwtTokenValidator;
+import com.ems.apigateway.revocation.RevocationProperties;
+import com.ems.apigateway.revocation.TokenRevocationList;
+import com.ems.apigateway.routing.ConnectionPoolProperties;
+import com.ems.apigateway.routing.RouteHttpClientRoutingFilter;
+import com.ems.apigateway.routing.RouteHttpClients;
+import com.ems.apigateway.routing.RoutingConfig;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends requests through the gateway's filters on a Reactor Netty server, so that
+ * they run on its event loop. Under {@code mvn -P blockhound test}, BlockHound is
+ * installed and a blocking call in any of the filters fails the request.
+ */
+@DisplayName("Blocking Call Detection Tests")
+class BlockingCallDetectionTest {
+  private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+  private static final String BODY = "[{\"id\":1,\"firstName\":\"Ada\"}]";
+  private static final boolean DETECTION_ENABLED = Boolean.getBoolean("application.gateway.blocking-detection.enabled");
+
+  private SimpleMeterRegistry meterRegistry;
+  private DisposableServer downstream;
+  private DisposableServer gateway;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    downstream = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/employees", (request, response) ->
+                    response.header("Content-Type", "application/json").sendString(Mono.just(BODY))))
+            .bindNow();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (gateway != null) {
+      gateway.disposeNow();
+    }
+    downstream.disposeNow();
+  }
+
+  @Test
+  @DisplayName("Should proxy an authenticated request on the event loop without blocking it")
+  void shouldProxyWithoutBlocking() {
+    // Given
+    BlockingCallMonitor monitor = DETECTION_ENABLED ? monitor(true) : null;
+    WebTestClient client = startGateway(List.of());
+
+    // When / Then
+    client.get()
+            .uri("/api/employees")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).isEqualTo(BODY);
+    if (monitor != null) {
+      assertThat(monitor.snapshot()).isEmpty();
+    }
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "application.gateway.blocking-detection.enabled", matches = "true")
+  @DisplayName("Should report a filter that blocks the event loop")
+  void shouldReportBlockingFilter() {
+    // Given
+    BlockingCallMonitor monitor = monitor(false);
+    WebTestClient client = startGateway(List.of((exchange, chain) -> {
+      sleep();
+      return chain.filter(exchange);
+    }));
+
+    // When
+    client.get()
+            .uri("/api/employees")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+            .exchange()
+            .expectStatus().isOk();
+
+    // Then
+    assertThat(monitor.snapshot())
+            .singleElement()
+            .satisfies(site -> assertThat(site.site()).startsWith(BlockingCallDetectionTest.class.getName() + "#"));
+  }
+
+  private BlockingCallMonitor monitor(boolean failOnDetection) {
+    return new BlockingCallMonitor(new BlockingCallDetectionProperties(true, failOnDetection, 40, List.of()), meterRegistry);
+  }
+
+  /**
+   * Starts a gateway that runs the JWT, write-response and routing filters, in
+   * their gateway order, with {@code extraFilters} before routing.
+   */
+  private WebTestClient startGateway(List<GatewayFilter> extraFilters) {
+    URI uri = URI.create("http://localhost:" + downstream.port() + "/api/employees");
+    Route route = Route.async()
+            .id("employee-service")
+            .uri(uri)
+            .predicate(exchange -> true)
+            .build();
+
+    List<GatewayFilter> filters = new ArrayList<>();
+    filters.add(jwtFilter()::filter);
+    filters.add(new RoutingConfig().nettyWriteResponseFilter(new GatewayProperties())::filter);
+    filters.addAll(extraFilters);
+    filters.add(routingFilter()::filter);
+
+    gateway = HttpServer.create()
+            .port(0)
+            .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.webHandler(exchange -> {
+              exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+              exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, uri);
+              return chain(filters, 0).filter(exchange);
+            }).build()))
+            .bindNow();
+
+    return WebTestClient.bindToServer()
+            .baseUrl("http://localhost:" + gateway.port())
+            .build();
+  }
+
+  private static GatewayFilterChain chain(List<GatewayFilter> filters, int index) {
+    return exchange -> index < filters.size()
+            ? filters.get(index).filter(exchange, chain(filters, index + 1))
+            : Mono.empty();
+  }
+
+  private JwtAuthenticationFilter jwtFilter() {
+    TokenRevocationList revocationList =
+            new TokenRevocationList(new RevocationProperties(true, "token-revoked-topic", 100, 0.01), meterRegistry);
+    return new JwtAuthenticationFilter(new JwtTokenValidator(SECRET, 100, revocationList, meterRegistry));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RouteHttpClientRoutingFilter routingFilter() {
+    ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+    when(headersFilters.getIfAvailable()).thenReturn(List.of());
+    ObjectProvider<HttpClientCustomizer> customizers = mock(ObjectProvider.class);
+    when(customizers.orderedStream()).thenReturn(Stream.empty());
+
+    HttpClientProperties properties = new HttpClientProperties();
+    RouteHttpClients routeHttpClients = new RouteHttpClients(new ConnectionPoolProperties(Map.of()), properties, customizers);
+    return new RouteHttpClientRoutingFilter(HttpClient.create(), headersFilters, properties, routeHttpClients);
+  }
+
+  private static String token() {
+    return Jwts.builder()
+            .setSubject("employee-id")
+            .claim("email", "john.doe@example.com")
+            .claim("role", "ROLE_EMPLOYEE")
+            .setIssuedAt(new Date())
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.ems.apigateway.blocking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Blocking Call Monitor Unit Tests")
+class BlockingCallMonitorTest {
+
+  @Test
+  @DisplayName("Should attribute a blocking call to the first frame outside the JDK and BlockHound")
+  void shouldFindCallSite() {
+    // Given
+    StackTraceElement[] stack = {
+            new StackTraceElement("com.ems.apigateway.blocking.BlockingCallMonitor", "report", "BlockingCallMonitor.java", 80),
+            new StackTraceElement("reactor.blockhound.BlockHoundRuntime", "checkBlocking", "BlockHoundRuntime.java", 89),
+            new StackTraceElement("java.lang.Thread", "sleep", "Thread.java", 509),
+            new StackTraceElement("com.ems.apigateway.config.JwtAuthenticationFilter", "filter", "JwtAuthenticationFilter.java", 42),
+            new StackTraceElement("reactor.core.publisher.MonoDefer", "subscribe", "MonoDefer.java", 44)
+    };
+
+    // When
+    String site = BlockingCallMonitor.callSite(stack);
+
+    // Then
+    assertThat(site).isEqualTo("com.ems.apigateway.config.JwtAuthenticationFilter#filter:42");
+  }
+
+  @Test
+  @DisplayName("Should report an unknown site when every frame belongs to the JDK")
+  void shouldReportUnknownSite() {
+    // Given
+    StackTraceElement[] stack = {
+            new StackTraceElement("java.io.FileInputStream", "readBytes", null, -2),
+            new StackTraceElement("java.lang.Thread", "run", "Thread.java", 1583)
+    };
+
+    // When / Then
+    assertThat(BlockingCallMonitor.callSite(stack)).isEqualTo("unknown");
+  }
+}
@@ -0,0 +1,113 @@
+package com.ems.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Response Cache Filter Unit Tests")
+class ResponseCacheFilterTest {
+  private static final String ROUTE_ID = "employee-service";
+
+  private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+  @Test
+  @DisplayName("Should serve the stale response when the service answers with a server error")
+  void shouldServeStaleOnServerError() throws InterruptedException {
+    // Given
+    ResponseCacheFilter filter = filter(new ResponseCacheProperties.RouteCache(
+            Duration.ofMillis(1), Duration.ZERO, Duration.ofMinutes(5)));
+    get(filter, downstream(HttpStatus.OK, null, "[\"cached\"]"));
+    Thread.sleep(5);
+
+    // When
+    MockServerWebExchange exchange = get(filter, downstream(HttpStatus.SERVICE_UNAVAILABLE, null, "unavailable"));
+
+    // Then
+    assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE-IF-ERROR");
+    assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(1))).isEqualTo("[\"cached\"]");
+  }
+
+  @Test
+  @DisplayName("Should not cache responses the service marks no-store or private")
+  void shouldNotCacheUncacheableResponses() {
+    // Given
+    ResponseCacheFilter filter = filter(new ResponseCacheProperties.RouteCache(
+            Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO));
+
+    // When
+    get(filter, downstream(HttpStatus.OK, "no-store", "[]"));
+    get(filter, downstream(HttpStatus.OK, "private, max-age=60", "[]"));
+    MockServerWebExchange last = get(filter, downstream(HttpStatus.OK, null, "[]"));
+
+    // Then
+    assertThat(downstreamCalls).hasValue(3);
+    assertThat(last.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+  }
+
+  @Test
+  @DisplayName("Should keep a response fresh no longer than its max-age")
+  void shouldHonorMaxAge() {
+    // Given
+    ResponseCacheFilter filter = filter(new ResponseCacheProperties.RouteCache(
+            Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO));
+
+    // When
+    get(filter, downstream(HttpStatus.OK, "max-age=0", "[]"));
+    get(filter, downstream(HttpStatus.OK, "max-age=60", "[]"));
+    MockServerWebExchange cached = get(filter, downstream(HttpStatus.OK, null, "[]"));
+
+    // Then
+    assertThat(downstreamCalls).hasValue(2);
+    assertThat(cached.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+  }
+
+  private GatewayFilterChain downstream(HttpStatus status, String cacheControl, String body) {
+    return exchange -> {
+      downstreamCalls.incrementAndGet();
+      ServerHttpResponse response = exchange.getResponse();
+      response.setStatusCode(status);
+      if (cacheControl != null) {
+        response.getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+      }
+      return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    };
+  }
+
+  private static MockServerWebExchange get(ResponseCacheFilter filter, GatewayFilterChain chain) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+            .id(ROUTE_ID)
+            .uri("lb://" + ROUTE_ID)
+            .predicate(ignored -> true)
+            .build());
+    filter.filter(exchange, chain).block(Duration.ofSeconds(1));
+    return exchange;
+  }
+
+  private static ResponseCacheFilter filter(ResponseCacheProperties.RouteCache routeCache) {
+    return new ResponseCacheFilter(
+            new ResponseCacheProperties(true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Map.of(ROUTE_ID, routeCache)),
+            mock(WebClient.class),
+            new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,36 @@
+package com.ems.apigateway.compression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Content Coding Negotiation Unit Tests")
+class ContentCodingTest {
+
+  @Test
+  @DisplayName("Should prefer brotli when accepted with the same weight as gzip")
+  void shouldPreferBrotli() {
+    // When & Then
+    assertThat(ContentCoding.negotiate("gzip, deflate, br", true)).isEqualTo(ContentCoding.BROTLI);
+    assertThat(ContentCoding.negotiate("gzip, deflate, br", false)).isEqualTo(ContentCoding.GZIP);
+  }
+
+  @Test
+  @DisplayName("Should honour quality values and wildcards")
+  void shouldHonourQualityValues() {
+    // When & Then
+    assertThat(ContentCoding.negotiate("br;q=0.5, gzip", true)).isEqualTo(ContentCoding.GZIP);
+    assertThat(ContentCoding.negotiate("gzip;q=0, *", true)).isEqualTo(ContentCoding.BROTLI);
+    assertThat(ContentCoding.negotiate("gzip;q=0, br;q=0", true)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should not compress for clients that accept no supported coding")
+  void shouldNotCompressWithoutSupportedCoding() {
+    // When & Then
+    assertThat(ContentCoding.negotiate(null, true)).isNull();
+    assertThat(ContentCoding.negotiate("identity", true)).isNull();
+    assertThat(ContentCoding.negotiate("deflate", true)).isNull();
+  }
+}
@@ -0,0 +1,68 @@
+package com.ems.apigateway.compression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Gzip Compressor Unit Tests")
+class GzipCompressorTest {
+
+  @Test
+  @DisplayName("Should produce a valid gzip stream from chunked input")
+  void shouldProduceValidGzipFromChunks() throws IOException {
+    // Given
+    byte[] body = employeesJson(5_000);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    GzipCompressor compressor = new GzipCompressor(new Deflater(6, true), Deflater::end);
+
+    // When
+    for (int offset = 0; offset < body.length; offset += 8192) {
+      compressor.compress(ByteBuffer.wrap(body, offset, Math.min(8192, body.length - offset)), compressed);
+    }
+    compressor.finish(compressed);
+    compressor.close();
+
+    // Then
+    byte[] decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())).readAllBytes();
+    assertThat(decompressed).isEqualTo(body);
+    assertThat(compressed.size()).isLessThan(body.length / 4);
+  }
+
+  @Test
+  @DisplayName("Should hand its deflater back exactly once and refuse further input")
+  void shouldReturnDeflaterOnce() {
+    // Given
+    List<Deflater> returned = new ArrayList<>();
+    GzipCompressor compressor = new GzipCompressor(new Deflater(6, true), returned::add);
+
+    // When
+    compressor.close();
+    compressor.close();
+
+    // Then
+    assertThat(returned).hasSize(1);
+    assertThatThrownBy(() -> compressor.compress(ByteBuffer.allocate(1), new ByteArrayOutputStream()))
+            .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static byte[] employeesJson(int count) {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < count; i++) {
+      json.append("{\"id\":").append(i).append(",\"firstName\":\"John\",\"lastName\":\"Doe\",\"role\":\"ROLE_EMPLOYEE\"},");
+    }
+    json.setCharAt(json.length() - 1, ']');
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,64 @@
+package com.ems.apigateway.concurrency;
+
+import com.ems.apigateway.metrics.RequestTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Concurrency Limit Filter Unit Tests")
+class ConcurrencyLimitFilterTest {
+  private static final String ROUTE_ID = "employee-service";
+
+  @Test
+  @DisplayName("Should learn from downstream time without the latency metrics filter")
+  void shouldLearnWithoutLatencyMetrics() {
+    // Given
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(
+            true,
+            Map.of(ROUTE_ID, new ConcurrencyLimitProperties.RouteLimit(20, 5, 200)),
+            List.of(),
+            List.of(),
+            0.7,
+            1.5,
+            Duration.ofMinutes(30)
+    ), meterRegistry);
+    GatewayFilterChain failingService = exchange -> {
+      RequestTimings.addDownstream(exchange, TimeUnit.MILLISECONDS.toNanos(10));
+      exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      return Mono.empty();
+    };
+
+    // When
+    filter.filter(exchange(), failingService).block(Duration.ofSeconds(1));
+    filter.filter(exchange(), failingService).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(meterRegistry.get("gateway.concurrency.limit").tag("route", ROUTE_ID).gauge().value()).isLessThan(20);
+    assertThat(meterRegistry.get("gateway.concurrency.in-flight").tag("route", ROUTE_ID).gauge().value()).isZero();
+  }
+
+  private static MockServerWebExchange exchange() {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/employee-service/api/employees"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+            .id(ROUTE_ID)
+            .uri("lb://" + ROUTE_ID)
+            .predicate(ignored -> true)
+            .build());
+    return exchange;
+  }
+}
@@ -0,0 +1,91 @@
+package com.ems.apigateway.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Vegas Limit Unit Tests")
+class VegasLimitTest {
+  private static final long PROBE_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+  private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  @DisplayName("Should shed low-priority requests before normal and critical ones")
+  void shouldShedLowPriorityFirst() {
+    // Given
+    VegasLimit limit = new VegasLimit(10, 1, 100, PROBE_INTERVAL, 0);
+    for (int i = 0; i < 7; i++) {
+      assertThat(limit.tryAcquire(1.0)).isTrue();
+    }
+
+    // When & Then
+    assertThat(limit.tryAcquire(0.7)).isFalse();
+    assertThat(limit.tryAcquire(1.0)).isTrue();
+    assertThat(limit.tryAcquire(1.0)).isTrue();
+    assertThat(limit.tryAcquire(1.0)).isTrue();
+    assertThat(limit.tryAcquire(1.0)).isFalse();
+    assertThat(limit.tryAcquire(1.5)).isTrue();
+    assertThat(limit.inFlight()).isEqualTo(11);
+  }
+
+  @Test
+  @DisplayName("Should raise the limit while latency stays at its no-load level")
+  void shouldGrowWhenLatencyIsFlat() {
+    // Given
+    VegasLimit limit = new VegasLimit(10, 1, 100, PROBE_INTERVAL, 0);
+    fill(limit, 10);
+
+    // When
+    for (int i = 0; i < 5; i++) {
+      limit.onSample(RTT, false, i + 1);
+      limit.tryAcquire(10.0);
+    }
+
+    // Then
+    assertThat(limit.limit()).isGreaterThan(10);
+  }
+
+  @Test
+  @DisplayName("Should lower the limit when latency shows requests queueing downstream")
+  void shouldShrinkWhenLatencyRises() {
+    // Given
+    VegasLimit limit = new VegasLimit(50, 1, 100, PROBE_INTERVAL, 0);
+    fill(limit, 50);
+    limit.onSample(RTT, false, 1);
+
+    // When
+    for (int i = 0; i < 5; i++) {
+      limit.tryAcquire(10.0);
+      limit.onSample(RTT * 4, false, i + 2);
+    }
+
+    // Then
+    assertThat(limit.limit()).isLessThan(50);
+  }
+
+  @Test
+  @DisplayName("Should lower the limit on failed requests and never go below the minimum")
+  void shouldShrinkOnDropsDownToMinimum() {
+    // Given
+    VegasLimit limit = new VegasLimit(5, 3, 100, PROBE_INTERVAL, 0);
+    fill(limit, 5);
+    limit.onSample(RTT, false, 1);
+
+    // When
+    for (int i = 0; i < 4; i++) {
+      limit.onSample(RTT * 2, true, i + 2);
+    }
+
+    // Then
+    assertThat(limit.limit()).isEqualTo(3);
+  }
+
+  private static void fill(VegasLimit limit, int requests) {
+    for (int i = 0; i < requests; i++) {
+      limit.tryAcquire(1.0);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.ems.apigateway.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("JWT Authentication Filter Unit Tests")
+class JwtAuthenticationFilterTest {
+  private final JwtTokenValidator tokenValidator = mock(JwtTokenValidator.class);
+  private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenValidator);
+
+  @Test
+  @DisplayName("Should strip user headers sent by the client on unauthenticated paths")
+  void shouldStripUserHeadersOnExcludedPaths() {
+    // Given
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth-service/api/auth/login")
+            .header(UserHttpHeaders.X_EMPLOYEE_ID, "1")
+            .header(UserHttpHeaders.X_EMAIL, "admin@example.com")
+            .header(UserHttpHeaders.X_EMPLOYEE_ROLE, "ROLE_ADMIN")
+            .header(HttpHeaders.CONTENT_TYPE, "application/json"));
+    AtomicReference<HttpHeaders> forwarded = new AtomicReference<>();
+
+    // When
+    filter.filter(exchange, filtered -> {
+      forwarded.set(filtered.getRequest().getHeaders());
+      return Mono.empty();
+    }).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(forwarded.get())
+            .doesNotContainKeys(UserHttpHeaders.X_EMPLOYEE_ID, UserHttpHeaders.X_EMAIL, UserHttpHeaders.X_EMPLOYEE_ROLE)
+            .containsKey(HttpHeaders.CONTENT_TYPE);
+    verifyNoInteractions(tokenValidator);
+  }
+}
@@ -0,0 +1,126 @@
+package com.ems.apigateway.config;
+
+import com.ems.apigateway.revocation.RevocationProperties;
+import com.ems.apigateway.revocation.TokenRevocationList;
+import com.ems.apigateway.revocation.TokenRevokedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JWT Token Validator Unit Tests")
+class JwtTokenValidatorTest {
+  private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  private SimpleMeterRegistry meterRegistry;
+  private TokenRevocationList revocationList;
+  private JwtTokenValidator tokenValidator;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    revocationList = new TokenRevocationList(new RevocationProperties(true, "token-revoked-topic", 100, 0.01), meterRegistry);
+    tokenValidator = new JwtTokenValidator(SECRET, 100, revocationList, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should serve repeated tokens from the verified-claims cache")
+  void shouldServeRepeatedTokensFromCache() {
+    // Given
+    String token = token(new Date(System.currentTimeMillis() + 60_000));
+
+    // When
+    Claims first = tokenValidator.validate(token);
+    Claims second = tokenValidator.validate(token);
+
+    // Then
+    assertThat(first.getSubject()).isEqualTo("employee-id");
+    assertThat(second).isSameAs(first);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt-claims").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should reject a token with a tampered signature")
+  void shouldRejectTamperedToken() {
+    // Given
+    String token = token(new Date(System.currentTimeMillis() + 60_000));
+    String tampered = token.substring(0, token.length() - 2) + "xx";
+
+    // When & Then
+    assertThatThrownBy(() -> tokenValidator.validate(tampered))
+            .isSameAs(JwtRejection.INVALID_TOKEN);
+  }
+
+  @Test
+  @DisplayName("Should reject an expired token")
+  void shouldRejectExpiredToken() {
+    // Given
+    String token = token(new Date(System.currentTimeMillis() - 1_000));
+
+    // When & Then
+    assertThatThrownBy(() -> tokenValidator.validate(token))
+            .isSameAs(JwtRejection.EXPIRED_TOKEN);
+  }
+
+  @Test
+  @DisplayName("Should reject a token without an exp claim")
+  void shouldRejectTokenWithoutExpiration() {
+    // Given
+    String token = token(null);
+
+    // When & Then
+    assertThat(JwtTokenValidator.readExpiration(token)).isEqualTo(-1);
+    assertThatThrownBy(() -> tokenValidator.validate(token))
+            .isSameAs(JwtRejection.INVALID_TOKEN);
+  }
+
+  @Test
+  @DisplayName("Should reject a cached token once its subject is revoked")
+  void shouldRejectCachedTokenOnceRevoked() {
+    // Given
+    String token = token(new Date(System.currentTimeMillis() + 60_000));
+    tokenValidator.validate(token);
+    long now = System.currentTimeMillis() / 1000;
+
+    // When
+    revocationList.revoke(new TokenRevokedEvent("employee-id", null, now + 1, now + 60, "password-changed"));
+
+    // Then
+    assertThatThrownBy(() -> tokenValidator.validate(token))
+            .isSameAs(JwtRejection.REVOKED_TOKEN);
+  }
+
+  @Test
+  @DisplayName("Should read the unverified exp claim from the payload")
+  void shouldReadExpirationFromPayload() {
+    // Given
+    Date expiration = new Date(1_900_000_000_000L);
+
+    // When & Then
+    assertThat(JwtTokenValidator.readExpiration(token(expiration))).isEqualTo(1_900_000_000L);
+    assertThatThrownBy(() -> JwtTokenValidator.readExpiration("not-a-jwt"))
+            .isSameAs(JwtRejection.INVALID_TOKEN);
+  }
+
+  private static String token(Date expiration) {
+    return Jwts.builder()
+            .setSubject("employee-id")
+            .claim("email", "john.doe@example.com")
+            .claim("role", "ROLE_EMPLOYEE")
+            .setIssuedAt(new Date())
+            .setExpiration(expiration)
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+  }
+}
@@ -0,0 +1,65 @@
+package com.ems.apigateway.faultinjection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Fault Injection Filter Unit Tests")
+class FaultInjectionFilterTest {
+
+  @Test
+  @DisplayName("Should always use the mean for fixed delays")
+  void shouldUseMeanForFixedDelay() {
+    // Given
+    FaultInjectionProperties.Delay delay = delay(FaultInjectionProperties.Distribution.FIXED, 0, 40, 1000);
+
+    // When
+    Duration drawn = FaultInjectionFilter.drawDelay(delay, ThreadLocalRandom.current());
+
+    // Then
+    assertThat(drawn).isEqualTo(Duration.ofMillis(40));
+  }
+
+  @Test
+  @DisplayName("Should keep uniform delays between min and max")
+  void shouldKeepUniformDelayInRange() {
+    // Given
+    FaultInjectionProperties.Delay delay = delay(FaultInjectionProperties.Distribution.UNIFORM, 10, 50, 100);
+
+    // When / Then
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(FaultInjectionFilter.drawDelay(delay, ThreadLocalRandom.current()))
+              .isBetween(Duration.ofMillis(10), Duration.ofMillis(100));
+    }
+  }
+
+  @Test
+  @DisplayName("Should draw exponential delays above min, capped at max, averaging min plus mean")
+  void shouldDrawExponentialDelays() {
+    // Given
+    FaultInjectionProperties.Delay delay = delay(FaultInjectionProperties.Distribution.EXPONENTIAL, 5, 20, 10_000);
+    int samples = 100_000;
+    long totalNanos = 0;
+
+    // When
+    for (int i = 0; i < samples; i++) {
+      Duration drawn = FaultInjectionFilter.drawDelay(delay, ThreadLocalRandom.current());
+      assertThat(drawn).isBetween(Duration.ofMillis(5), Duration.ofMillis(10_000));
+      totalNanos += drawn.toNanos();
+    }
+
+    // Then
+    double averageMillis = totalNanos / (double) samples / 1_000_000;
+    assertThat(averageMillis).isBetween(24.0, 26.0);
+  }
+
+  private static FaultInjectionProperties.Delay delay(
+          FaultInjectionProperties.Distribution distribution, long minMillis, long meanMillis, long maxMillis) {
+    return new FaultInjectionProperties.Delay(
+            1.0, distribution, Duration.ofMillis(minMillis), Duration.ofMillis(meanMillis), Duration.ofMillis(maxMillis));
+  }
+}
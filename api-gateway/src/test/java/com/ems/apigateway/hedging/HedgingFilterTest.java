@@ -0,0 +1,155 @@
+package com.ems.apigateway.hedging;
+
+import com.ems.apigateway.loadbalancer.InstanceLatencyStats;
+import com.ems.apigateway.loadbalancer.LoadBalancerProperties;
+import com.ems.apigateway.routing.ConnectionPoolProperties;
+import com.ems.apigateway.routing.RouteHttpClientRoutingFilter;
+import com.ems.apigateway.routing.RouteHttpClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Hedging Filter Unit Tests")
+class HedgingFilterTest {
+  private static final String SERVICE_ID = "employee-service";
+
+  private DisposableServer slowServer;
+  private DisposableServer fastServer;
+  private ServiceInstance slowInstance;
+  private ServiceInstance fastInstance;
+  private final AtomicInteger routedOnTheirOwn = new AtomicInteger();
+
+  @BeforeEach
+  void startInstances() {
+    slowServer = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/api/employees/1", (request, response) ->
+                            response.sendString(Mono.delay(Duration.ofSeconds(2)).thenReturn("slow")))
+                    .get("/api/employees/large", (request, response) ->
+                            response.sendString(Mono.just("x".repeat(2048)))))
+            .bindNow();
+    fastServer = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/employees/1", (request, response) -> response.sendString(Mono.just("fast"))))
+            .bindNow();
+    slowInstance = new DefaultServiceInstance("slow", SERVICE_ID, "localhost", slowServer.port(), false);
+    fastInstance = new DefaultServiceInstance("fast", SERVICE_ID, "localhost", fastServer.port(), false);
+  }
+
+  @AfterEach
+  void stopInstances() {
+    slowServer.disposeNow();
+    fastServer.disposeNow();
+  }
+
+  @Test
+  @DisplayName("Should hedge to another instance offered by the load balancer's supplier")
+  void shouldHedgeToSuppliedInstance() {
+    // Given
+    HedgingFilter filter = filter();
+    MockServerWebExchange exchange = exchange("/api/employees/1");
+
+    // When
+    filter.filter(exchange, routeOnTheirOwn()).block(Duration.ofSeconds(5));
+
+    // Then
+    assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(1))).isEqualTo("fast");
+    assertThat(routedOnTheirOwn).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should route a response larger than the body limit on its own")
+  void shouldRouteLargeResponseOnItsOwn() {
+    // Given
+    HedgingFilter filter = filter();
+    MockServerWebExchange exchange = exchange("/api/employees/large");
+
+    // When
+    filter.filter(exchange, routeOnTheirOwn()).block(Duration.ofSeconds(5));
+
+    // Then
+    assertThat(routedOnTheirOwn).hasValue(1);
+    assertThat(ServerWebExchangeUtils.isAlreadyRouted(exchange)).isFalse();
+  }
+
+  private GatewayFilterChain routeOnTheirOwn() {
+    return exchange -> {
+      routedOnTheirOwn.incrementAndGet();
+      return Mono.empty();
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private HedgingFilter filter() {
+    ReactorServiceInstanceLoadBalancer loadBalancer = request -> Mono.just(new DefaultResponse(slowInstance));
+    ObjectProvider<ServiceInstanceListSupplier> suppliers = mock(ObjectProvider.class);
+    when(suppliers.getIfAvailable(any())).thenReturn(ServiceInstanceListSuppliers.from(SERVICE_ID, slowInstance, fastInstance));
+    LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+    when(clientFactory.getInstance(SERVICE_ID)).thenReturn(loadBalancer);
+    when(clientFactory.getLazyProvider(SERVICE_ID, ServiceInstanceListSupplier.class)).thenReturn(suppliers);
+
+    ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+    when(headersFilters.getIfAvailable()).thenReturn(List.of());
+    ObjectProvider<HttpClientCustomizer> customizers = mock(ObjectProvider.class);
+    when(customizers.orderedStream()).thenReturn(Stream.empty());
+    HttpClientProperties httpClientProperties = new HttpClientProperties();
+    RouteHttpClientRoutingFilter routingFilter = new RouteHttpClientRoutingFilter(HttpClient.create(), headersFilters,
+            httpClientProperties, new RouteHttpClients(new ConnectionPoolProperties(Map.of()), httpClientProperties, customizers));
+
+    InstanceLatencyStats latencyStats = new InstanceLatencyStats(new LoadBalancerProperties(
+            LoadBalancerProperties.Mode.LATENCY,
+            Map.of(),
+            new LoadBalancerProperties.Latency(Duration.ofSeconds(5), Duration.ofSeconds(1)),
+            new LoadBalancerProperties.ConsistentHash("X-UserEmployee-Id", List.of(), "id", 160, 1.25)
+    ));
+    HedgingProperties properties = new HedgingProperties(true, DataSize.ofKilobytes(1), Map.of(SERVICE_ID,
+            new HedgingProperties.RouteHedging(List.of("/api/employees/*"), 0.95, Duration.ofMillis(10),
+                    Duration.ofMillis(50), 1.0)));
+    return new HedgingFilter(properties, clientFactory, latencyStats, routingFilter, new SimpleMeterRegistry());
+  }
+
+  private static MockServerWebExchange exchange(String path) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+            .id(SERVICE_ID)
+            .uri("lb://" + SERVICE_ID)
+            .predicate(ignored -> true)
+            .build());
+    return exchange;
+  }
+}
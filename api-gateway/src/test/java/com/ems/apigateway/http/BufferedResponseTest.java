@@ -0,0 +1,38 @@
+package com.ems.apigateway.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Buffered Response Unit Tests")
+class BufferedResponseTest {
+
+  @Test
+  @DisplayName("Should keep headers already set on the response when replaying a buffered one")
+  void shouldNotReplayHeadersAlreadySet() {
+    // Given
+    HttpHeaders stored = new HttpHeaders();
+    stored.set("X-Cache", "MISS");
+    stored.set(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000");
+    stored.set(HttpHeaders.CONTENT_TYPE, "application/json");
+    BufferedResponse buffered = BufferedResponse.of(HttpStatus.OK, stored, "[]".getBytes(StandardCharsets.UTF_8));
+    MockServerHttpResponse response = new MockServerHttpResponse();
+    response.getHeaders().set("X-Cache", "HIT");
+    response.getHeaders().set(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000");
+
+    // When
+    buffered.writeTo(response).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(response.getHeaders().get("X-Cache")).containsExactly("HIT");
+    assertThat(response.getHeaders().get(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).containsExactly("http://localhost:3000");
+    assertThat(response.getHeaders().getContentType()).hasToString("application/json");
+  }
+}
@@ -0,0 +1,57 @@
+package com.ems.apigateway.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Capturing Response Decorator Unit Tests")
+class CapturingResponseDecoratorTest {
+
+  @Test
+  @DisplayName("Should hand over a copy of a body within the limit and stream it unchanged")
+  void shouldCaptureBodyWithinLimit() {
+    // Given
+    MockServerHttpResponse response = new MockServerHttpResponse();
+    AtomicReference<BufferedResponse> captured = new AtomicReference<>();
+    CapturingResponseDecorator decorator = new CapturingResponseDecorator(response, 16, captured::set, () -> { });
+
+    // When
+    decorator.writeWith(Flux.just(buffer("[{\"id\":"), buffer("1}]"))).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(response.getBodyAsString().block(Duration.ofSeconds(1))).isEqualTo("[{\"id\":1}]");
+    assertThat(new String(captured.get().body(), StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1}]");
+  }
+
+  @Test
+  @DisplayName("Should abandon the copy of a body over the limit and still stream all of it")
+  void shouldAbandonBodyOverLimit() {
+    // Given
+    MockServerHttpResponse response = new MockServerHttpResponse();
+    AtomicBoolean abandoned = new AtomicBoolean();
+    AtomicReference<BufferedResponse> captured = new AtomicReference<>();
+    CapturingResponseDecorator decorator = new CapturingResponseDecorator(response, 8, captured::set, () -> abandoned.set(true));
+
+    // When
+    decorator.writeWith(Flux.just(buffer("0123"), buffer("456789"), buffer("abc"))).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(response.getBodyAsString().block(Duration.ofSeconds(1))).isEqualTo("0123456789abc");
+    assertThat(abandoned).isTrue();
+    assertThat(captured).hasNullValue();
+  }
+
+  private static DataBuffer buffer(String content) {
+    return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
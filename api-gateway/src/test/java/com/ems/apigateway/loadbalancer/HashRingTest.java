@@ -0,0 +1,94 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Hash Ring Unit Tests")
+class HashRingTest {
+  private static final int KEYS = 20_000;
+
+  @Test
+  @DisplayName("Should spread keys evenly across instances")
+  void shouldSpreadKeysEvenly() {
+    // Given
+    HashRing ring = new HashRing(instances(4), 160);
+    Map<String, Integer> counts = new HashMap<>();
+
+    // When
+    for (int i = 0; i < KEYS; i++) {
+      counts.merge(ring.choose(HashRing.hash("employee-" + i), instance -> 0, 1.25).instance().getInstanceId(), 1, Integer::sum);
+    }
+
+    // Then
+    assertThat(counts).hasSize(4);
+    assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10));
+  }
+
+  @Test
+  @DisplayName("Should only move the keys of the added instance when one is added")
+  void shouldMoveFewKeysWhenInstanceAdded() {
+    // Given
+    HashRing before = new HashRing(instances(4), 160);
+    HashRing after = new HashRing(instances(5), 160);
+    int moved = 0;
+
+    // When
+    for (int i = 0; i < KEYS; i++) {
+      long hash = HashRing.hash("employee-" + i);
+      String from = before.choose(hash, instance -> 0, 1.25).instance().getInstanceId();
+      String to = after.choose(hash, instance -> 0, 1.25).instance().getInstanceId();
+      if (!from.equals(to)) {
+        moved++;
+        assertThat(to).isEqualTo("employee-service-4");
+      }
+    }
+
+    // Then
+    assertThat(moved).isBetween(KEYS / 5 * 7 / 10, KEYS / 5 * 13 / 10);
+  }
+
+  @Test
+  @DisplayName("Should spill over to the next instance when the owner is above its bounded load")
+  void shouldSpillOverWhenOwnerOverloaded() {
+    // Given
+    HashRing ring = new HashRing(instances(3), 160);
+    long hash = HashRing.hash("employee-42");
+    ServiceInstance owner = ring.choose(hash, instance -> 0, 1.25).instance();
+
+    // When
+    HashRing.Choice choice = ring.choose(hash, instance -> instance.equals(owner) ? 10 : 0, 1.25);
+
+    // Then
+    assertThat(choice.spilledOver()).isTrue();
+    assertThat(choice.instance()).isNotEqualTo(owner);
+  }
+
+  @Test
+  @DisplayName("Should recognise the same instances in any order")
+  void shouldRecogniseSameInstances() {
+    // Given
+    List<ServiceInstance> instances = instances(3);
+    HashRing ring = new HashRing(instances, 16);
+
+    // When / Then
+    assertThat(ring.hasInstances(instances.reversed())).isTrue();
+    assertThat(ring.hasInstances(instances(2))).isFalse();
+  }
+
+  private static List<ServiceInstance> instances(int count) {
+    List<ServiceInstance> instances = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      instances.add(new DefaultServiceInstance("employee-service-" + i, "employee-service", "10.0.0." + (i + 1), 8081, false));
+    }
+    return instances;
+  }
+}
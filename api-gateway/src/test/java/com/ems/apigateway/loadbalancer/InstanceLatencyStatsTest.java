@@ -0,0 +1,99 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Instance Latency Stats Unit Tests")
+class InstanceLatencyStatsTest {
+  private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+  private InstanceLatencyStats stats;
+
+  @BeforeEach
+  void setUp() {
+    stats = new InstanceLatencyStats(new LoadBalancerProperties(
+            LoadBalancerProperties.Mode.LATENCY,
+            Map.of(),
+            new LoadBalancerProperties.Latency(Duration.ofSeconds(5), Duration.ofSeconds(1)),
+            new LoadBalancerProperties.ConsistentHash("X-UserEmployee-Id", List.of(), "id", 160, 1.25)
+    ));
+  }
+
+  @Test
+  @DisplayName("Should score an unsampled instance like the average sampled instance of its service")
+  void shouldScoreUnsampledInstanceAtServiceAverage() {
+    // Given
+    ServiceInstance fast = instance(1);
+    ServiceInstance slow = instance(2);
+    ServiceInstance fresh = instance(3);
+    stats.onStart(fast);
+    stats.onComplete(fast, 10 * MILLIS, false);
+    stats.onStart(slow);
+    stats.onComplete(slow, 30 * MILLIS, false);
+
+    // When
+    double freshScore = stats.score(fresh);
+
+    // Then
+    assertThat(freshScore).isEqualTo(20.0 * MILLIS);
+    assertThat(freshScore).isGreaterThan(stats.score(fast));
+  }
+
+  @Test
+  @DisplayName("Should not let an unsampled instance win while it already has requests in flight")
+  void shouldPenaliseInFlightOnUnsampledInstance() {
+    // Given
+    ServiceInstance sampled = instance(1);
+    ServiceInstance fresh = instance(2);
+    stats.onStart(sampled);
+    stats.onComplete(sampled, 10 * MILLIS, false);
+    stats.onStart(fresh);
+    stats.onStart(fresh);
+
+    // When / Then
+    assertThat(stats.score(fresh)).isEqualTo(30.0 * MILLIS);
+    assertThat(stats.score(fresh)).isGreaterThan(stats.score(sampled));
+  }
+
+  @Test
+  @DisplayName("Should rank instances by in-flight requests when none has been sampled")
+  void shouldRankByInFlightWithoutSamples() {
+    // Given
+    ServiceInstance busy = instance(1);
+    ServiceInstance idle = instance(2);
+    stats.onStart(busy);
+
+    // When / Then
+    assertThat(stats.score(idle)).isLessThan(stats.score(busy));
+  }
+
+  @Test
+  @DisplayName("Should only release the in-flight slot of a cancelled call")
+  void shouldNotSampleCancelledCall() {
+    // Given
+    ServiceInstance instance = instance(1);
+    stats.onStart(instance);
+    stats.onComplete(instance, 10 * MILLIS, false);
+    stats.onStart(instance);
+
+    // When
+    stats.onCancel(instance);
+
+    // Then
+    assertThat(stats.inFlight(instance)).isZero();
+    assertThat(stats.score(instance)).isEqualTo(10.0 * MILLIS);
+  }
+
+  private static ServiceInstance instance(int i) {
+    return new DefaultServiceInstance("employee-service-" + i, "employee-service", "10.0.0." + i, 8081, false);
+  }
+}
@@ -0,0 +1,101 @@
+package com.ems.apigateway.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Load Balancer Cancel Filter Unit Tests")
+class LoadBalancerCancelFilterTest {
+  private static final String SERVICE_ID = "employee-service";
+
+  private final ServiceInstance instance =
+          new DefaultServiceInstance("employee-service-1", SERVICE_ID, "10.0.0.1", 8081, false);
+
+  private InstanceLatencyStats stats;
+  private LoadBalancerCancelFilter cancelFilter;
+  private ReactiveLoadBalancerClientFilter loadBalancerFilter;
+
+  @BeforeEach
+  void setUp() {
+    stats = new InstanceLatencyStats(new LoadBalancerProperties(
+            LoadBalancerProperties.Mode.LATENCY,
+            Map.of(),
+            new LoadBalancerProperties.Latency(Duration.ofSeconds(5), Duration.ofSeconds(1)),
+            new LoadBalancerProperties.ConsistentHash("X-UserEmployee-Id", List.of(), "id", 160, 1.25)
+    ));
+    cancelFilter = new LoadBalancerCancelFilter(stats);
+
+    ReactorServiceInstanceLoadBalancer loadBalancer = request -> Mono.just(new DefaultResponse(instance));
+    LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+    when(clientFactory.getInstance(SERVICE_ID, ReactorServiceInstanceLoadBalancer.class)).thenReturn(loadBalancer);
+    when(clientFactory.getInstances(SERVICE_ID, LoadBalancerLifecycle.class))
+            .thenReturn(Map.of("latency", new InstanceLatencyLifecycle(stats)));
+    when(clientFactory.getProperties(SERVICE_ID))
+            .thenReturn(new org.springframework.cloud.client.loadbalancer.LoadBalancerProperties());
+    loadBalancerFilter = new ReactiveLoadBalancerClientFilter(clientFactory, new GatewayLoadBalancerProperties());
+  }
+
+  @Test
+  @DisplayName("Should release the in-flight slot of a request cancelled while downstream")
+  void shouldReleaseCancelledRequest() {
+    // Given
+    Disposable request = route(exchange(), Mono.never()).subscribe();
+    assertThat(stats.inFlight(instance)).isEqualTo(1);
+
+    // When
+    request.dispose();
+
+    // Then
+    assertThat(stats.inFlight(instance)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should release a completed request only once")
+  void shouldReleaseCompletedRequestOnce() {
+    // Given
+    Disposable pending = route(exchange(), Mono.never()).subscribe();
+
+    // When
+    route(exchange(), Mono.empty()).block(Duration.ofSeconds(1));
+
+    // Then
+    assertThat(stats.inFlight(instance)).isEqualTo(1);
+    pending.dispose();
+    assertThat(stats.inFlight(instance)).isZero();
+  }
+
+  private Mono<Void> route(MockServerWebExchange exchange, Mono<Void> downstream) {
+    GatewayFilterChain routing = routed -> downstream;
+    return cancelFilter.filter(exchange, filtered -> loadBalancerFilter.filter(filtered, routing));
+  }
+
+  private static MockServerWebExchange exchange() {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+            URI.create("lb://" + SERVICE_ID + "/api/employees"));
+    return exchange;
+  }
+}
@@ -0,0 +1,138 @@
+package com.ems.apigateway.ratelimit;
+
+import com.ems.apigateway.config.JwtAuthenticationFilter;
+import com.ems.apigateway.config.UserHttpHeaders;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Rate Limit Filter Unit Tests")
+class RateLimitFilterTest {
+  private static final RateLimitProperties.Limit ONE_PER_MINUTE =
+          new RateLimitProperties.Limit(1, Duration.ofMinutes(1), null);
+
+  private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(
+          true,
+          1000,
+          Duration.ofMinutes(10),
+          Map.of(
+                  "auth-service", new RateLimitProperties.RouteLimits(ONE_PER_MINUTE, Map.of()),
+                  "employee-service", new RateLimitProperties.RouteLimits(ONE_PER_MINUTE, Map.of(
+                          "ROLE_ADMIN", new RateLimitProperties.Limit(3, Duration.ofMinutes(1), null)))
+          )
+  ), new SimpleMeterRegistry());
+
+  @Test
+  @DisplayName("Should limit logins by client address whatever employee ID they claim")
+  void shouldLimitLoginsByAddress() {
+    // Given
+    MockServerWebExchange first = loginFrom("10.0.0.1", "1");
+    MockServerWebExchange second = loginFrom("10.0.0.1", "2");
+    MockServerWebExchange otherClient = loginFrom("10.0.0.2", "2");
+
+    // When
+    filter(first);
+    filter(second);
+    filter(otherClient);
+
+    // Then
+    assertThat(first.getResponse().getStatusCode()).isNull();
+    assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    assertThat(otherClient.getResponse().getStatusCode()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should take the limit tier from the verified claims, not the role header")
+  void shouldTakeTierFromClaims() {
+    // Given
+    MockServerWebExchange spoofed = employeeRequest(claims("7", "ROLE_EMPLOYEE"));
+    MockServerWebExchange spoofedAgain = employeeRequest(claims("7", "ROLE_EMPLOYEE"));
+    MockServerWebExchange admin = employeeRequest(claims("8", "ROLE_ADMIN"));
+    MockServerWebExchange adminAgain = employeeRequest(claims("8", "ROLE_ADMIN"));
+
+    // When
+    filter(spoofed);
+    filter(spoofedAgain);
+    filter(admin);
+    filter(adminAgain);
+
+    // Then
+    assertThat(spoofedAgain.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    assertThat(adminAgain.getResponse().getStatusCode()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should reject non-positive limits when the properties bind")
+  void shouldRejectNonPositiveLimits() {
+    assertThatThrownBy(() -> bind(Map.of("routes.auth-service.limit.requests", "0")))
+            .isInstanceOf(BindException.class)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> bind(Map.of(
+            "routes.auth-service.limit.requests", "5",
+            "routes.auth-service.limit.period", "0s")))
+            .isInstanceOf(BindException.class)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void filter(MockServerWebExchange exchange) {
+    filter.filter(exchange, filtered -> Mono.empty()).block(Duration.ofSeconds(1));
+  }
+
+  private static MockServerWebExchange loginFrom(String address, String spoofedEmployeeId) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+            .remoteAddress(new InetSocketAddress(address, 40000))
+            .header(UserHttpHeaders.X_EMPLOYEE_ID, spoofedEmployeeId));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route("auth-service"));
+    return exchange;
+  }
+
+  /** A request whose client claims to be an admin in the role header. */
+  private static MockServerWebExchange employeeRequest(Claims claims) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees")
+            .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+            .header(UserHttpHeaders.X_EMPLOYEE_ROLE, "ROLE_ADMIN"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route("employee-service"));
+    exchange.getAttributes().put(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTR, claims);
+    return exchange;
+  }
+
+  private static Claims claims(String subject, String role) {
+    Claims claims = Jwts.claims().setSubject(subject);
+    claims.put("role", role);
+    return claims;
+  }
+
+  private static Route route(String id) {
+    return Route.async()
+            .id(id)
+            .uri("lb://" + id)
+            .predicate(ignored -> true)
+            .build();
+  }
+
+  private static RateLimitProperties bind(Map<String, String> properties) {
+    Map<String, String> prefixed = new HashMap<>();
+    properties.forEach((name, value) -> prefixed.put("application.gateway.rate-limit." + name, value));
+    return new Binder(new MapConfigurationPropertySource(prefixed))
+            .bindOrCreate("application.gateway.rate-limit", RateLimitProperties.class);
+  }
+}
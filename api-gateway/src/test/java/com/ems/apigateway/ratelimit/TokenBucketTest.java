@@ -0,0 +1,82 @@
+package com.ems.apigateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Token Bucket Unit Tests")
+class TokenBucketTest {
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  @DisplayName("Should allow a full burst and then reject with the time until the next token")
+  void shouldAllowBurstThenReject() {
+    // Given
+    long now = 0;
+    TokenBucket bucket = new TokenBucket(now);
+
+    // When
+    long first = bucket.tryAcquire(now, INTERVAL, 3);
+    long second = bucket.tryAcquire(now, INTERVAL, 3);
+    long third = bucket.tryAcquire(now, INTERVAL, 3);
+    long fourth = bucket.tryAcquire(now, INTERVAL, 3);
+
+    // Then
+    assertThat(first).isZero();
+    assertThat(second).isZero();
+    assertThat(third).isZero();
+    assertThat(fourth).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  @DisplayName("Should refill one token per interval")
+  void shouldRefillOverTime() {
+    // Given
+    TokenBucket bucket = new TokenBucket(0);
+    bucket.tryAcquire(0, INTERVAL, 1);
+
+    // When
+    long tooEarly = bucket.tryAcquire(INTERVAL / 2, INTERVAL, 1);
+    long onTime = bucket.tryAcquire(INTERVAL, INTERVAL, 1);
+
+    // Then
+    assertThat(tooEarly).isEqualTo(INTERVAL / 2);
+    assertThat(onTime).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not bank tokens beyond the burst size while idle")
+  void shouldCapTokensAtBurst() {
+    // Given
+    TokenBucket bucket = new TokenBucket(0);
+    long later = INTERVAL * 100;
+
+    // When
+    long first = bucket.tryAcquire(later, INTERVAL, 2);
+    long second = bucket.tryAcquire(later, INTERVAL, 2);
+    long third = bucket.tryAcquire(later, INTERVAL, 2);
+
+    // Then
+    assertThat(first).isZero();
+    assertThat(second).isZero();
+    assertThat(third).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should not consume a token when rejecting")
+  void shouldNotConsumeOnReject() {
+    // Given
+    TokenBucket bucket = new TokenBucket(0);
+    bucket.tryAcquire(0, INTERVAL, 1);
+    bucket.tryAcquire(0, INTERVAL, 1);
+
+    // When
+    long afterInterval = bucket.tryAcquire(INTERVAL, INTERVAL, 1);
+
+    // Then
+    assertThat(afterInterval).isZero();
+  }
+}
@@ -0,0 +1,88 @@
+package com.ems.apigateway.revocation;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Token Revocation List Unit Tests")
+class TokenRevocationListTest {
+  private long now;
+  private TokenRevocationList revocationList;
+
+  @BeforeEach
+  void setUp() {
+    now = System.currentTimeMillis() / 1000;
+    revocationList = new TokenRevocationList(
+            new RevocationProperties(true, "token-revoked-topic", 1_000, 0.01), new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Should revoke tokens of a subject issued before notBefore only")
+  void shouldRevokeSubjectTokensIssuedBeforeNotBefore() {
+    // Given
+    revocationList.revoke(new TokenRevokedEvent("employee-id", null, now, now + 60, "password-changed"));
+
+    // When & Then
+    assertThat(revocationList.isRevoked(claims("employee-id", "a", now - 10))).isTrue();
+    assertThat(revocationList.isRevoked(claims("employee-id", "b", now))).isFalse();
+    assertThat(revocationList.isRevoked(claims("other-id", "c", now - 10))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should revoke a single token by its ID")
+  void shouldRevokeSingleToken() {
+    // Given
+    revocationList.revoke(new TokenRevokedEvent("employee-id", "a", null, now + 60, "logout"));
+
+    // When & Then
+    assertThat(revocationList.isRevoked(claims("employee-id", "a", now - 10))).isTrue();
+    assertThat(revocationList.isRevoked(claims("employee-id", "b", now - 10))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should forget revocations whose tokens have expired on rebuild")
+  void shouldForgetExpiredRevocations() {
+    // Given
+    revocationList.revoke(new TokenRevokedEvent(null, "expired", null, now - 1, "logout"));
+    revocationList.revoke(new TokenRevokedEvent(null, "live", null, now + 60, "logout"));
+
+    // When
+    revocationList.rebuild();
+
+    // Then
+    assertThat(revocationList.isRevoked(claims("employee-id", "expired", now - 10))).isFalse();
+    assertThat(revocationList.isRevoked(claims("employee-id", "live", now - 10))).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should never miss a revoked token across filter rebuilds")
+  void shouldNeverMissRevokedTokens() {
+    // Given
+    String[] tokenIds = new String[5_000];
+    for (int i = 0; i < tokenIds.length; i++) {
+      tokenIds[i] = UUID.randomUUID().toString();
+      revocationList.revoke(new TokenRevokedEvent(null, tokenIds[i], null, now + 60, "logout"));
+    }
+
+    // When & Then
+    for (String tokenId : tokenIds) {
+      assertThat(revocationList.isRevoked(claims("employee-id", tokenId, now))).isTrue();
+    }
+  }
+
+  private static Claims claims(String subject, String tokenId, long issuedAt) {
+    Claims claims = Jwts.claims();
+    claims.setSubject(subject);
+    claims.setId(tokenId);
+    claims.setIssuedAt(new Date(issuedAt * 1000));
+    return claims;
+  }
+}
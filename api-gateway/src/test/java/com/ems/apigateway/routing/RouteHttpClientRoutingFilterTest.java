@@ -0,0 +1,89 @@
+package com.ems.apigateway.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Route HTTP Client Routing Filter Unit Tests")
+class RouteHttpClientRoutingFilterTest {
+  private static final String BODY = "[{\"id\":1,\"firstName\":\"Ada\"}]";
+
+  private DisposableServer server;
+
+  @BeforeEach
+  void startDownstream() {
+    server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/employees", (request, response) ->
+                    response.header("Content-Type", "application/json").sendString(Mono.just(BODY))))
+            .bindNow();
+  }
+
+  @AfterEach
+  void stopDownstream() {
+    server.disposeNow();
+  }
+
+  @Test
+  @DisplayName("Should proxy the downstream response body through the write response filter")
+  void shouldProxyResponseBody() {
+    // Given
+    RouteHttpClientRoutingFilter routingFilter = routingFilter();
+    NettyWriteResponseFilter writeFilter = new RoutingConfig().nettyWriteResponseFilter(new GatewayProperties());
+    URI uri = URI.create("http://localhost:" + server.port() + "/api/employees");
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees"));
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, uri);
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+            .id("employee-service")
+            .uri(uri)
+            .predicate(ignored -> true)
+            .build());
+
+    // When
+    writeFilter.filter(exchange, written -> routingFilter.filter(written, routed -> Mono.empty()))
+            .block(Duration.ofSeconds(5));
+
+    // Then
+    assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(BODY);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RouteHttpClientRoutingFilter routingFilter() {
+    ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+    when(headersFilters.getIfAvailable()).thenReturn(List.of());
+    ObjectProvider<HttpClientCustomizer> customizers = mock(ObjectProvider.class);
+    when(customizers.orderedStream()).thenReturn(Stream.empty());
+
+    HttpClientProperties properties = new HttpClientProperties();
+    RouteHttpClients routeHttpClients = new RouteHttpClients(new ConnectionPoolProperties(Map.of()), properties, customizers);
+    return new RouteHttpClientRoutingFilter(
+            HttpClient.create(), headersFilters, properties, routeHttpClients);
+  }
+}
@@ -0,0 +1,90 @@
+package com.ems.apigateway.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.route.Route;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Route HTTP Clients Unit Tests")
+class RouteHttpClientsTest {
+  private DisposableServer server;
+  private RouteHttpClients routeHttpClients;
+
+  @AfterEach
+  void tearDown() {
+    if (routeHttpClients != null) {
+      routeHttpClients.destroy();
+    }
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Should multiplex the requests of an h2c route over its dedicated pool's connections")
+  void shouldMultiplexH2cRouteOverDedicatedPool() {
+    // Given
+    Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+    Set<String> versions = ConcurrentHashMap.newKeySet();
+    server = HttpServer.create()
+            .port(0)
+            .protocol(HttpProtocol.H2C)
+            .route(routes -> routes.get("/api/employees", (request, response) -> {
+              clientAddresses.add(request.remoteAddress());
+              versions.add(request.version().text());
+              return response.sendString(Mono.delay(Duration.ofMillis(100)).thenReturn("[]"));
+            }))
+            .bindNow();
+    routeHttpClients = routeHttpClients(Map.of("employee-service", new ConnectionPoolProperties.RoutePool(
+            1, 100, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofMinutes(5), 100,
+            0, "/actuator/info", Duration.ofSeconds(5))));
+    Route route = Route.async()
+            .id("employee-service")
+            .uri("lb://employee-service")
+            .predicate(ignored -> true)
+            .metadata(RouteHttpClientRoutingFilter.HTTP_PROTOCOL_METADATA, RouteHttpClientRoutingFilter.H2C)
+            .build();
+    HttpClient httpClient = routeHttpClients.forRoute(route, HttpClient.create());
+
+    // When
+    List<String> bodies = Flux.range(0, 20)
+            .flatMap(i -> httpClient.get()
+                    .uri("http://localhost:" + server.port() + "/api/employees")
+                    .responseSingle((response, body) -> body.asString()), 20)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+    // Then
+    assertThat(bodies).hasSize(20).containsOnly("[]");
+    assertThat(versions).containsExactly("HTTP/2.0");
+    assertThat(clientAddresses).hasSize(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RouteHttpClients routeHttpClients(Map<String, ConnectionPoolProperties.RoutePool> pools) {
+    ObjectProvider<HttpClientCustomizer> customizers = mock(ObjectProvider.class);
+    when(customizers.orderedStream()).thenReturn(Stream.empty());
+    return new RouteHttpClients(new ConnectionPoolProperties(pools), new HttpClientProperties(), customizers);
+  }
+}
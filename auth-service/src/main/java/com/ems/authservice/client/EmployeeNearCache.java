@@ -0,0 +1,90 @@
+package com.ems.authservice.client;
+
+import com.ems.authservice.entity.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process cache of {@link EmployeeClient#getEmployeeByEmail(String)}, so that
+ * logins and authenticated requests skip the call to employee-service most of the
+ * time. Entries live for {@code ttl} at most and are dropped as soon as an
+ * employee-changed event names their email. Failed lookups are not cached.
+ *
+ * <p>Hits and misses are published as {@code cache.gets{cache=employee-near-cache}}.
+ * The age of the entries served is in {@code auth.employee.cache.age}, and the delay
+ * between a change and its invalidation here is in
+ * {@code auth.employee.cache.invalidation.lag}.
+ */
+@Slf4j
+@Component
+public class EmployeeNearCache {
+  private final EmployeeClient employeeClient;
+  private final Cache<String, CachedEmployee> employees;
+  private final Timer entryAge;
+  private final DistributionSummary invalidationLag;
+
+  public EmployeeNearCache(
+          EmployeeClient employeeClient,
+          @Value("${application.employee-cache.ttl:30s}") Duration ttl,
+          @Value("${application.employee-cache.max-size:10000}") long maxSize,
+          MeterRegistry meterRegistry
+  ) {
+    this.employeeClient = employeeClient;
+    this.employees = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, employees, "employee-near-cache");
+    this.entryAge = Timer.builder("auth.employee.cache.age")
+            .description("Age of cached employee records when served")
+            .register(meterRegistry);
+    this.invalidationLag = DistributionSummary.builder("auth.employee.cache.invalidation.lag")
+            .description("Milliseconds from an employee change to its invalidation in this cache")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+  }
+
+  public Employee getEmployeeByEmail(String email) {
+    CachedEmployee cached = employees.get(email, key -> {
+      Employee employee = employeeClient.getEmployeeByEmail(key);
+      return employee != null ? new CachedEmployee(employee, System.nanoTime()) : null;
+    });
+    if (cached == null) {
+      return null;
+    }
+
+    entryAge.record(System.nanoTime() - cached.loadedAt(), TimeUnit.NANOSECONDS);
+    return cached.employee();
+  }
+
+  /**
+   * Drops the entries of an employee that changed at {@code changedAt} (epoch
+   * milliseconds). A lookup still in flight for the email finishes first and is
+   * dropped along with the rest.
+   */
+  public void invalidate(String email, long changedAt) {
+    if (email == null) {
+      return;
+    }
+    employees.invalidate(email);
+    if (changedAt > 0) {
+      invalidationLag.record(Math.max(0, System.currentTimeMillis() - changedAt));
+    }
+    log.debug("Invalidated cached employee {}", email);
+  }
+
+  private record CachedEmployee(Employee employee, long loadedAt) {
+  }
+}
@@ -1,6 +1,11 @@
 package com.ems.authservice.config;
 
+import com.ems.authservice.config.security.BoundedPasswordEncoder;
+import com.ems.authservice.config.security.PasswordHashingExecutor;
+import com.ems.common.security.CalibratedPasswordEncoder;
+import com.ems.common.security.PasswordHashingProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,13 +13,15 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class AppConfig {
   private final UserDetailsService userDetailsService;
+  private final PasswordHashingExecutor passwordHashingExecutor;
+  private final PasswordHashingProperties passwordHashingProperties;
 
   @Bean
   public AuthenticationProvider authenticationProvider() {
@@ -25,7 +32,7 @@ public class AppConfig {
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(10);
+    return new BoundedPasswordEncoder(CalibratedPasswordEncoder.calibrate(passwordHashingProperties), passwordHashingExecutor);
   }
 
   @Bean
@@ -0,0 +1,65 @@
+package com.ems.authservice.config.feign;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled, keep-alive Apache HttpClient for the Feign clients, in place of the one
+ * Spring Cloud OpenFeign would build, so that the pool can be sized per host and
+ * watched. The pool publishes {@code httpcomponents.httpclient.pool.*} gauges
+ * tagged {@code httpclient=feign}.
+ *
+ * <p>Setting {@code spring.cloud.openfeign.httpclient.hc5.enabled} to false turns
+ * this off. With {@code spring.cloud.openfeign.http2client.enabled} set as well,
+ * the Feign clients use the JDK HttpClient instead, which speaks HTTP/2 (h2c) to
+ * the services and multiplexes calls over one connection per instance.
+ */
+@Configuration
+@ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(HttpClientPoolProperties.class)
+public class FeignHttpClientConfig {
+
+  @Bean
+  public InstrumentedConnectionManager feignConnectionManager(HttpClientPoolProperties properties, MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.maxConnections())
+            .setMaxConnPerRoute(properties.maxConnectionsPerHost())
+            .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setTimeToLive(TimeValue.of(properties.timeToLive().toMillis(), TimeUnit.MILLISECONDS))
+                    .setValidateAfterInactivity(TimeValue.of(properties.validateAfterInactivity().toMillis(), TimeUnit.MILLISECONDS))
+                    .build())
+            .build();
+
+    new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(meterRegistry);
+    return new InstrumentedConnectionManager(pool, properties.hosts(), meterRegistry);
+  }
+
+  @Bean
+  public CloseableHttpClient feignHttpClient(InstrumentedConnectionManager feignConnectionManager, HttpClientPoolProperties properties) {
+    return HttpClients.custom()
+            .setConnectionManager(feignConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.of(properties.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                    .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(properties.idleTimeout().toMillis(), TimeUnit.MILLISECONDS))
+            .disableCookieManagement()
+            .build();
+  }
+}
@@ -0,0 +1,28 @@
+package com.ems.authservice.config.feign;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Connection pool of the Apache HttpClient behind auth-service's Feign clients.
+ * Each host gets at most {@code maxConnectionsPerHost} connections, unless it is
+ * listed in {@code hosts} (by host name, or {@code host:port}) with a limit of its
+ * own. A call waits up to {@code acquireTimeout} for a free connection. Connections
+ * idle for {@code idleTimeout} are closed, and none is reused after
+ * {@code timeToLive}. Connect and read timeouts are Feign's own, under
+ * {@code spring.cloud.openfeign.client.config}.
+ */
+@ConfigurationProperties(prefix = "application.http-client")
+public record HttpClientPoolProperties(
+        @DefaultValue("200") int maxConnections,
+        @DefaultValue("50") int maxConnectionsPerHost,
+        @DefaultValue Map<String, Integer> hosts,
+        @DefaultValue("1s") Duration acquireTimeout,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("2s") Duration validateAfterInactivity
+) {
+}
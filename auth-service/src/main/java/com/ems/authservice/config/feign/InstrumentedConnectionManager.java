@@ -0,0 +1,196 @@
+package com.ems.authservice.config.feign;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooling connection manager that records how long each call waits for a
+ * connection, in {@code auth.http.client.pool.acquire} tagged with the
+ * {@code result} of the wait. It also applies the per-host limits of
+ * {@link HttpClientPoolProperties#hosts()}, as the hosts are only known once
+ * discovery hands them out.
+ *
+ * <p>It exposes the wrapped pool's {@link ConnPoolControl} as well, which is what
+ * lets the client's background evictor close expired and idle connections.
+ */
+public class InstrumentedConnectionManager implements HttpClientConnectionManager, ConnPoolControl<HttpRoute> {
+  private static final String METRIC_NAME = "auth.http.client.pool.acquire";
+
+  private final PoolingHttpClientConnectionManager pool;
+  private final Map<String, Integer> hostLimits;
+  private final Set<HttpRoute> limitedRoutes = ConcurrentHashMap.newKeySet();
+  private final Timer acquired;
+  private final Timer timedOut;
+  private final Timer failed;
+
+  public InstrumentedConnectionManager(
+          PoolingHttpClientConnectionManager pool,
+          Map<String, Integer> hostLimits,
+          MeterRegistry meterRegistry
+  ) {
+    this.pool = pool;
+    this.hostLimits = hostLimits;
+    this.acquired = acquireTimer(meterRegistry, "acquired");
+    this.timedOut = acquireTimer(meterRegistry, "timeout");
+    this.failed = acquireTimer(meterRegistry, "failed");
+  }
+
+  public PoolingHttpClientConnectionManager pool() {
+    return pool;
+  }
+
+  @Override
+  public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+    applyHostLimit(route);
+    LeaseRequest lease = pool.lease(id, route, requestTimeout, state);
+
+    return new LeaseRequest() {
+      @Override
+      public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+        long start = System.nanoTime();
+        Timer outcome = failed;
+        try {
+          ConnectionEndpoint endpoint = lease.get(timeout);
+          outcome = acquired;
+          return endpoint;
+        } catch (TimeoutException e) {
+          outcome = timedOut;
+          throw e;
+        } finally {
+          outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+      }
+
+      @Override
+      public boolean cancel() {
+        return lease.cancel();
+      }
+    };
+  }
+
+  @Override
+  public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+    pool.release(endpoint, newState, validDuration);
+  }
+
+  @Override
+  public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+    pool.connect(endpoint, connectTimeout, context);
+  }
+
+  @Override
+  public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+    pool.upgrade(endpoint, context);
+  }
+
+  @Override
+  public void close(CloseMode closeMode) {
+    pool.close(closeMode);
+  }
+
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  @Override
+  public void setMaxTotal(int max) {
+    pool.setMaxTotal(max);
+  }
+
+  @Override
+  public int getMaxTotal() {
+    return pool.getMaxTotal();
+  }
+
+  @Override
+  public void setDefaultMaxPerRoute(int max) {
+    pool.setDefaultMaxPerRoute(max);
+  }
+
+  @Override
+  public int getDefaultMaxPerRoute() {
+    return pool.getDefaultMaxPerRoute();
+  }
+
+  @Override
+  public void setMaxPerRoute(HttpRoute route, int max) {
+    // An explicit limit wins over the configured one
+    limitedRoutes.add(route);
+    pool.setMaxPerRoute(route, max);
+  }
+
+  @Override
+  public int getMaxPerRoute(HttpRoute route) {
+    return pool.getMaxPerRoute(route);
+  }
+
+  @Override
+  public void closeIdle(TimeValue idleTime) {
+    pool.closeIdle(idleTime);
+  }
+
+  @Override
+  public void closeExpired() {
+    pool.closeExpired();
+  }
+
+  @Override
+  public Set<HttpRoute> getRoutes() {
+    return pool.getRoutes();
+  }
+
+  @Override
+  public PoolStats getTotalStats() {
+    return pool.getTotalStats();
+  }
+
+  @Override
+  public PoolStats getStats(HttpRoute route) {
+    return pool.getStats(route);
+  }
+
+  private void applyHostLimit(HttpRoute route) {
+    if (hostLimits.isEmpty() || limitedRoutes.contains(route)) {
+      return;
+    }
+
+    HttpHost target = route.getTargetHost();
+    Integer limit = hostLimits.get(target.getHostName() + ':' + target.getPort());
+    if (limit == null) {
+      limit = hostLimits.get(target.getHostName());
+    }
+    if (limit != null) {
+      pool.setMaxPerRoute(route, limit);
+    }
+    limitedRoutes.add(route);
+  }
+
+  private static Timer acquireTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder(METRIC_NAME)
+            .description("Time Feign calls wait for a pooled connection")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+  }
+}
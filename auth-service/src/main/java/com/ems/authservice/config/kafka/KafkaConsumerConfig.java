@@ -0,0 +1,86 @@
+package com.ems.authservice.config.kafka;
+
+import com.ems.authservice.event.EmployeeChangedEvent;
+import com.ems.authservice.event.EmployeeCredentialsEvent;
+import com.ems.common.kafka.KafkaListenerThreading;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumers of the employee-changed and employee-credentials topics.
+ *
+ * <p>Every instance caches employees on its own, so each one reads employee-changed
+ * in a consumer group of its own rather than sharing partitions with the other
+ * instances. It starts from the latest offset, as the cache is empty at startup
+ * anyway.
+ *
+ * <p>The credential store is shared by all instances, so they read
+ * employee-credentials in one group. A new group starts from the earliest offset
+ * to fill the store from the compacted topic.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+  @Value("${spring.kafka.bootstrap-servers}")
+  private String bootstrapServers;
+
+  @Value("${spring.kafka.consumer.group-id}")
+  private String groupId;
+
+  @Value("${application.credentials.group-id:auth-service-credentials}")
+  private String credentialsGroupId;
+
+  @Bean
+  public ConsumerFactory<String, EmployeeChangedEvent> employeeChangedConsumerFactory() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+    props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+    props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, EmployeeChangedEvent.class.getName());
+    return new DefaultKafkaConsumerFactory<>(props);
+  }
+
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, EmployeeChangedEvent> employeeChangedListenerContainerFactory(KafkaListenerThreading listenerThreading) {
+    ConcurrentKafkaListenerContainerFactory<String, EmployeeChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(employeeChangedConsumerFactory());
+    listenerThreading.apply(factory, "employee-changed-");
+    return factory;
+  }
+
+  @Bean
+  public ConsumerFactory<String, EmployeeCredentialsEvent> employeeCredentialsConsumerFactory() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    props.put(ConsumerConfig.GROUP_ID_CONFIG, credentialsGroupId);
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+    props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+    props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, EmployeeCredentialsEvent.class.getName());
+    return new DefaultKafkaConsumerFactory<>(props);
+  }
+
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, EmployeeCredentialsEvent> employeeCredentialsListenerContainerFactory(KafkaListenerThreading listenerThreading) {
+    ConcurrentKafkaListenerContainerFactory<String, EmployeeCredentialsEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(employeeCredentialsConsumerFactory());
+    listenerThreading.apply(factory, "employee-credentials-");
+    return factory;
+  }
+}
@@ -0,0 +1,30 @@
+package com.ems.authservice.config.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs every hash of {@code delegate} on the {@link PasswordHashingExecutor}, so
+ * callers such as login and the authentication provider never hash on the request
+ * thread.
+ */
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+  private final PasswordHashingExecutor executor;
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return executor.execute(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
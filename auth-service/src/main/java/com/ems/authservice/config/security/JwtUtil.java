@@ -1,6 +1,7 @@
 package com.ems.authservice.config.security;
 
 import com.ems.authservice.entity.Employee;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -33,6 +35,14 @@ public class JwtUtil {
     return generateToken(claims, employee.getId().toString(), expiration);
   }
 
+  public Claims parseClaims(String token) {
+    return Jwts.parser()
+        .verifyWith(getSigningKey())
+        .build()
+        .parseSignedClaims(token)
+        .getPayload();
+  }
+
   private String generateToken(
           Map<String, Object> claims,
           String subject,
@@ -42,6 +52,7 @@ public class JwtUtil {
     Date expiryDate = new Date(now.getTime() + expirationTime);
 
     return Jwts.builder()
+        .id(UUID.randomUUID().toString())
         .claims(claims)
         .subject(subject)
         .issuedAt(now)
@@ -0,0 +1,122 @@
+package com.ems.authservice.config.security;
+
+import com.ems.authservice.exception.custom.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a fixed pool, one thread per core by default, with a
+ * bounded queue in front of it. Request threads wait for their hash but never run it
+ * themselves, so a login storm takes at most all cores and {@code queueCapacity}
+ * waiting requests. Anything beyond that is turned away at once with a
+ * {@link ServiceOverloadedException}, and the other endpoints stay responsive.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+  private final ThreadPoolExecutor executor;
+  private final Duration retryAfter;
+  private final Timer hashTime;
+  private final Timer waitTime;
+  private final Counter rejected;
+
+  public PasswordHashingExecutor(
+          @Value("${application.security.password-hashing.threads:0}") int threads,
+          @Value("${application.security.password-hashing.queue-capacity:64}") int queueCapacity,
+          @Value("${application.security.password-hashing.retry-after:1s}") Duration retryAfter,
+          MeterRegistry meterRegistry
+  ) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+    this.retryAfter = retryAfter;
+
+    this.hashTime = Timer.builder("auth.password.hashing.duration")
+            .description("Time spent computing a password hash")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.waitTime = Timer.builder("auth.password.hashing.wait")
+            .description("Time a hash waited in the queue before a thread picked it up")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.rejected = meterRegistry.counter("auth.password.hashing.rejected");
+    Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+            .description("Hashes waiting for a thread")
+            .register(meterRegistry);
+    Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Hashes being computed")
+            .register(meterRegistry);
+
+    log.info("Password hashing on {} threads with a queue of {}", poolSize, queueCapacity);
+  }
+
+  /**
+   * Runs {@code hashing} on the pool and waits for its result.
+   *
+   * @throws ServiceOverloadedException when the queue is full
+   */
+  public <T> T execute(Callable<T> hashing) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        waitTime.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+        try {
+          return hashing.call();
+        } finally {
+          hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceOverloadedException("Too many password checks in progress, try again later", retryAfter);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
@@ -1,7 +1,7 @@
 package com.ems.authservice.config.security.user;
 
-import com.ems.authservice.client.EmployeeClient;
 import com.ems.authservice.entity.Employee;
+import com.ems.authservice.service.CredentialService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,17 +11,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class AppUserService implements UserDetailsService {
-   private final EmployeeClient employeeClient;
+   private final CredentialService credentialService;
 
-  public AppUserService(EmployeeClient employeeClient) {
-    this.employeeClient = employeeClient;
+  public AppUserService(CredentialService credentialService) {
+    this.credentialService = credentialService;
   }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
     log.info("Attempting to load user by email: {}", username);
     try {
-      Employee employee = employeeClient.getEmployeeByEmail(username);
+      Employee employee = credentialService.findByEmail(username);
       if (employee == null) {
         throw new UsernameNotFoundException("Employee with email " + username + " not found");
       }
@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -33,7 +34,8 @@ public class AuthController {
           @ApiResponse(responseCode = "200", description = "Login successful",
                   content = @Content(schema = @Schema(implementation = AuthResponse.class))),
           @ApiResponse(responseCode = "400", description = "Invalid input data"),
-          @ApiResponse(responseCode = "401", description = "Invalid credentials")
+          @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+          @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry after the Retry-After header")
   })
   @PostMapping("/login")
   public ResponseEntity<AuthResponse> login(
@@ -63,4 +65,22 @@ public class AuthController {
     authService.changePassword(request, user);
     return ResponseEntity.ok(new StringResponse("Password changed successfully"));
   }
+
+  @Operation(
+          summary = "Logout",
+          description = "Revokes the access token used for this request",
+          security = @SecurityRequirement(name = "Bearer Authentication")
+  )
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Logged out successfully",
+                  content = @Content(schema = @Schema(implementation = StringResponse.class))),
+          @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+  })
+  @PostMapping("/logout")
+  public ResponseEntity<StringResponse> logout(
+          @Parameter(hidden = true) @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization
+  ) {
+    authService.logout(authorization.replaceFirst("^Bearer ", ""));
+    return ResponseEntity.ok(new StringResponse("Logged out successfully"));
+  }
 }
@@ -0,0 +1,47 @@
+package com.ems.authservice.entity;
+
+import com.ems.authservice.entity.enums.EmployeeStatus;
+import com.ems.authservice.entity.enums.Roles;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * auth-service's own copy of what it needs to sign an employee in. It is kept up
+ * to date from employee-service's employee-credentials topic. {@code version} is
+ * the version of the employee row the copy was taken from, so that late events
+ * cannot overwrite newer data; -1 when it is not known yet.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "credentials",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_credential_email", columnNames = "email")
+        })
+public class Credential {
+
+  @Id
+  private UUID id;
+
+  @Column(nullable = false, unique = true, length = 150)
+  private String email;
+
+  @Column(nullable = false, length = 150)
+  private String password;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private EmployeeStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Roles role;
+
+  @Column(nullable = false)
+  private long version;
+}
@@ -0,0 +1,26 @@
+package com.ems.authservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Same shape as employee-service's event on the employee-changed topic. The
+ * employee's record changed; {@code previousEmail} is set when it moved to another
+ * email. {@code occurredAt} is epoch milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+  private UUID employeeId;
+  private String email;
+  private String previousEmail;
+  private String change;
+  private long occurredAt;
+}
@@ -0,0 +1,30 @@
+package com.ems.authservice.event;
+
+import com.ems.authservice.entity.enums.EmployeeStatus;
+import com.ems.authservice.entity.enums.Roles;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Same shape as employee-service's event on the employee-credentials topic. It
+ * carries an employee's sign-in details after a change, and the version of the
+ * employee row they were read from. A deleted employee arrives as a tombstone
+ * instead, with no event at all.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeCredentialsEvent {
+
+  private UUID employeeId;
+  private String email;
+  private String passwordHash;
+  private EmployeeStatus status;
+  private Roles role;
+  private long version;
+}
@@ -0,0 +1,25 @@
+package com.ems.authservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Brings employee-service's copy of an employee's password hash in line with the
+ * credential store, after a re-hash with the current algorithm and work factor or
+ * a password change. It only applies while the stored hash is still
+ * {@code previousHash}, so it cannot undo a change that raced it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordRehashedEvent {
+
+  private UUID employeeId;
+  private String previousHash;
+  private String passwordHash;
+}
@@ -0,0 +1,25 @@
+package com.ems.authservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revokes a single token when {@code tokenId} is set, otherwise every token of
+ * {@code subject} issued before {@code notBefore}. Times are epoch seconds;
+ * {@code expiresAt} is when the revocation stops mattering because every token it
+ * covers has expired.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedEvent {
+
+  private String subject;
+  private String tokenId;
+  private Long notBefore;
+  private Long expiresAt;
+  private String reason;
+}
@@ -2,6 +2,8 @@ package com.ems.authservice.exception;
 
 import com.ems.authservice.exception.custom.AuthenticationException;
 import com.ems.authservice.exception.custom.ResourceNotFoundException;
+import com.ems.authservice.exception.custom.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -36,6 +38,18 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorMessage> handleServiceOverloadedException(ServiceOverloadedException ex) {
+    ErrorMessage error = ErrorMessage.builder()
+        .timestamp(LocalDateTime.now())
+        .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .message(ex.getMessage())
+        .build();
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+        .body(error);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ErrorMessage> handleValidationExceptions(MethodArgumentNotValidException ex) {
     Map<String, String> errors = new HashMap<>();
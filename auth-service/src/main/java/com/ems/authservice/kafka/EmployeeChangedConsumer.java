@@ -0,0 +1,26 @@
+package com.ems.authservice.kafka;
+
+import com.ems.authservice.client.EmployeeNearCache;
+import com.ems.authservice.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeChangedConsumer {
+
+  private final EmployeeNearCache employeeNearCache;
+
+  @KafkaListener(
+          topics = "${kafka.topic.employee-changed}",
+          containerFactory = "employeeChangedListenerContainerFactory"
+  )
+  public void consumeEmployeeChangedEvent(EmployeeChangedEvent event) {
+    log.info("Received employee changed event for employee: {} ({})", event.getEmployeeId(), event.getChange());
+    employeeNearCache.invalidate(event.getEmail(), event.getOccurredAt());
+    employeeNearCache.invalidate(event.getPreviousEmail(), event.getOccurredAt());
+  }
+}
@@ -0,0 +1,38 @@
+package com.ems.authservice.kafka;
+
+import com.ems.authservice.event.EmployeeCredentialsEvent;
+import com.ems.authservice.service.CredentialService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeCredentialsConsumer {
+
+  private final CredentialService credentialService;
+
+  @KafkaListener(
+          topics = "${kafka.topic.employee-credentials}",
+          containerFactory = "employeeCredentialsListenerContainerFactory"
+  )
+  public void consumeEmployeeCredentialsEvent(
+          @Payload(required = false) EmployeeCredentialsEvent event,
+          @Header(KafkaHeaders.RECEIVED_KEY) String employeeId
+  ) {
+    log.info("Received employee credentials event for employee: {}", employeeId);
+    // A tombstone: the employee was deleted
+    if (event == null) {
+      credentialService.remove(UUID.fromString(employeeId));
+      return;
+    }
+    credentialService.apply(event);
+  }
+}
@@ -0,0 +1,24 @@
+package com.ems.authservice.kafka;
+
+import com.ems.authservice.event.PasswordRehashedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordRehashProducer {
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+
+  @Value("${kafka.topic.password-rehashed}")
+  private String passwordRehashedTopic;
+
+  public void publishPasswordRehashedEvent(PasswordRehashedEvent event) {
+    log.info("Publishing password rehashed event for employee: {}", event.getEmployeeId());
+    kafkaTemplate.send(passwordRehashedTopic, event.getEmployeeId().toString(), event);
+  }
+}
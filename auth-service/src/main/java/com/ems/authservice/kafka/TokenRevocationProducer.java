@@ -0,0 +1,24 @@
+package com.ems.authservice.kafka;
+
+import com.ems.authservice.event.TokenRevokedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationProducer {
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+
+  @Value("${kafka.topic.token-revoked}")
+  private String tokenRevokedTopic;
+
+  public void publishTokenRevokedEvent(TokenRevokedEvent event) {
+    log.info("Publishing token revoked event for subject: {} ({})", event.getSubject(), event.getReason());
+    kafkaTemplate.send(tokenRevokedTopic, event.getSubject(), event);
+  }
+}
@@ -0,0 +1,42 @@
+package com.ems.authservice.repository;
+
+import com.ems.authservice.entity.Credential;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CredentialRepository extends JpaRepository<Credential, UUID> {
+  Optional<Credential> findByEmail(String email);
+
+  @Modifying
+  @Query("delete from Credential c where c.email = :email and c.id <> :id")
+  int deleteByEmailAndIdNot(@Param("email") String email, @Param("id") UUID id);
+
+  @Modifying
+  @Query("update Credential c set c.password = :passwordHash where c.id = :id and c.password = :previousHash")
+  int replacePassword(@Param("id") UUID id, @Param("previousHash") String previousHash,
+                      @Param("passwordHash") String passwordHash);
+
+  /**
+   * Stores a credential fetched from employee-service unless one for the same
+   * employee or email is already there, which is then the newer of the two.
+   *
+   * <p>{@code on conflict do nothing} is PostgreSQL syntax, and auth-service
+   * supports no other database for its credential store.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+          insert into credentials (id, email, password, status, role, version)
+          values (:id, :email, :password, :status, :role, -1)
+          on conflict do nothing""", nativeQuery = true)
+  int insertIfAbsent(@Param("id") UUID id, @Param("email") String email, @Param("password") String password,
+                     @Param("status") String status, @Param("role") String role);
+}
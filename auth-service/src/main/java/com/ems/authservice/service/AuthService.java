@@ -8,4 +8,6 @@ public interface AuthService {
   AuthResponse login(LoginRequest request);
 
   void changePassword(ChangePasswordRequest request, AppUser user);
+
+  void logout(String accessToken);
 }
@@ -1,18 +1,25 @@
 package com.ems.authservice.service;
 
-import com.ems.authservice.client.EmployeeClient;
 import com.ems.authservice.config.security.user.AppUser;
 import com.ems.authservice.dto.*;
 import com.ems.authservice.entity.Employee;
 import com.ems.authservice.entity.enums.EmployeeStatus;
+import com.ems.authservice.event.PasswordRehashedEvent;
+import com.ems.authservice.event.TokenRevokedEvent;
 import com.ems.authservice.exception.custom.AuthenticationException;
 import com.ems.authservice.config.security.JwtUtil;
+import com.ems.authservice.kafka.PasswordRehashProducer;
+import com.ems.authservice.kafka.TokenRevocationProducer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -20,18 +27,20 @@ import java.util.UUID;
 public class AuthServiceImpl implements AuthService {
 
 
-  private final EmployeeClient employeeClient;
+  private final CredentialService credentialService;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
+  private final TokenRevocationProducer tokenRevocationProducer;
+  private final PasswordRehashProducer passwordRehashProducer;
 
   @Override
   public AuthResponse login(LoginRequest request) {
     log.info("Login attempt for email: {}", request.email());
 
-    // Fetch employee data from employee service
+    // Read from the local credential store, which only falls back to employee service on a miss
     Employee employee;
     try {
-      employee = employeeClient.getEmployeeByEmail(request.email());
+      employee = credentialService.findByEmail(request.email());
 
 //      TODO: Properly handle not found emails
     } catch (Exception e) {
@@ -47,6 +56,8 @@ public class AuthServiceImpl implements AuthService {
       throw new AuthenticationException("Account is not active");
     }
 
+    rehashIfOutdated(employee, request.password());
+
     String accessToken = jwtUtil.generateAccessToken(employee);
 
     log.info("Login successful for email: {}", request.email());
@@ -59,6 +70,23 @@ public class AuthServiceImpl implements AuthService {
     );
   }
 
+  /**
+   * Replaces a stored hash made with an older algorithm or an off-target work
+   * factor, now that the plain password is at hand. Failing to do so never fails
+   * the login; it is simply tried again on the next one.
+   */
+  private void rehashIfOutdated(Employee employee, String rawPassword) {
+    if (!passwordEncoder.upgradeEncoding(employee.getPassword())) {
+      return;
+    }
+
+    try {
+      storePassword(employee.getId(), employee.getPassword(), passwordEncoder.encode(rawPassword));
+    } catch (RuntimeException e) {
+      log.warn("Could not re-hash password of employee {}: {}", employee.getId(), e.getMessage());
+    }
+  }
+
   @Override
   public void changePassword(ChangePasswordRequest request, AppUser user) {
     log.info("Changing password for email: {}", user.getUsername());
@@ -66,16 +94,64 @@ public class AuthServiceImpl implements AuthService {
     if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
       throw new AuthenticationException("Current password is incorrect");
     }
-//
-//    // Hash and save new password
+
+    // Hash and save new password
     String newPassword = passwordEncoder.encode(request.newPassword());
+    if (!storePassword(user.user().getId(), user.getPassword(), newPassword)) {
+      throw new AuthenticationException("Password was changed meanwhile, please try again");
+    }
 
-    Employee employee = Employee.builder()
-            .email(user.getUsername())
-            .password(newPassword)
-            .build();
+    // Tokens issued before the change must stop working at the gateway
+    long now = Instant.now().getEpochSecond();
+    tokenRevocationProducer.publishTokenRevokedEvent(TokenRevokedEvent.builder()
+            .subject(user.user().getId().toString())
+            .notBefore(now)
+            .expiresAt(now + TimeUnit.MILLISECONDS.toSeconds(jwtUtil.expiration))
+            .reason("password-changed")
+            .build());
 
-//    TODO: Publish event to update employee's password
     log.info("Password changed successfully for email: {}", user.getUsername());
   }
+
+  /**
+   * Swaps the password hash in the credential store, then has employee-service do
+   * the same to its copy. Neither happens if the stored hash is no longer
+   * {@code previousHash}.
+   */
+  private boolean storePassword(UUID employeeId, String previousHash, String passwordHash) {
+    if (!credentialService.replacePassword(employeeId, previousHash, passwordHash)) {
+      return false;
+    }
+
+    passwordRehashProducer.publishPasswordRehashedEvent(PasswordRehashedEvent.builder()
+            .employeeId(employeeId)
+            .previousHash(previousHash)
+            .passwordHash(passwordHash)
+            .build());
+    return true;
+  }
+
+  @Override
+  public void logout(String accessToken) {
+    Claims claims;
+    try {
+      claims = jwtUtil.parseClaims(accessToken);
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new AuthenticationException("Invalid token");
+    }
+
+    if (claims.getId() == null) {
+      // Issued before tokens carried an ID; it simply runs out at its expiry
+      return;
+    }
+
+    tokenRevocationProducer.publishTokenRevokedEvent(TokenRevokedEvent.builder()
+            .subject(claims.getSubject())
+            .tokenId(claims.getId())
+            .expiresAt(claims.getExpiration().toInstant().getEpochSecond())
+            .reason("logout")
+            .build());
+
+    log.info("Logged out token {} of subject {}", claims.getId(), claims.getSubject());
+  }
 }
@@ -0,0 +1,125 @@
+package com.ems.authservice.service;
+
+import com.ems.authservice.client.EmployeeNearCache;
+import com.ems.authservice.entity.Credential;
+import com.ems.authservice.entity.Employee;
+import com.ems.authservice.event.EmployeeCredentialsEvent;
+import com.ems.authservice.repository.CredentialRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Looks employees up in auth-service's own credential store, so that signing in
+ * does not depend on employee-service. The store is filled from employee-service's
+ * employee-credentials topic. An employee not in it yet, such as one that has not
+ * changed since the store was introduced, is fetched from employee-service once
+ * and kept.
+ *
+ * <p>Lookups are counted in {@code auth.credentials.lookups}, tagged with the
+ * {@code source} that answered them.
+ */
+@Slf4j
+@Service
+public class CredentialService {
+  private final CredentialRepository credentialRepository;
+  private final EmployeeNearCache employeeNearCache;
+  private final Counter localLookups;
+  private final Counter remoteLookups;
+
+  public CredentialService(
+          CredentialRepository credentialRepository,
+          EmployeeNearCache employeeNearCache,
+          MeterRegistry meterRegistry
+  ) {
+    this.credentialRepository = credentialRepository;
+    this.employeeNearCache = employeeNearCache;
+    this.localLookups = lookupCounter(meterRegistry, "store");
+    this.remoteLookups = lookupCounter(meterRegistry, "employee-service");
+  }
+
+  public Employee findByEmail(String email) {
+    Optional<Credential> credential = credentialRepository.findByEmail(email);
+    if (credential.isPresent()) {
+      localLookups.increment();
+      return toEmployee(credential.get());
+    }
+
+    remoteLookups.increment();
+    Employee employee = employeeNearCache.getEmployeeByEmail(email);
+    if (employee != null && employee.getPassword() != null && employee.getStatus() != null && employee.getRole() != null) {
+      credentialRepository.insertIfAbsent(employee.getId(), employee.getEmail(), employee.getPassword(),
+              employee.getStatus().name(), employee.getRole().name());
+    }
+    return employee;
+  }
+
+  /**
+   * Swaps the stored hash for {@code passwordHash}, unless it changed since
+   * {@code previousHash} was read. The version is left alone: the change only
+   * becomes authoritative once employee-service stores it and sends it back with
+   * a newer version.
+   */
+  @Transactional
+  public boolean replacePassword(UUID employeeId, String previousHash, String passwordHash) {
+    return credentialRepository.replacePassword(employeeId, previousHash, passwordHash) == 1;
+  }
+
+  /**
+   * Applies a change from employee-service, unless the store already holds a
+   * newer version of the employee.
+   */
+  @Transactional
+  public void apply(EmployeeCredentialsEvent event) {
+    Credential credential = credentialRepository.findById(event.getEmployeeId()).orElse(null);
+    if (credential != null && credential.getVersion() > event.getVersion()) {
+      log.info("Skipped outdated credentials of employee {}", event.getEmployeeId());
+      return;
+    }
+
+    // Another employee may still hold the email here if their move off it has not arrived yet
+    credentialRepository.deleteByEmailAndIdNot(event.getEmail(), event.getEmployeeId());
+
+    if (credential == null) {
+      credential = Credential.builder().id(event.getEmployeeId()).build();
+    }
+    credential.setEmail(event.getEmail());
+    credential.setPassword(event.getPasswordHash());
+    credential.setStatus(event.getStatus());
+    credential.setRole(event.getRole());
+    credential.setVersion(event.getVersion());
+    credentialRepository.save(credential);
+    log.info("Stored credentials of employee {}", event.getEmployeeId());
+  }
+
+  /**
+   * Drops the credentials of an employee deleted in employee-service.
+   */
+  @Transactional
+  public void remove(UUID employeeId) {
+    credentialRepository.deleteById(employeeId);
+    log.info("Removed credentials of employee {}", employeeId);
+  }
+
+  private static Employee toEmployee(Credential credential) {
+    return Employee.builder()
+            .id(credential.getId())
+            .email(credential.getEmail())
+            .password(credential.getPassword())
+            .status(credential.getStatus())
+            .role(credential.getRole())
+            .build();
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+    return Counter.builder("auth.credentials.lookups")
+            .description("Credential lookups by the source that answered them")
+            .tag("source", source)
+            .register(meterRegistry);
+  }
+}
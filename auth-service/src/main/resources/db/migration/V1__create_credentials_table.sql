@@ -0,0 +1,16 @@
+-- Events are ordered by the employee row's version; -1 lets the first event for
+-- every employee through
+CREATE TABLE credentials
+(
+    id       UUID         NOT NULL,
+    email    VARCHAR(150) NOT NULL,
+    password VARCHAR(150) NOT NULL,
+    status   VARCHAR(20)  NOT NULL,
+    role     VARCHAR(20)  NOT NULL,
+    version  BIGINT       NOT NULL DEFAULT -1,
+    CONSTRAINT pk_credentials PRIMARY KEY (id)
+);
+
+-- Also the index logins look credentials up by
+ALTER TABLE credentials
+    ADD CONSTRAINT uk_credential_email UNIQUE (email);
@@ -1,26 +1,32 @@
 package com.ems.authservice;
 
-import com.ems.authservice.client.EmployeeClient;
 import com.ems.authservice.config.security.JwtUtil;
 import com.ems.authservice.dto.LoginRequest;
 import com.ems.authservice.dto.AuthResponse;
 import com.ems.authservice.entity.Employee;
+import com.ems.authservice.entity.enums.EmployeeStatus;
 import com.ems.authservice.entity.enums.Roles;
-import com.ems.authservice.service.AuthService;
+import com.ems.authservice.event.PasswordRehashedEvent;
+import com.ems.authservice.exception.custom.AuthenticationException;
+import com.ems.authservice.kafka.PasswordRehashProducer;
+import com.ems.authservice.kafka.TokenRevocationProducer;
+import com.ems.authservice.service.AuthServiceImpl;
+import com.ems.authservice.service.CredentialService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -28,8 +34,11 @@ import static org.mockito.Mockito.*;
 @DisplayName("Auth Service Unit Tests")
 class AuthServiceTest {
 
+    private static final String OUTDATED_HASH = "{bcrypt}$2a$04$outdated";
+    private static final String CURRENT_HASH = "{bcrypt}$2a$12$current";
+
     @Mock
-    private EmployeeClient employeeClient;
+    private CredentialService credentialService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -37,8 +46,14 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private TokenRevocationProducer tokenRevocationProducer;
+
+    @Mock
+    private PasswordRehashProducer passwordRehashProducer;
+
     @InjectMocks
-    private AuthService authService;
+    private AuthServiceImpl authService;
 
     private Employee testEmployee;
     private LoginRequest loginRequest;
@@ -48,7 +63,8 @@ class AuthServiceTest {
         testEmployee = Employee.builder()
                 .id(UUID.randomUUID())
                 .email("john.doe@example.com")
-                .password(passwordEncoder.encode("password123"))
+                .password(CURRENT_HASH)
+                .status(EmployeeStatus.ACTIVE)
                 .role(Roles.EMPLOYEE)
                 .build();
 
@@ -56,12 +72,12 @@ class AuthServiceTest {
     }
 
     @Test
-    @DisplayName("Should login successfully with valid credentials")
+    @DisplayName("Should login successfully with valid credentials from the credential store")
     void shouldLoginSuccessfullyWithValidCredentials() {
         // Given
-        when(employeeClient.getEmployeeByEmail(loginRequest.email()))
+        when(credentialService.findByEmail(loginRequest.email()))
                 .thenReturn(testEmployee);
-        when(passwordEncoder.matches(loginRequest.password(), testEmployee.getPassword()))
+        when(passwordEncoder.matches(loginRequest.password(), CURRENT_HASH))
                 .thenReturn(true);
         when(jwtUtil.generateAccessToken(testEmployee))
                 .thenReturn("access-token");
@@ -71,45 +87,103 @@ class AuthServiceTest {
 
         // Then
         assertThat(response).isNotNull();
+        assertThat(response.employeeId()).isEqualTo(testEmployee.getId());
         assertThat(response.accessToken()).isEqualTo("access-token");
-        
-        verify(employeeClient).getEmployeeByEmail(loginRequest.email());
-        verify(passwordEncoder).matches(loginRequest.password(), testEmployee.getPassword());
-        verify(jwtUtil).generateAccessToken(testEmployee);
+
+        verify(credentialService).findByEmail(loginRequest.email());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(credentialService, never()).replacePassword(any(), anyString(), anyString());
+        verifyNoInteractions(passwordRehashProducer);
     }
 
     @Test
     @DisplayName("Should throw exception when employee not found")
     void shouldThrowExceptionWhenEmployeeNotFound() {
         // Given
-        when(employeeClient.getEmployeeByEmail(loginRequest.email()))
-                .thenThrow(new RuntimeException("Employee not found"));
+        when(credentialService.findByEmail(loginRequest.email()))
+                .thenReturn(null);
 
         // When & Then
         assertThatThrownBy(() -> authService.login(loginRequest))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Employee not found");
+                .isInstanceOf(AuthenticationException.class)
+                .hasMessageContaining("Invalid email or password");
 
-        verify(employeeClient).getEmployeeByEmail(loginRequest.email());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateAccessToken(testEmployee);
+        verify(jwtUtil, never()).generateAccessToken(any());
     }
 
     @Test
     @DisplayName("Should throw exception when password is invalid")
     void shouldThrowExceptionWhenPasswordIsInvalid() {
         // Given
-        when(employeeClient.getEmployeeByEmail(loginRequest.email()))
+        when(credentialService.findByEmail(loginRequest.email()))
                 .thenReturn(testEmployee);
-        when(passwordEncoder.matches(loginRequest.password(), testEmployee.getPassword()))
+        when(passwordEncoder.matches(loginRequest.password(), CURRENT_HASH))
                 .thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> authService.login(loginRequest))
-                .isInstanceOf(BadCredentialsException.class);
+                .isInstanceOf(AuthenticationException.class)
+                .hasMessageContaining("Invalid email or password");
+
+        verify(jwtUtil, never()).generateAccessToken(any());
+        verify(credentialService, never()).replacePassword(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should re-hash an outdated password hash on login")
+    void shouldRehashOutdatedPasswordOnLogin() {
+        // Given
+        testEmployee.setPassword(OUTDATED_HASH);
+        when(credentialService.findByEmail(loginRequest.email()))
+                .thenReturn(testEmployee);
+        when(passwordEncoder.matches(loginRequest.password(), OUTDATED_HASH))
+                .thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(OUTDATED_HASH))
+                .thenReturn(true);
+        when(passwordEncoder.encode(loginRequest.password()))
+                .thenReturn(CURRENT_HASH);
+        when(credentialService.replacePassword(testEmployee.getId(), OUTDATED_HASH, CURRENT_HASH))
+                .thenReturn(true);
+        when(jwtUtil.generateAccessToken(testEmployee))
+                .thenReturn("access-token");
+
+        // When
+        AuthResponse response = authService.login(loginRequest);
+
+        // Then
+        assertThat(response.accessToken()).isEqualTo("access-token");
+
+        ArgumentCaptor<PasswordRehashedEvent> captor = ArgumentCaptor.forClass(PasswordRehashedEvent.class);
+        verify(passwordRehashProducer).publishPasswordRehashedEvent(captor.capture());
+        assertThat(captor.getValue().getEmployeeId()).isEqualTo(testEmployee.getId());
+        assertThat(captor.getValue().getPreviousHash()).isEqualTo(OUTDATED_HASH);
+        assertThat(captor.getValue().getPasswordHash()).isEqualTo(CURRENT_HASH);
+    }
 
-        verify(employeeClient).getEmployeeByEmail(loginRequest.email());
-        verify(passwordEncoder).matches(loginRequest.password(), testEmployee.getPassword());
-        verify(jwtUtil, never()).generateAccessToken(testEmployee);
+    @Test
+    @DisplayName("Should still login when re-hashing the password fails")
+    void shouldLoginWhenRehashFails() {
+        // Given
+        testEmployee.setPassword(OUTDATED_HASH);
+        when(credentialService.findByEmail(loginRequest.email()))
+                .thenReturn(testEmployee);
+        when(passwordEncoder.matches(loginRequest.password(), OUTDATED_HASH))
+                .thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(OUTDATED_HASH))
+                .thenReturn(true);
+        when(passwordEncoder.encode(loginRequest.password()))
+                .thenReturn(CURRENT_HASH);
+        when(credentialService.replacePassword(testEmployee.getId(), OUTDATED_HASH, CURRENT_HASH))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+        when(jwtUtil.generateAccessToken(testEmployee))
+                .thenReturn("access-token");
+
+        // When
+        AuthResponse response = authService.login(loginRequest);
+
+        // Then
+        assertThat(response.accessToken()).isEqualTo("access-token");
+        verifyNoInteractions(passwordRehashProducer);
     }
 }
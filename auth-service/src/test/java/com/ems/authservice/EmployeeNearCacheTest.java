@@ -0,0 +1,92 @@
+package com.ems.authservice;
+
+import com.ems.authservice.client.EmployeeClient;
+import com.ems.authservice.client.EmployeeNearCache;
+import com.ems.authservice.entity.Employee;
+import com.ems.authservice.entity.enums.Roles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Employee Near Cache Unit Tests")
+class EmployeeNearCacheTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeNearCache employeeNearCache;
+    private Employee testEmployee;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeNearCache = new EmployeeNearCache(employeeClient, Duration.ofMinutes(1), 100, meterRegistry);
+        testEmployee = Employee.builder()
+                .id(UUID.randomUUID())
+                .email(EMAIL)
+                .password("{bcrypt}hash")
+                .role(Roles.EMPLOYEE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should call employee-service once for repeated lookups")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(employeeClient.getEmployeeByEmail(EMAIL)).thenReturn(testEmployee);
+
+        // When
+        employeeNearCache.getEmployeeByEmail(EMAIL);
+        Employee employee = employeeNearCache.getEmployeeByEmail(EMAIL);
+
+        // Then
+        assertThat(employee).isSameAs(testEmployee);
+        verify(employeeClient, times(1)).getEmployeeByEmail(EMAIL);
+        assertThat(meterRegistry.get("auth.employee.cache.age").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should look the employee up again after an invalidation")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        when(employeeClient.getEmployeeByEmail(EMAIL)).thenReturn(testEmployee);
+        employeeNearCache.getEmployeeByEmail(EMAIL);
+
+        // When
+        employeeNearCache.invalidate(EMAIL, System.currentTimeMillis());
+        employeeNearCache.getEmployeeByEmail(EMAIL);
+
+        // Then
+        verify(employeeClient, times(2)).getEmployeeByEmail(EMAIL);
+        assertThat(meterRegistry.get("auth.employee.cache.invalidation.lag").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache failed lookups")
+    void shouldNotCacheFailures() {
+        // Given
+        when(employeeClient.getEmployeeByEmail(EMAIL))
+                .thenThrow(new RuntimeException("Employee service is currently unavailable"))
+                .thenReturn(testEmployee);
+
+        // When & Then
+        assertThatThrownBy(() -> employeeNearCache.getEmployeeByEmail(EMAIL))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(employeeNearCache.getEmployeeByEmail(EMAIL)).isSameAs(testEmployee);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ems.authservice;
+
+import com.ems.authservice.config.security.PasswordHashingExecutor;
+import com.ems.authservice.exception.custom.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Password Hashing Executor Unit Tests")
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor =
+            new PasswordHashingExecutor(1, 1, Duration.ofSeconds(2), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should return the result of the hashing task")
+    void shouldReturnResult() {
+        // When
+        boolean matches = executor.execute(() -> true);
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.timer("auth.password.hashing.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject hashing with a retry delay once the thread and queue are taken")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true));
+        while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(2)));
+        assertThat(meterRegistry.counter("auth.password.hashing.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ems.authservice.config.feign;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Instrumented Connection Manager Unit Tests")
+class InstrumentedConnectionManagerTest {
+
+    private static final HttpRoute EMPLOYEE_SERVICE = new HttpRoute(new HttpHost("http", "employee-host", 8020));
+    private static final HttpRoute OTHER_SERVICE = new HttpRoute(new HttpHost("http", "other-host", 8030));
+
+    private SimpleMeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager pool;
+    private InstrumentedConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(10)
+                .setMaxConnPerRoute(5)
+                .build();
+        connectionManager = new InstrumentedConnectionManager(pool, Map.of("employee-host:8020", 1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close(CloseMode.IMMEDIATE);
+    }
+
+    @Test
+    @DisplayName("Should apply the limit configured for a host on its first lease")
+    void shouldApplyHostLimit() throws Exception {
+        // When
+        ConnectionEndpoint employeeEndpoint = connectionManager.lease("1", EMPLOYEE_SERVICE, Timeout.ofSeconds(1), null)
+                .get(Timeout.ofSeconds(1));
+        ConnectionEndpoint otherEndpoint = connectionManager.lease("2", OTHER_SERVICE, Timeout.ofSeconds(1), null)
+                .get(Timeout.ofSeconds(1));
+
+        // Then
+        assertThat(pool.getMaxPerRoute(EMPLOYEE_SERVICE)).isEqualTo(1);
+        assertThat(pool.getMaxPerRoute(OTHER_SERVICE)).isEqualTo(5);
+        assertThat(meterRegistry.get("auth.http.client.pool.acquire").tag("result", "acquired").timer().count())
+                .isEqualTo(2);
+
+        connectionManager.release(employeeEndpoint, null, null);
+        connectionManager.release(otherEndpoint, null, null);
+    }
+
+    @Test
+    @DisplayName("Should record a timed out wait when the host has no free connection")
+    void shouldRecordAcquireTimeout() throws Exception {
+        // Given
+        ConnectionEndpoint endpoint = connectionManager.lease("1", EMPLOYEE_SERVICE, Timeout.ofSeconds(1), null)
+                .get(Timeout.ofSeconds(1));
+
+        // When & Then
+        assertThatThrownBy(() -> connectionManager.lease("2", EMPLOYEE_SERVICE, Timeout.ofMilliseconds(50), null)
+                .get(Timeout.ofMilliseconds(50)))
+                .isInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.get("auth.http.client.pool.acquire").tag("result", "timeout").timer().count())
+                .isEqualTo(1);
+
+        connectionManager.release(endpoint, null, null);
+    }
+
+    @Test
+    @DisplayName("Should let the idle connection evictor reach the wrapped pool")
+    void shouldCloseIdleConnectionsOfWrappedPool() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            // Given
+            HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", server.getLocalPort()));
+            ConnectionEndpoint endpoint = connectionManager.lease("1", route, Timeout.ofSeconds(1), null)
+                    .get(Timeout.ofSeconds(1));
+            connectionManager.connect(endpoint, TimeValue.ofSeconds(1), HttpClientContext.create());
+            connectionManager.release(endpoint, null, TimeValue.ofMinutes(1));
+            assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(1);
+
+            // When
+            connectionManager.closeIdle(TimeValue.ZERO_MILLISECONDS);
+
+            // Then
+            assertThat(pool.getStats(route).getAvailable()).isZero();
+        }
+    }
+}
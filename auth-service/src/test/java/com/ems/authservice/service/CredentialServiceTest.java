@@ -0,0 +1,155 @@
+package com.ems.authservice.service;
+
+import com.ems.authservice.client.EmployeeNearCache;
+import com.ems.authservice.entity.Credential;
+import com.ems.authservice.entity.Employee;
+import com.ems.authservice.entity.enums.EmployeeStatus;
+import com.ems.authservice.entity.enums.Roles;
+import com.ems.authservice.event.EmployeeCredentialsEvent;
+import com.ems.authservice.repository.CredentialRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Credential Service Unit Tests")
+class CredentialServiceTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    @Mock
+    private CredentialRepository credentialRepository;
+
+    @Mock
+    private EmployeeNearCache employeeNearCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialService credentialService;
+    private Credential testCredential;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        credentialService = new CredentialService(credentialRepository, employeeNearCache, meterRegistry);
+        testCredential = Credential.builder()
+                .id(UUID.randomUUID())
+                .email(EMAIL)
+                .password("{bcrypt}hash")
+                .status(EmployeeStatus.ACTIVE)
+                .role(Roles.EMPLOYEE)
+                .version(3)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer from the store without calling employee-service")
+    void shouldFindStoredCredential() {
+        // Given
+        when(credentialRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testCredential));
+
+        // When
+        Employee employee = credentialService.findByEmail(EMAIL);
+
+        // Then
+        assertThat(employee.getId()).isEqualTo(testCredential.getId());
+        assertThat(employee.getPassword()).isEqualTo(testCredential.getPassword());
+        verifyNoInteractions(employeeNearCache);
+        assertThat(meterRegistry.get("auth.credentials.lookups").tag("source", "store").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fetch and keep an employee missing from the store")
+    void shouldFetchMissingCredential() {
+        // Given
+        Employee remote = Employee.builder()
+                .id(testCredential.getId())
+                .email(EMAIL)
+                .password("{bcrypt}hash")
+                .status(EmployeeStatus.ACTIVE)
+                .role(Roles.EMPLOYEE)
+                .build();
+        when(credentialRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(employeeNearCache.getEmployeeByEmail(EMAIL)).thenReturn(remote);
+
+        // When
+        Employee employee = credentialService.findByEmail(EMAIL);
+
+        // Then
+        assertThat(employee).isSameAs(remote);
+        verify(credentialRepository).insertIfAbsent(remote.getId(), EMAIL, "{bcrypt}hash", "ACTIVE", "EMPLOYEE");
+    }
+
+    @Test
+    @DisplayName("Should ignore an event older than the stored credential")
+    void shouldSkipOutdatedEvent() {
+        // Given
+        when(credentialRepository.findById(testCredential.getId())).thenReturn(Optional.of(testCredential));
+        EmployeeCredentialsEvent event = EmployeeCredentialsEvent.builder()
+                .employeeId(testCredential.getId())
+                .email(EMAIL)
+                .passwordHash("{bcrypt}older")
+                .status(EmployeeStatus.ACTIVE)
+                .role(Roles.EMPLOYEE)
+                .version(2)
+                .build();
+
+        // When
+        credentialService.apply(event);
+
+        // Then
+        verify(credentialRepository, never()).save(any());
+        assertThat(testCredential.getPassword()).isEqualTo("{bcrypt}hash");
+    }
+
+    @Test
+    @DisplayName("Should store a new employee and free its email from another one")
+    void shouldStoreNewCredential() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        when(credentialRepository.findById(employeeId)).thenReturn(Optional.empty());
+        EmployeeCredentialsEvent event = EmployeeCredentialsEvent.builder()
+                .employeeId(employeeId)
+                .email(EMAIL)
+                .passwordHash("{bcrypt}new")
+                .status(EmployeeStatus.ACTIVE)
+                .role(Roles.MANAGER)
+                .version(0)
+                .build();
+
+        // When
+        credentialService.apply(event);
+
+        // Then
+        ArgumentCaptor<Credential> saved = ArgumentCaptor.forClass(Credential.class);
+        verify(credentialRepository).deleteByEmailAndIdNot(EMAIL, employeeId);
+        verify(credentialRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo(employeeId);
+        assertThat(saved.getValue().getRole()).isEqualTo(Roles.MANAGER);
+        assertThat(saved.getValue().getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should delete the credential of a removed employee")
+    void shouldDeleteRemovedEmployee() {
+        // When
+        credentialService.remove(testCredential.getId());
+
+        // Then
+        verify(credentialRepository).deleteById(testCredential.getId());
+        verify(credentialRepository, never()).deleteByEmailAndIdNot(anyString(), any());
+    }
+}
@@ -2,8 +2,10 @@ package com.ems.employeeservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
+@EnableAsync
 public class EmployeeServiceApplication {
 
 	public static void main(String[] args) {
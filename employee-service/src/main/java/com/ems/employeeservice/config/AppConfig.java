@@ -1,16 +1,21 @@
 package com.ems.employeeservice.config;
 
+import com.ems.common.security.CalibratedPasswordEncoder;
+import com.ems.common.security.PasswordHashingProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class AppConfig {
+  private final PasswordHashingProperties passwordHashingProperties;
+
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(10);
+    return CalibratedPasswordEncoder.calibrate(passwordHashingProperties);
   }
 }
@@ -1,10 +1,13 @@
 package com.ems.employeeservice.config.kafka;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -33,4 +36,17 @@ public class KafkaProducerConfig {
   public KafkaTemplate<String, Object> kafkaTemplate() {
     return new KafkaTemplate<>(producerFactory());
   }
+
+  /**
+   * Compacted, so that it keeps the latest credentials of every employee and a new
+   * credential store can be filled by reading it from the start.
+   */
+  @Bean
+  public NewTopic employeeCredentialsTopic(@Value("${kafka.topic.employee-credentials}") String name) {
+    return TopicBuilder.name(name)
+            .partitions(3)
+            .replicas(1)
+            .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+            .build();
+  }
 }
@@ -26,7 +26,7 @@ import java.util.UUID;
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_employee_email", columnNames = "email")
         })
-@SQLDelete(sql = "UPDATE employees SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE employees SET deleted_at = NOW() WHERE id = ? AND version = ?")
 @SQLRestriction("deleted_at IS NULL")
 public class Employee {
 
@@ -66,6 +66,10 @@ public class Employee {
   @Column(name = "deleted_at")
   private LocalDateTime deletedAt;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "department_id", foreignKey = @ForeignKey(name = "fk_employee_department"))
   private Department department;
@@ -1,6 +1,7 @@
 package com.ems.employeeservice.employee;
 
 import com.ems.employeeservice.config.security.enums.UserHttpHeaders;
+import com.ems.employeeservice.department.dto.DepartmentResponse;
 import com.ems.employeeservice.employee.dto.AuthServiceEmployeeResponse;
 import com.ems.employeeservice.employee.dto.EmployeeRequest;
 import com.ems.employeeservice.employee.dto.EmployeeResponse;
@@ -128,6 +129,37 @@ public class EmployeeController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(
+          summary = "Get an employee's department",
+          description = "Retrieves the department of an employee with the same role-based access control " +
+                  "as getting the employee, so callers can fetch profile and department concurrently."
+  )
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Department retrieved successfully",
+                  content = @Content(schema = @Schema(implementation = DepartmentResponse.class))),
+          @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+          @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions"),
+          @ApiResponse(responseCode = "404", description = "Employee not found or not in a department")
+  })
+  @GetMapping("/{id}/department")
+  @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+  public ResponseEntity<DepartmentResponse> getEmployeeDepartment(
+          @Parameter(description = "Employee ID", required = true) @PathVariable UUID id,
+          @Parameter(hidden = true) @RequestHeader(UserHttpHeaders.X_EMPLOYEE_ROLE) EmployeeRole role,
+          @Parameter(hidden = true) @RequestHeader(UserHttpHeaders.X_EMPLOYEE_ID) UUID requesterId) {
+    DepartmentResponse response;
+
+    if (role == EmployeeRole.MANAGER) {
+      response = employeeService.getEmployeeDepartment(id, requesterId);
+    } else if (role == EmployeeRole.EMPLOYEE) {
+      response = employeeService.getEmployeeDepartment(requesterId, null);
+    } else {
+      response = employeeService.getEmployeeDepartment(id, null);
+    }
+
+    return ResponseEntity.ok(response);
+  }
+
   @Operation(
           summary = "Get all employees",
           description = "Retrieves all employees with role-based filtering. " +
@@ -2,6 +2,9 @@ package com.ems.employeeservice.employee;
 
 import com.ems.employeeservice.department.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,8 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
   List<Employee> findByDepartmentIdAndIdNot(UUID departmentId, UUID managerId);
   List<Employee> findByIdNot(UUID managerId);
 
+  @Modifying
+  @Query("update Employee e set e.password = :passwordHash, e.version = e.version + 1 where e.id = :id and e.password = :previousHash")
+  int replacePassword(@Param("id") UUID id, @Param("previousHash") String previousHash, @Param("passwordHash") String passwordHash);
+
 }
@@ -1,5 +1,6 @@
 package com.ems.employeeservice.employee.service;
 
+import com.ems.employeeservice.department.dto.DepartmentResponse;
 import com.ems.employeeservice.employee.dto.AuthServiceEmployeeResponse;
 import com.ems.employeeservice.employee.dto.EmployeeRequest;
 import com.ems.employeeservice.employee.dto.EmployeeResponse;
@@ -16,8 +17,12 @@ public interface EmployeeService {
   void deleteEmployee(UUID id);
   
   EmployeeResponse getEmployeeById(UUID employeeId, UUID managerId);
+
+  DepartmentResponse getEmployeeDepartment(UUID employeeId, UUID managerId);
   
   List<EmployeeResponse> getAllEmployees(UUID requesterId);
   
   AuthServiceEmployeeResponse getEmployeeByEmail(String email);
+
+  boolean replacePasswordHash(UUID id, String previousHash, String passwordHash);
 }
@@ -2,6 +2,7 @@ package com.ems.employeeservice.employee.service;
 
 import com.ems.employeeservice.department.Department;
 import com.ems.employeeservice.department.DepartmentRepository;
+import com.ems.employeeservice.department.dto.DepartmentResponse;
 import com.ems.employeeservice.employee.Employee;
 import com.ems.employeeservice.employee.EmployeeRepository;
 import com.ems.employeeservice.employee.dto.AuthServiceEmployeeResponse;
@@ -67,6 +68,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             .build();
 
     employeeEventProducer.publishEmployeeCreatedEvent(event);
+    employeeEventProducer.publishEmployeeCredentialsEvent(savedEmployee);
 
     return mapToResponse(savedEmployee);
   }
@@ -79,6 +81,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     Employee employee = employeeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
+    String previousEmail = employee.getEmail();
     employee.setFirstName(request.firstName());
     employee.setLastName(request.lastName());
     employee.setEmail(request.email());
@@ -91,6 +94,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     Employee updatedEmployee = employeeRepository.save(employee);
+    employeeEventProducer.publishEmployeeChangedEvent(id, updatedEmployee.getEmail(),
+            previousEmail.equals(updatedEmployee.getEmail()) ? null : previousEmail, "updated");
+    employeeEventProducer.publishEmployeeCredentialsEvent(updatedEmployee);
     log.info("Employee updated successfully with id: {}", updatedEmployee.getId());
 
     return mapToResponse(updatedEmployee);
@@ -105,6 +111,9 @@ public class EmployeeServiceImpl implements EmployeeService {
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
     employeeRepository.delete(employee);
+    employeeEventProducer.publishTokensRevokedEvent(id, "employee-deleted");
+    employeeEventProducer.publishEmployeeChangedEvent(id, employee.getEmail(), null, "deleted");
+    employeeEventProducer.publishEmployeeCredentialsRemoved(id);
     log.info("Employee deleted successfully with id: {}", id);
   }
 
@@ -113,20 +122,24 @@ public class EmployeeServiceImpl implements EmployeeService {
   public EmployeeResponse getEmployeeById(UUID employeeId, UUID managerId) {
     log.info("Fetching employee with id: {}", employeeId);
 
-    Employee employee;
+    return mapToResponse(findVisibleEmployee(employeeId, managerId));
+  }
 
-    if (managerId != null) {
-      Employee manager = employeeRepository.findById(managerId)
-              .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + managerId));
+  @Override
+  @Transactional(readOnly = true)
+  public DepartmentResponse getEmployeeDepartment(UUID employeeId, UUID managerId) {
+    log.info("Fetching department of employee with id: {}", employeeId);
 
-      employee = employeeRepository.findAllByIdAndDepartmentId(employeeId, manager.getDepartment().getId())
-              .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
-    } else {
-      employee = employeeRepository.findById(employeeId)
-              .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+    Department department = findVisibleEmployee(employeeId, managerId).getDepartment();
+    if (department == null) {
+      throw new ResourceNotFoundException("Employee with id " + employeeId + " has no department");
     }
 
-    return mapToResponse(employee);
+    return new DepartmentResponse(
+            department.getId(),
+            department.getName(),
+            department.getCreatedAt(),
+            department.getUpdatedAt());
   }
 
   @Override
@@ -163,6 +176,40 @@ public class EmployeeServiceImpl implements EmployeeService {
     return mapToAuthServiceResponse(employee);
   }
 
+  /**
+   * Swaps the stored password hash for the one auth-service now holds, after a
+   * re-hash or a password change, unless it changed here since
+   * {@code previousHash} was read.
+   */
+  @Override
+  @Transactional
+  public boolean replacePasswordHash(UUID id, String previousHash, String passwordHash) {
+    boolean replaced = employeeRepository.replacePassword(id, previousHash, passwordHash) == 1;
+    if (replaced) {
+      employeeRepository.findById(id).ifPresent(employee -> {
+        employeeEventProducer.publishEmployeeChangedEvent(id, employee.getEmail(), null, "password-changed");
+        employeeEventProducer.publishEmployeeCredentialsEvent(employee);
+      });
+      log.info("Password hash of employee {} upgraded", id);
+    } else {
+      log.info("Password hash of employee {} changed since it was read, re-hash skipped", id);
+    }
+    return replaced;
+  }
+
+  private Employee findVisibleEmployee(UUID employeeId, UUID managerId) {
+    if (managerId != null) {
+      Employee manager = employeeRepository.findById(managerId)
+              .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + managerId));
+
+      return employeeRepository.findAllByIdAndDepartmentId(employeeId, manager.getDepartment().getId())
+              .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+    }
+
+    return employeeRepository.findById(employeeId)
+            .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+  }
+
   private EmployeeResponse mapToResponse(Employee employee) {
     return EmployeeResponse.builder()
             .id(employee.getId())
@@ -0,0 +1,27 @@
+package com.ems.employeeservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Tells copies of an employee's record kept by other services, such as
+ * auth-service's lookup cache, that it changed. {@code previousEmail} is set when
+ * the change moved the employee to another email. {@code occurredAt} is epoch
+ * milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+  private UUID employeeId;
+  private String email;
+  private String previousEmail;
+  private String change;
+  private long occurredAt;
+}
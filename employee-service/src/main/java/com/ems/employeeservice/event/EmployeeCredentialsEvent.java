@@ -0,0 +1,31 @@
+package com.ems.employeeservice.event;
+
+import com.ems.employeeservice.employee.enums.EmployeeRole;
+import com.ems.employeeservice.employee.enums.EmployeeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The sign-in details of an employee as they stand after a change, for
+ * auth-service's own credential store. {@code version} is the employee row's
+ * version once the change committed, and orders events of the same employee. A
+ * deleted employee is announced by a tombstone, a record with their ID as key and
+ * no value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeCredentialsEvent {
+
+  private UUID employeeId;
+  private String email;
+  private String passwordHash;
+  private EmployeeStatus status;
+  private EmployeeRole role;
+  private long version;
+}
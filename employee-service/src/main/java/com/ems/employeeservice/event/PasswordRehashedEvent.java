@@ -0,0 +1,23 @@
+package com.ems.employeeservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Same shape as auth-service's event on the password-rehashed topic. The stored hash
+ * becomes {@code passwordHash}, but only while it is still {@code previousHash}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordRehashedEvent {
+
+  private UUID employeeId;
+  private String previousHash;
+  private String passwordHash;
+}
@@ -0,0 +1,23 @@
+package com.ems.employeeservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Same shape as auth-service's event on the token-revoked topic. Every token of
+ * {@code subject} issued before {@code notBefore} (epoch seconds) is revoked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedEvent {
+
+  private String subject;
+  private String tokenId;
+  private Long notBefore;
+  private Long expiresAt;
+  private String reason;
+}
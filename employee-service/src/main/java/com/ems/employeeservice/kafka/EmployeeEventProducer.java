@@ -1,11 +1,21 @@
 package com.ems.employeeservice.kafka;
 
+import com.ems.employeeservice.employee.Employee;
+import com.ems.employeeservice.event.EmployeeChangedEvent;
+import com.ems.employeeservice.event.EmployeeCredentialsEvent;
 import com.ems.employeeservice.event.EmployeeCreatedEvent;
+import com.ems.employeeservice.event.TokenRevokedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -17,9 +27,113 @@ public class EmployeeEventProducer {
   @Value("${kafka.topic.employee-created}")
   private String employeeCreatedTopic;
 
+  @Value("${kafka.topic.employee-changed}")
+  private String employeeChangedTopic;
+
+  @Value("${kafka.topic.employee-credentials}")
+  private String employeeCredentialsTopic;
+
+  @Value("${kafka.topic.token-revoked}")
+  private String tokenRevokedTopic;
+
+  @Value("${application.security.jwt.expiration:86400000}")
+  private long tokenExpirationMillis;
+
   public void publishEmployeeCreatedEvent(EmployeeCreatedEvent event) {
     log.info("Publishing employee created event for employee: {}", event.getEmployeeId());
     kafkaTemplate.send(employeeCreatedTopic, event.getEmployeeId().toString(), event);
     log.info("Employee created event published successfully");
   }
+
+  /**
+   * Announces that the employee's record changed, so that other services drop what
+   * they hold of it under {@code email} and {@code previousEmail}. Within a
+   * transaction the event is only sent once it commits, so a service reloading the
+   * employee right away sees the change.
+   */
+  public void publishEmployeeChangedEvent(UUID employeeId, String email, String previousEmail, String change) {
+    EmployeeChangedEvent event = EmployeeChangedEvent.builder()
+            .employeeId(employeeId)
+            .email(email)
+            .previousEmail(previousEmail)
+            .change(change)
+            .occurredAt(System.currentTimeMillis())
+            .build();
+
+    afterCommit(() -> {
+      log.info("Publishing employee changed event for employee: {} ({})", employeeId, change);
+      kafkaTemplate.send(employeeChangedTopic, employeeId.toString(), event);
+    });
+  }
+
+  /**
+   * Sends the employee's current sign-in details to auth-service's credential
+   * store once the transaction commits. The event is built then, so that it carries
+   * the version the change was stored with. Events are keyed by employee ID, so
+   * those of one employee arrive in order.
+   */
+  public void publishEmployeeCredentialsEvent(Employee employee) {
+    afterCommit(() -> {
+      EmployeeCredentialsEvent event = EmployeeCredentialsEvent.builder()
+              .employeeId(employee.getId())
+              .email(employee.getEmail())
+              .passwordHash(employee.getPassword())
+              .status(employee.getStatus())
+              .role(employee.getRole())
+              .version(employee.getVersion())
+              .build();
+
+      log.info("Publishing employee credentials event for employee: {}", employee.getId());
+      kafkaTemplate.send(employeeCredentialsTopic, employee.getId().toString(), event);
+    });
+  }
+
+  /**
+   * Removes the employee from auth-service's credential store once the transaction
+   * commits, with a tombstone that also lets compaction drop their earlier events.
+   */
+  public void publishEmployeeCredentialsRemoved(UUID employeeId) {
+    afterCommit(() -> {
+      log.info("Publishing employee credentials tombstone for employee: {}", employeeId);
+      kafkaTemplate.send(employeeCredentialsTopic, employeeId.toString(), null);
+    });
+  }
+
+  /**
+   * Revokes every token issued to the employee so far, for when their access ends.
+   * The event is sent once the transaction commits, so a rolled back change leaves
+   * the employee signed in, and it covers the tokens issued until then.
+   */
+  public void publishTokensRevokedEvent(UUID employeeId, String reason) {
+    afterCommit(() -> {
+      long now = Instant.now().getEpochSecond();
+      TokenRevokedEvent event = TokenRevokedEvent.builder()
+              .subject(employeeId.toString())
+              .notBefore(now)
+              .expiresAt(now + TimeUnit.MILLISECONDS.toSeconds(tokenExpirationMillis))
+              .reason(reason)
+              .build();
+
+      log.info("Publishing token revoked event for employee: {} ({})", employeeId, reason);
+      kafkaTemplate.send(tokenRevokedTopic, event.getSubject(), event);
+    });
+  }
+
+  /**
+   * Runs {@code send} once the current transaction commits, and not at all if it
+   * rolls back. Outside a transaction it runs at once.
+   */
+  private void afterCommit(Runnable send) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      send.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        send.run();
+      }
+    });
+  }
 }
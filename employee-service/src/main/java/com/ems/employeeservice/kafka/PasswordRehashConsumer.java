@@ -0,0 +1,26 @@
+package com.ems.employeeservice.kafka;
+
+import com.ems.employeeservice.employee.service.EmployeeService;
+import com.ems.employeeservice.event.PasswordRehashedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashConsumer {
+
+  private final EmployeeService employeeService;
+
+  @KafkaListener(
+          topics = "${kafka.topic.password-rehashed}",
+          groupId = "${spring.kafka.consumer.group-id}",
+          containerFactory = "passwordRehashedListenerContainerFactory"
+  )
+  public void consumePasswordRehashedEvent(PasswordRehashedEvent event) {
+    log.info("Received password rehashed event for employee: {}", event.getEmployeeId());
+    employeeService.replacePasswordHash(event.getEmployeeId(), event.getPreviousHash(), event.getPasswordHash());
+  }
+}
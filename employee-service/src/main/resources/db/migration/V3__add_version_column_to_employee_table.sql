@@ -0,0 +1,2 @@
+ALTER TABLE employees
+    ADD version BIGINT NOT NULL DEFAULT 0;
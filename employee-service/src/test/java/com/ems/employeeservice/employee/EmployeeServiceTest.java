@@ -2,10 +2,11 @@ package com.ems.employeeservice.employee;
 
 import com.ems.employeeservice.department.Department;
 import com.ems.employeeservice.department.DepartmentRepository;
+import com.ems.employeeservice.department.dto.DepartmentResponse;
 import com.ems.employeeservice.employee.dto.EmployeeRequest;
 import com.ems.employeeservice.employee.dto.EmployeeResponse;
 import com.ems.employeeservice.employee.enums.EmployeeRole;
-import com.ems.employeeservice.employee.service.EmployeeService;
+import com.ems.employeeservice.employee.service.EmployeeServiceImpl;
 import com.ems.employeeservice.exception.custom.ResourceNotFoundException;
 import com.ems.employeeservice.kafka.EmployeeEventProducer;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,7 +43,7 @@ class EmployeeServiceTest {
   private EmployeeEventProducer employeeEventProducer;
 
   @InjectMocks
-  private EmployeeService employeeService;
+  private EmployeeServiceImpl employeeService;
 
   private Department testDepartment;
   private Employee testEmployee;
@@ -99,6 +100,7 @@ class EmployeeServiceTest {
     verify(passwordEncoder).encode(testRequest.password());
     verify(employeeRepository).save(any(Employee.class));
     verify(employeeEventProducer).publishEmployeeCreatedEvent(any());
+    verify(employeeEventProducer).publishEmployeeCredentialsEvent(any(Employee.class));
   }
 
   @Test
@@ -206,6 +208,23 @@ class EmployeeServiceTest {
     verify(employeeRepository).findById(employeeId);
   }
 
+  @Test
+  @DisplayName("Should get employee's department successfully")
+  void shouldGetEmployeeDepartmentSuccessfully() {
+    // Given
+    UUID employeeId = testEmployee.getId();
+    when(employeeRepository.findById(employeeId))
+            .thenReturn(Optional.of(testEmployee));
+
+    // When
+    DepartmentResponse response = employeeService.getEmployeeDepartment(employeeId, null);
+
+    // Then
+    assertThat(response.id()).isEqualTo(testDepartment.getId());
+    assertThat(response.name()).isEqualTo("Engineering");
+    verify(employeeRepository).findById(employeeId);
+  }
+
   @Test
   @DisplayName("Should get employee by email successfully")
   void shouldGetEmployeeByEmailSuccessfully() {
@@ -222,4 +241,20 @@ class EmployeeServiceTest {
     assertThat(response.email()).isEqualTo(email);
     verify(employeeRepository).findByEmail(email);
   }
+
+  @Test
+  @DisplayName("Should skip a re-hash when the password changed since it was read")
+  void shouldSkipRehashWhenPasswordChanged() {
+    // Given
+    UUID employeeId = testEmployee.getId();
+    when(employeeRepository.replacePassword(employeeId, "{bcrypt}old", "{bcrypt}new"))
+            .thenReturn(0);
+
+    // When
+    boolean replaced = employeeService.replacePasswordHash(employeeId, "{bcrypt}old", "{bcrypt}new");
+
+    // Then
+    assertThat(replaced).isFalse();
+    verify(employeeRepository).replacePassword(employeeId, "{bcrypt}old", "{bcrypt}new");
+  }
 }
@@ -0,0 +1,140 @@
+package com.ems.employeeservice.kafka;
+
+import com.ems.employeeservice.employee.Employee;
+import com.ems.employeeservice.event.EmployeeChangedEvent;
+import com.ems.employeeservice.event.EmployeeCredentialsEvent;
+import com.ems.employeeservice.event.TokenRevokedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Employee Event Producer Unit Tests")
+class EmployeeEventProducerTest {
+
+  @Mock
+  private KafkaTemplate<String, Object> kafkaTemplate;
+
+  @InjectMocks
+  private EmployeeEventProducer employeeEventProducer;
+
+  private final UUID employeeId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(employeeEventProducer, "employeeChangedTopic", "employee-changed-topic");
+    ReflectionTestUtils.setField(employeeEventProducer, "employeeCredentialsTopic", "employee-credentials-topic");
+    ReflectionTestUtils.setField(employeeEventProducer, "tokenRevokedTopic", "token-revoked-topic");
+    TransactionSynchronizationManager.initSynchronization();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.clearSynchronization();
+  }
+
+  @Test
+  @DisplayName("Should send the employee changed event only once the transaction commits")
+  void shouldPublishChangeAfterCommit() {
+    // When
+    employeeEventProducer.publishEmployeeChangedEvent(employeeId, "john.doe@example.com", null, "updated");
+
+    // Then
+    verify(kafkaTemplate, never()).send(any(), any(), any());
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    verify(kafkaTemplate).send(eq("employee-changed-topic"), eq(employeeId.toString()), any(EmployeeChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should drop the employee changed event when the transaction rolls back")
+  void shouldNotPublishChangeOnRollback() {
+    // When
+    employeeEventProducer.publishEmployeeChangedEvent(employeeId, "john.doe@example.com", null, "deleted");
+    TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    // Then
+    verifyNoInteractions(kafkaTemplate);
+  }
+
+  @Test
+  @DisplayName("Should send credentials with the version the employee was committed with")
+  void shouldPublishCredentialsWithCommittedVersion() {
+    // Given
+    Employee employee = Employee.builder()
+            .id(employeeId)
+            .email("john.doe@example.com")
+            .password("{bcrypt}hash")
+            .version(3L)
+            .build();
+
+    // When
+    employeeEventProducer.publishEmployeeCredentialsEvent(employee);
+    employee.setVersion(4L);
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+    // Then
+    ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+    verify(kafkaTemplate).send(eq("employee-credentials-topic"), eq(employeeId.toString()), sent.capture());
+    assertThat(((EmployeeCredentialsEvent) sent.getValue()).getVersion()).isEqualTo(4L);
+  }
+
+  @Test
+  @DisplayName("Should send a tombstone for a deleted employee once the transaction commits")
+  void shouldPublishTombstoneAfterCommit() {
+    // When
+    employeeEventProducer.publishEmployeeCredentialsRemoved(employeeId);
+
+    // Then
+    verify(kafkaTemplate, never()).send(any(), any(), any());
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    verify(kafkaTemplate).send(eq("employee-credentials-topic"), eq(employeeId.toString()), isNull());
+  }
+
+  @Test
+  @DisplayName("Should revoke the employee's tokens only once the transaction commits")
+  void shouldPublishTokensRevokedAfterCommit() {
+    // When
+    employeeEventProducer.publishTokensRevokedEvent(employeeId, "employee-deleted");
+
+    // Then
+    verify(kafkaTemplate, never()).send(any(), any(), any());
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+    verify(kafkaTemplate).send(eq("token-revoked-topic"), eq(employeeId.toString()), sent.capture());
+    assertThat(((TokenRevokedEvent) sent.getValue()).getReason()).isEqualTo("employee-deleted");
+  }
+
+  @Test
+  @DisplayName("Should keep the employee's tokens when the transaction rolls back")
+  void shouldNotPublishTokensRevokedOnRollback() {
+    // When
+    employeeEventProducer.publishTokensRevokedEvent(employeeId, "employee-deleted");
+    TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    // Then
+    verifyNoInteractions(kafkaTemplate);
+  }
+}
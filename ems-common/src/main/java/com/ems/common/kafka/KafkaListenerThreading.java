@@ -0,0 +1,26 @@
+package com.ems.common.kafka;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Runs the consumer threads of listener containers as virtual threads when
+ * {@code spring.threads.virtual.enabled} is set, as Spring Boot does for the
+ * container factory it would otherwise build. For services that declare their own
+ * container factories.
+ */
+public class KafkaListenerThreading {
+  private final boolean virtualThreads;
+
+  public KafkaListenerThreading(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public void apply(ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadNamePrefix) {
+    if (virtualThreads) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+      executor.setVirtualThreads(true);
+      factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+  }
+}
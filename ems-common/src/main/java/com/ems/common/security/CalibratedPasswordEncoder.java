@@ -0,0 +1,167 @@
+package com.ems.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Delegating encoder whose hashes carry their algorithm, as in
+ * {@code {bcrypt}$2a$12$...} or {@code {argon2}$argon2id$v=19$m=19456,t=3,p=1$...}.
+ * Hashes without a prefix, from before this encoder, are BCrypt and still match.
+ *
+ * <p>{@link #upgradeEncoding(String)} reports hashes that should be replaced on the
+ * next successful login: those without a prefix, made with another algorithm, or
+ * whose work factor is off the calibrated one. A hash up to one step more expensive
+ * is tolerated, so instances that calibrate one step apart don't keep re-hashing
+ * each other's output.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+  private static final String BCRYPT_ID = "bcrypt";
+  private static final String ARGON2_ID = "argon2";
+  private static final String CALIBRATION_PASSWORD = "calibration-Passw0rd!";
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+  private static final Pattern ARGON2_PARAMETERS = Pattern.compile("^\\$argon2id\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+
+  private final PasswordHashingProperties.Algorithm algorithm;
+  private final int bcryptStrength;
+  private final PasswordHashingProperties.Argon2 argon2;
+  private final int argon2Iterations;
+  private final DelegatingPasswordEncoder delegate;
+
+  CalibratedPasswordEncoder(
+          PasswordHashingProperties.Algorithm algorithm,
+          int bcryptStrength,
+          PasswordHashingProperties.Argon2 argon2,
+          int argon2Iterations
+  ) {
+    this.algorithm = algorithm;
+    this.bcryptStrength = bcryptStrength;
+    this.argon2 = argon2;
+    this.argon2Iterations = argon2Iterations;
+
+    String idForEncode = algorithm == PasswordHashingProperties.Algorithm.ARGON2ID ? ARGON2_ID : BCRYPT_ID;
+    this.delegate = new DelegatingPasswordEncoder(idForEncode, Map.of(
+            BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength),
+            ARGON2_ID, argon2(argon2, argon2Iterations)
+    ));
+    this.delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+  }
+
+  /**
+   * Measures hashing on this machine and returns an encoder whose hashes take about
+   * {@code properties.targetLatency()}. Takes a few hashes' worth of time.
+   */
+  public static CalibratedPasswordEncoder calibrate(PasswordHashingProperties properties) {
+    long targetNanos = properties.targetLatency().toNanos();
+    PasswordHashingProperties.Bcrypt bcrypt = properties.bcrypt();
+    PasswordHashingProperties.Argon2 argon2 = properties.argon2();
+
+    int bcryptStrength = bcrypt.minStrength();
+    int argon2Iterations = argon2.minIterations();
+    if (properties.algorithm() == PasswordHashingProperties.Algorithm.BCRYPT) {
+      // Each step of strength doubles the work
+      long nanos = time(new BCryptPasswordEncoder(bcrypt.minStrength()));
+      int steps = (int) Math.round(Math.log((double) targetNanos / nanos) / Math.log(2));
+      bcryptStrength = Math.clamp(bcrypt.minStrength() + steps, bcrypt.minStrength(), bcrypt.maxStrength());
+    } else {
+      long nanos = time(argon2(argon2, 1));
+      argon2Iterations = Math.clamp(Math.round((double) targetNanos / nanos), argon2.minIterations(), argon2.maxIterations());
+    }
+
+    CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(
+            properties.algorithm(), bcryptStrength, argon2, argon2Iterations);
+    long start = System.nanoTime();
+    encoder.encode(CALIBRATION_PASSWORD);
+    log.info("Password hashing calibrated to {} for a target of {}ms, one hash now takes {}ms",
+            encoder.describe(), properties.targetLatency().toMillis(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return encoder;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return delegate.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.isEmpty()) {
+      return false;
+    }
+
+    if (algorithm == PasswordHashingProperties.Algorithm.BCRYPT) {
+      Matcher cost = bcryptParameters(encodedPassword);
+      if (cost == null) {
+        return true;
+      }
+      int strength = Integer.parseInt(cost.group(1));
+      return strength < bcryptStrength || strength > bcryptStrength + 1;
+    }
+
+    Matcher parameters = argon2Parameters(encodedPassword);
+    if (parameters == null) {
+      return true;
+    }
+    int iterations = Integer.parseInt(parameters.group(2));
+    return Integer.parseInt(parameters.group(1)) != argon2.memoryKib()
+            || Integer.parseInt(parameters.group(3)) != argon2.parallelism()
+            || iterations < argon2Iterations
+            || iterations > argon2Iterations * 2;
+  }
+
+  String describe() {
+    return algorithm == PasswordHashingProperties.Algorithm.BCRYPT
+            ? "bcrypt strength " + bcryptStrength
+            : "argon2id m=" + argon2.memoryKib() + ",t=" + argon2Iterations + ",p=" + argon2.parallelism();
+  }
+
+  private static Matcher bcryptParameters(String encodedPassword) {
+    String prefix = "{" + BCRYPT_ID + "}";
+    if (!encodedPassword.startsWith(prefix)) {
+      return null;
+    }
+    Matcher matcher = BCRYPT_COST.matcher(encodedPassword.substring(prefix.length()));
+    return matcher.find() ? matcher : null;
+  }
+
+  private static Matcher argon2Parameters(String encodedPassword) {
+    String prefix = "{" + ARGON2_ID + "}";
+    if (!encodedPassword.startsWith(prefix)) {
+      return null;
+    }
+    Matcher matcher = ARGON2_PARAMETERS.matcher(encodedPassword.substring(prefix.length()));
+    return matcher.find() ? matcher : null;
+  }
+
+  private static Argon2PasswordEncoder argon2(PasswordHashingProperties.Argon2 argon2, int iterations) {
+    return new Argon2PasswordEncoder(16, 32, argon2.parallelism(), argon2.memoryKib(), iterations);
+  }
+
+  /**
+   * Fastest of three hashes after a warm-up one, to keep JIT compilation and a busy
+   * neighbour from inflating the result.
+   */
+  private static long time(PasswordEncoder encoder) {
+    encoder.encode(CALIBRATION_PASSWORD);
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < 3; i++) {
+      long start = System.nanoTime();
+      encoder.encode(CALIBRATION_PASSWORD);
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    return Math.max(fastest, 1);
+  }
+}
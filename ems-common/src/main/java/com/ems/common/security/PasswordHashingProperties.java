@@ -0,0 +1,41 @@
+package com.ems.common.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How new password hashes are made. The work factor is not configured directly: at
+ * startup it is calibrated so that one hash takes about {@code targetLatency} on the
+ * hardware the service runs on. For BCrypt that is the strength, between
+ * {@code bcrypt.minStrength} and {@code bcrypt.maxStrength}. For Argon2id it is the
+ * iteration count, with memory and parallelism as configured.
+ */
+@ConfigurationProperties(prefix = "application.security.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("bcrypt") Algorithm algorithm,
+        @DefaultValue("100ms") Duration targetLatency,
+        @DefaultValue Bcrypt bcrypt,
+        @DefaultValue Argon2 argon2
+) {
+
+  public enum Algorithm {
+    BCRYPT,
+    ARGON2ID
+  }
+
+  public record Bcrypt(
+          @DefaultValue("10") int minStrength,
+          @DefaultValue("14") int maxStrength
+  ) {
+  }
+
+  public record Argon2(
+          @DefaultValue("19456") int memoryKib,
+          @DefaultValue("1") int parallelism,
+          @DefaultValue("2") int minIterations,
+          @DefaultValue("10") int maxIterations
+  ) {
+  }
+}
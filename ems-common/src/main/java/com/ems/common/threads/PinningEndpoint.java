@@ -0,0 +1,24 @@
+package com.ems.common.threads;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Exposes the sites where virtual threads were pinned to their carrier, most
+ * frequent first, at {@code /actuator/pinning}.
+ */
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+  private final VirtualThreadPinningMonitor monitor;
+
+  public PinningEndpoint(VirtualThreadPinningMonitor monitor) {
+    this.monitor = monitor;
+  }
+
+  @ReadOperation
+  public List<VirtualThreadPinningMonitor.PinnedSiteReport> pinnedSites() {
+    return monitor.snapshot();
+  }
+}
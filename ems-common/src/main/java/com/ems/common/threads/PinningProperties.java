@@ -0,0 +1,20 @@
+package com.ems.common.threads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link VirtualThreadPinningMonitor}. Pins shorter than
+ * {@code threshold} are not recorded, stack traces are cut at
+ * {@code maxStackDepth} frames, and sites past {@code maxSites} are counted under
+ * {@code other}.
+ */
+@ConfigurationProperties(prefix = "application.virtual-threads.pinning")
+public record PinningProperties(
+        @DefaultValue("20ms") Duration threshold,
+        @DefaultValue("40") int maxStackDepth,
+        @DefaultValue("100") int maxSites
+) {
+}
@@ -0,0 +1,158 @@
+package com.ems.common.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records virtual threads that stay pinned to their carrier thread for longer than
+ * {@code threshold}, mostly by blocking inside a {@code synchronized} block. Each
+ * pin is read from the JDK's {@code jdk.VirtualThreadPinned} event and grouped by
+ * call site, the first frame outside the JDK. The first pin at a site is logged with
+ * its stack trace. Every pin is timed in {@code virtual.threads.pinned}, and
+ * {@code /actuator/pinning} lists the sites. Past {@code maxSites} sites, new ones
+ * are counted under {@code other}.
+ *
+ * <p>Only active with {@code spring.threads.virtual.enabled}, see
+ * {@link VirtualThreadsAutoConfiguration}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final String OTHER_SITES = "other";
+  private static final List<String> INFRASTRUCTURE_PACKAGES = List.of(
+          "java.", "javax.", "jdk.", "sun.", "com.sun."
+  );
+
+  private final int maxStackDepth;
+  private final int maxSites;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentHashMap<String, PinnedSite> sites = new ConcurrentHashMap<>();
+  private final RecordingStream recording;
+
+  public VirtualThreadPinningMonitor(
+          Duration threshold,
+          int maxStackDepth,
+          int maxSites,
+          MeterRegistry meterRegistry
+  ) {
+    this.maxStackDepth = maxStackDepth;
+    this.maxSites = maxSites;
+    this.meterRegistry = meterRegistry;
+
+    this.recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::record);
+    recording.startAsync();
+    log.info("Recording virtual threads pinned for longer than {}", threshold);
+  }
+
+  private void record(RecordedEvent event) {
+    StackTraceElement[] stack = stackTrace(event.getStackTrace());
+    String site = callSite(stack);
+    if (!sites.containsKey(site) && sites.size() >= maxSites) {
+      site = OTHER_SITES;
+    }
+
+    PinnedSite pinnedSite = sites.computeIfAbsent(site, key -> {
+      String[] frames = Arrays.stream(stack)
+              .map(StackTraceElement::toString)
+              .toArray(String[]::new);
+      log.warn("Virtual thread pinned for {} ms at {}\n\tat {}", event.getDuration().toMillis(), key,
+              String.join("\n\tat ", frames));
+      return new PinnedSite(key, frames);
+    });
+    pinnedSite.pins.increment();
+    pinnedSite.pinnedNanos.add(event.getDuration().toNanos());
+    pinnedSite.lastSeen = event.getStartTime();
+
+    Timer.builder("virtual.threads.pinned")
+            .description("Time virtual threads stayed pinned to their carrier")
+            .tag("site", site)
+            .register(meterRegistry)
+            .record(event.getDuration());
+  }
+
+  private StackTraceElement[] stackTrace(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return new StackTraceElement[0];
+    }
+    return stackTrace.getFrames().stream()
+            .limit(maxStackDepth)
+            .filter(RecordedFrame::isJavaFrame)
+            .map(frame -> new StackTraceElement(frame.getMethod().getType().getName(),
+                    frame.getMethod().getName(), null, frame.getLineNumber()))
+            .toArray(StackTraceElement[]::new);
+  }
+
+  /**
+   * Returns the first frame of {@code stack} outside the JDK, which is the code
+   * that blocked while pinned.
+   */
+  static String callSite(StackTraceElement[] stack) {
+    for (StackTraceElement frame : stack) {
+      if (!isInfrastructure(frame.getClassName())) {
+        return frame.getClassName() + '#' + frame.getMethodName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+      }
+    }
+    return "unknown";
+  }
+
+  private static boolean isInfrastructure(String className) {
+    for (String prefix : INFRASTRUCTURE_PACKAGES) {
+      if (className.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public List<PinnedSiteReport> snapshot() {
+    return sites.values().stream()
+            .map(site -> new PinnedSiteReport(site.site, site.pins.sum(),
+                    Duration.ofNanos(site.pinnedNanos.sum()).toMillis(), site.lastSeen, List.of(site.stackTrace)))
+            .sorted(Comparator.comparingLong(PinnedSiteReport::pins).reversed())
+            .toList();
+  }
+
+  @Override
+  public void destroy() {
+    recording.close();
+  }
+
+  public record PinnedSiteReport(
+          String site,
+          long pins,
+          long pinnedMillis,
+          Instant lastSeen,
+          List<String> stackTrace
+  ) {
+  }
+
+  private static class PinnedSite {
+    private final String site;
+    private final String[] stackTrace;
+    private final LongAdder pins = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private volatile Instant lastSeen;
+
+    private PinnedSite(String site, String[] stackTrace) {
+      this.site = site;
+      this.stackTrace = stackTrace;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.ems.common.threads;
+
+import com.ems.common.kafka.KafkaListenerThreading;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Virtual thread support shared by the services: the pinning monitor and its
+ * {@code /actuator/pinning} endpoint when {@code spring.threads.virtual.enabled}
+ * is set, and {@link KafkaListenerThreading} for their Kafka container factories.
+ */
+@AutoConfiguration
+public class VirtualThreadsAutoConfiguration {
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  @ConditionalOnClass({MeterRegistry.class, Endpoint.class})
+  @EnableConfigurationProperties(PinningProperties.class)
+  static class PinningConfiguration {
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(PinningProperties properties, MeterRegistry meterRegistry) {
+      return new VirtualThreadPinningMonitor(
+              properties.threshold(), properties.maxStackDepth(), properties.maxSites(), meterRegistry);
+    }
+
+    @Bean
+    PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor monitor) {
+      return new PinningEndpoint(monitor);
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(ConcurrentKafkaListenerContainerFactory.class)
+  static class KafkaConfiguration {
+
+    @Bean
+    KafkaListenerThreading kafkaListenerThreading(Environment environment) {
+      return new KafkaListenerThreading(Threading.VIRTUAL.isActive(environment));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.ems.common.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Calibrated Password Encoder Unit Tests")
+class CalibratedPasswordEncoderTest {
+
+    private static final PasswordHashingProperties.Argon2 ARGON2 =
+            new PasswordHashingProperties.Argon2(19456, 1, 2, 10);
+
+    private final CalibratedPasswordEncoder bcrypt =
+            new CalibratedPasswordEncoder(PasswordHashingProperties.Algorithm.BCRYPT, 10, ARGON2, 2);
+
+    @Test
+    @DisplayName("Should match legacy hashes without an algorithm prefix and flag them for re-hashing")
+    void shouldMatchAndUpgradeLegacyHashes() {
+        // Given
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        // When & Then
+        assertThat(bcrypt.matches("password123", legacy)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep hashes at the calibrated strength or one step above it")
+    void shouldKeepOnTargetHashes() {
+        // Given
+        String encoded = bcrypt.encode("password123");
+
+        // When & Then
+        assertThat(encoded).startsWith("{bcrypt}$2a$10$");
+        assertThat(bcrypt.matches("password123", encoded)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(encoded)).isFalse();
+        assertThat(bcrypt.upgradeEncoding("{bcrypt}$2a$11$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")).isFalse();
+        assertThat(bcrypt.upgradeEncoding("{bcrypt}$2a$09$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")).isTrue();
+        assertThat(bcrypt.upgradeEncoding("{bcrypt}$2a$12$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should re-hash into Argon2id when it becomes the configured algorithm")
+    void shouldUpgradeToArgon2() {
+        // Given
+        CalibratedPasswordEncoder argon2 =
+                new CalibratedPasswordEncoder(PasswordHashingProperties.Algorithm.ARGON2ID, 10, ARGON2, 3);
+
+        // When & Then
+        assertThat(argon2.upgradeEncoding("{bcrypt}$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")).isTrue();
+        assertThat(argon2.upgradeEncoding("{argon2}$argon2id$v=19$m=19456,t=3,p=1$c2FsdA$aGFzaA")).isFalse();
+        assertThat(argon2.upgradeEncoding("{argon2}$argon2id$v=19$m=19456,t=2,p=1$c2FsdA$aGFzaA")).isTrue();
+        assertThat(argon2.upgradeEncoding("{argon2}$argon2id$v=19$m=65536,t=3,p=1$c2FsdA$aGFzaA")).isTrue();
+    }
+}
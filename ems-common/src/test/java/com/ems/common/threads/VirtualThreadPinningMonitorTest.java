@@ -0,0 +1,42 @@
+package com.ems.common.threads;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Virtual Thread Pinning Monitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    @DisplayName("Should attribute a pin to the first frame outside the JDK")
+    void shouldFindCallSite() {
+        // Given
+        StackTraceElement[] stack = {
+                new StackTraceElement("java.lang.VirtualThread", "parkOnCarrierThread", null, 675),
+                new StackTraceElement("java.lang.VirtualThread", "parkNanos", null, 634),
+                new StackTraceElement("java.lang.Thread", "sleep", null, 509),
+                new StackTraceElement("com.ems.authservice.client.EmployeeNearCache", "getEmployeeByEmail", null, 63),
+                new StackTraceElement("com.ems.authservice.service.CredentialService", "findByEmail", null, 58)
+        };
+
+        // When
+        String site = VirtualThreadPinningMonitor.callSite(stack);
+
+        // Then
+        assertThat(site).isEqualTo("com.ems.authservice.client.EmployeeNearCache#getEmployeeByEmail:63");
+    }
+
+    @Test
+    @DisplayName("Should report an unknown site when every frame belongs to the JDK")
+    void shouldReportUnknownSite() {
+        // Given
+        StackTraceElement[] stack = {
+                new StackTraceElement("jdk.internal.misc.Unsafe", "park", null, -1),
+                new StackTraceElement("java.lang.VirtualThread", "run", null, 309)
+        };
+
+        // When & Then
+        assertThat(VirtualThreadPinningMonitor.callSite(stack)).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,94 @@
+package com.ems.common.threads;
+
+import com.ems.common.kafka.KafkaListenerThreading;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the auto-configuration against the configuration each service gets from
+ * the config server, so that its pinning settings are the ones checked here.
+ */
+@DisplayName("Virtual Threads Auto-Configuration Tests")
+class VirtualThreadsAutoConfigurationTest {
+
+    private static final Path CONFIGURATIONS = Path.of("../config-server/src/main/resources/configurations");
+    private static final String PINNING = "application.virtual-threads.pinning.";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"auth-service", "employee-service", "notification-service"})
+    @DisplayName("Should monitor pinning with the service's settings once virtual threads are on")
+    void shouldMonitorPinningWithServiceSettings(String service) {
+        // Given
+        EnumerablePropertySource<?> config = serviceConfig(service);
+
+        // When & Then
+        assertThat(Arrays.stream(config.getPropertyNames()).filter(name -> name.startsWith(PINNING)))
+                .containsExactlyInAnyOrder(PINNING + "threshold", PINNING + "max-stack-depth", PINNING + "max-sites");
+        contextRunner
+                .withInitializer(context -> context.getEnvironment().getPropertySources().addLast(config))
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class);
+                    assertThat(context).hasSingleBean(PinningEndpoint.class);
+                    assertThat(context.getBean(PinningProperties.class)).isEqualTo(new PinningProperties(
+                            DurationStyle.detectAndParse(String.valueOf(config.getProperty(PINNING + "threshold"))),
+                            (Integer) config.getProperty(PINNING + "max-stack-depth"),
+                            (Integer) config.getProperty(PINNING + "max-sites")));
+
+                    ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+                    context.getBean(KafkaListenerThreading.class).apply(factory, service + "-");
+                    assertThat(factory.getContainerProperties().getListenerTaskExecutor()).isNotNull();
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"auth-service", "employee-service", "notification-service"})
+    @DisplayName("Should leave pinning unmonitored and listeners on platform threads as the service ships")
+    void shouldStayOffWithShippedSettings(String service) {
+        // Given
+        EnumerablePropertySource<?> config = serviceConfig(service);
+
+        // When & Then
+        contextRunner
+                .withInitializer(context -> context.getEnvironment().getPropertySources().addLast(config))
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+                    assertThat(context).doesNotHaveBean(PinningEndpoint.class);
+
+                    ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+                    context.getBean(KafkaListenerThreading.class).apply(factory, service + "-");
+                    assertThat(factory.getContainerProperties().getListenerTaskExecutor()).isNull();
+                });
+    }
+
+    private static EnumerablePropertySource<?> serviceConfig(String service) {
+        try {
+            return (EnumerablePropertySource<?>) new YamlPropertySourceLoader()
+                    .load(service, new FileSystemResource(CONFIGURATIONS.resolve(service + ".yml")))
+                    .get(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ems.notificationservice.config;
 
+import com.ems.common.kafka.KafkaListenerThreading;
 import com.ems.notificationservice.event.EmployeeCreatedEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -37,9 +38,10 @@ public class KafkaConsumerConfig {
   }
 
   @Bean
-  public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+  public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(KafkaListenerThreading listenerThreading) {
     ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
     factory.setConsumerFactory(consumerFactory());
+    listenerThreading.apply(factory, "employee-created-");
     return factory;
   }
 }